@@ -0,0 +1,98 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.batch.BatchConfigLoader;
+import com.github.cornerstonews.configuration.batch.ConfigResult;
+
+/**
+ * Measures how loading a directory of small per-tenant YAML files with the {@link BatchConfigLoader} scales with its
+ * parallelism, compared to a loop over {@link ConfigFactory#loadConfig(String, Class)}. Scaling beyond the number of
+ * available cores is not expected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchLoadBenchmark {
+
+    @Param({ "2000" })
+    public int files;
+
+    @Param({ "1", "2", "4", "8" })
+    public int parallelism;
+
+    private Path directory;
+    private List<String> paths;
+    private BatchConfigLoader<Employee> loader;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("tenants-");
+        final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+        paths = new ArrayList<>(files);
+        for (int i = 0; i < files; i++) {
+            final File file = directory.resolve("tenant-" + i + ".yaml").toFile();
+            mapper.writeValue(file, BenchmarkData.employeeMap(i));
+            paths.add(file.getPath());
+        }
+        loader = new BatchConfigLoader<>(Employee.class, parallelism);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public List<ConfigResult<Employee>> batch() throws IOException {
+        return loader.load(directory);
+    }
+
+    @Benchmark
+    public List<Employee> loop() throws ConfigException, IOException {
+        final List<Employee> employees = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            final Employee employee = ConfigFactory.loadConfig(path, Employee.class);
+            ConfigFactory.isValid(employee);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
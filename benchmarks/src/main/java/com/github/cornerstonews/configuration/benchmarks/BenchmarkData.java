@@ -0,0 +1,102 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static Map<String, Object> employeeMap(int i) {
+        Map<String, Object> address = new HashMap<>();
+        address.put("street", i + " Wall Street");
+        address.put("city", "New York");
+        address.put("zipCode", String.valueOf(10000 + i % 90000));
+
+        Map<String, Object> employee = new HashMap<>();
+        employee.put("name", "Employee " + i);
+        employee.put("dept", "Engineering");
+        employee.put("salary", 50000 + i);
+        employee.put("phone", "555-555-" + i);
+        employee.put("address", address);
+        return employee;
+    }
+
+    /**
+     * Builds a directory map holding the given number of employee entries.
+     */
+    public static Map<String, Object> directoryMap(int entries) {
+        Map<String, Object> employees = new LinkedHashMap<>(entries * 2);
+        for (int i = 0; i < entries; i++) {
+            employees.put("employee-" + i, employeeMap(i));
+        }
+
+        Map<String, Object> directory = new HashMap<>();
+        directory.put("name", "Directory of " + entries);
+        directory.put("employees", employees);
+        return directory;
+    }
+
+    /**
+     * Builds an organization map whose departments are nested {@code depth} levels deep. The employees are spread
+     * evenly over the departments.
+     */
+    public static Map<String, Object> organizationMap(int employees, int depth) {
+        Map<String, Object> department = null;
+        int next = 0;
+        for (int level = depth; level > 0; level--) {
+            final int count = level == 1 ? employees - next : employees / depth;
+            List<Object> members = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                members.add(employeeMap(next++));
+            }
+
+            Map<String, Object> parent = new LinkedHashMap<>();
+            parent.put("name", "Department " + level);
+            parent.put("manager", employeeMap(-level));
+            parent.put("employees", members);
+            if (department != null) {
+                parent.put("subDepartment", department);
+            }
+            department = parent;
+        }
+
+        Map<String, Object> organization = new LinkedHashMap<>();
+        organization.put("name", "Organization of " + employees);
+        organization.put("department", department);
+        return organization;
+    }
+
+    /**
+     * Streams a directory with as many employees as needed to reach roughly the given size to a file.
+     */
+    public static void writeDirectoryFile(File file, JsonFactory factory, long targetBytes) throws IOException {
+        ObjectMapper mapper = new ObjectMapper(factory);
+        try (JsonGenerator generator = factory.createGenerator(file, JsonEncoding.UTF8)) {
+            generator.setCodec(mapper);
+            generator.writeStartObject();
+            generator.writeStringField("name", "Directory of " + targetBytes + " bytes");
+            generator.writeObjectFieldStart("employees");
+            for (int i = 0; generator.getOutputBuffered() + file.length() < targetBytes; i++) {
+                generator.writeFieldName("employee-" + i);
+                generator.writeObject(employeeMap(i));
+                if (generator.getOutputBuffered() > 64 * 1024) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.parser.CompiledConfig;
+import com.github.cornerstonews.configuration.parser.YamlConfigParser;
+
+/**
+ * Startup cost of loading a YAML config compared to loading its compiled Smile snapshot. Runs as single shot in fresh
+ * JVMs to capture cold start; run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class CompiledConfigBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int employees;
+
+    private File file;
+
+    @Setup
+    public void setup() throws IOException, ConfigException {
+        file = File.createTempFile("directory-" + employees + "-", ".yaml");
+        BenchmarkData.writeDirectoryFile(file, new YAMLFactory(), employees * 160L);
+        CompiledConfig.compile(file.getPath(), Directory.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        CompiledConfig.getSnapshotPath(file.getPath()).toFile().delete();
+        file.delete();
+    }
+
+    @Benchmark
+    public Directory yaml() throws IOException, ConfigException {
+        return new YamlConfigParser<>(file.getPath(), Directory.class).build(file.getPath());
+    }
+
+    @Benchmark
+    public Directory snapshot() throws IOException {
+        return CompiledConfig.load(file.getPath(), Directory.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.cache.ConfigCache;
+
+/**
+ * Compares parsing an unchanged config file against the {@link ConfigCache} hits returning a copy, the cached instance
+ * or verifying the content checksum first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigCacheBenchmark {
+
+    @Param({ "10", "1000" })
+    public int employees;
+
+    private Path file;
+    private ConfigCache copyingCache;
+    private ConfigCache sharingCache;
+    private ConfigCache verifyingCache;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("organization-", ".yaml").toPath();
+        new ObjectMapper(new YAMLFactory()).writeValue(file.toFile(), BenchmarkData.organizationMap(employees, 4));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1)));
+
+        copyingCache = new ConfigCache(ConfigCache.DEFAULT_MAX_ENTRIES, true, false);
+        sharingCache = new ConfigCache(ConfigCache.DEFAULT_MAX_ENTRIES, false, false);
+        verifyingCache = new ConfigCache(ConfigCache.DEFAULT_MAX_ENTRIES, false, true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    private Organization parse() throws ConfigException, IOException {
+        return ConfigFactory.getParser(file.toString(), Organization.class).build(file.toString());
+    }
+
+    @Benchmark
+    public Organization parseUncached() throws ConfigException, IOException {
+        return parse();
+    }
+
+    @Benchmark
+    public Organization cachedCopy() throws ConfigException, IOException {
+        return copyingCache.load(file, Organization.class, this::parse);
+    }
+
+    @Benchmark
+    public Organization cachedShared() throws ConfigException, IOException {
+        return sharingCache.load(file, Organization.class, this::parse);
+    }
+
+    @Benchmark
+    public Organization cachedVerified() throws ConfigException, IOException {
+        return verifyingCache.load(file, Organization.class, this::parse);
+    }
+}
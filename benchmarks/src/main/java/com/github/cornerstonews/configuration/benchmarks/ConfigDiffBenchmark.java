@@ -0,0 +1,82 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.cornerstonews.configuration.diff.ConfigChange;
+import com.github.cornerstonews.configuration.diff.ConfigDiff;
+import com.github.cornerstonews.configuration.diff.HashedTree;
+
+/**
+ * Diff of two multi-MB organization trees differing in a single employee, as after a reload. {@code reload} hashes
+ * the new tree and compares it with the previously hashed one, which is how {@code ReloadableConfig} diffs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigDiffBenchmark {
+
+    @Param({ "10000", "50000" })
+    public int employees;
+
+    private JsonNode previous;
+    private JsonNode current;
+    private HashedTree previousTree;
+    private HashedTree currentTree;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper();
+        previous = mapper.valueToTree(BenchmarkData.organizationMap(employees, 4));
+        current = previous.deepCopy();
+        ((ObjectNode) current.at("/department/subDepartment/employees/5/address")).put("city", "Boston");
+        previousTree = HashedTree.of(previous);
+        currentTree = HashedTree.of(current);
+    }
+
+    @Benchmark
+    public boolean treeEquals() {
+        return previous.equals(current);
+    }
+
+    @Benchmark
+    public List<ConfigChange> diffTrees() {
+        return ConfigDiff.getShared().diff(previous, current);
+    }
+
+    @Benchmark
+    public List<ConfigChange> diffHashed() {
+        return ConfigDiff.getShared().diff(previousTree, currentTree);
+    }
+
+    @Benchmark
+    public List<ConfigChange> reload() {
+        return ConfigDiff.getShared().diff(previousTree, HashedTree.of(current));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigDiffBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+/**
+ * Covers every {@link ConfigFactory} entry point for configs of different size and nesting depth. Run through
+ * {@link #main(String[])}, or with {@code -prof gc} from the command line, to also report the allocation rate.
+ * {@code loadYaml} and {@code loadJson} parse the file on every call, {@code loadYamlCached} and {@code loadJsonCached}
+ * measure the hits of the {@link ConfigFactory#getConfigCache() config cache} that {@code loadConfig(path, type)} goes
+ * through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigFactoryBenchmark {
+
+    private static final String PATH_PROPERTY = "benchmark.config.path";
+
+    @Param({ "10", "1000", "10000" })
+    public int employees;
+
+    @Param({ "1", "4", "16" })
+    public int depth;
+
+    private File yamlFile;
+    private File jsonFile;
+    private Map<String, Object> map;
+    private Map<String, Object> override;
+    private Organization organization;
+
+    @Setup
+    public void setup() throws IOException, ConfigException {
+        map = BenchmarkData.organizationMap(employees, depth);
+
+        yamlFile = File.createTempFile("organization-", ".yaml");
+        new ObjectMapper(new YAMLFactory()).writeValue(yamlFile, map);
+        jsonFile = File.createTempFile("organization-", ".json");
+        new ObjectMapper().writeValue(jsonFile, map);
+        // old enough for cache hits to rely on the modification time
+        final FileTime modified = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+        Files.setLastModifiedTime(yamlFile.toPath(), modified);
+        Files.setLastModifiedTime(jsonFile.toPath(), modified);
+        System.setProperty(PATH_PROPERTY, yamlFile.getPath());
+
+        Map<String, Object> department = new HashMap<>();
+        department.put("name", "Renamed department");
+        override = new HashMap<>();
+        override.put("name", "Renamed organization");
+        override.put("department", department);
+
+        organization = ConfigFactory.loadConfig(map, Organization.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(PATH_PROPERTY);
+        ConfigFactory.getConfigCache().clear();
+        yamlFile.delete();
+        jsonFile.delete();
+    }
+
+    @Benchmark
+    public Organization loadYaml() throws ConfigException, IOException {
+        return ConfigFactory.getParser(yamlFile.getPath(), Organization.class).build(yamlFile.getPath());
+    }
+
+    @Benchmark
+    public Organization loadJson() throws ConfigException, IOException {
+        return ConfigFactory.getParser(jsonFile.getPath(), Organization.class).build(jsonFile.getPath());
+    }
+
+    @Benchmark
+    public Organization loadYamlCached() throws ConfigException, IOException {
+        return ConfigFactory.loadConfig(yamlFile.getPath(), Organization.class);
+    }
+
+    @Benchmark
+    public Organization loadJsonCached() throws ConfigException, IOException {
+        return ConfigFactory.loadConfig(jsonFile.getPath(), Organization.class);
+    }
+
+    @Benchmark
+    public Organization loadMap() throws ConfigException, IOException {
+        return ConfigFactory.loadConfig(map, Organization.class);
+    }
+
+    @Benchmark
+    public Organization mergeMap() throws ConfigException {
+        return ConfigFactory.mergeConfig(override, Organization.class, organization);
+    }
+
+    @Benchmark
+    public boolean isValid() throws ConfigException {
+        return ConfigFactory.isValid(organization);
+    }
+
+    @Benchmark
+    public String getConfigPath() throws ConfigException {
+        return ConfigFactory.getConfigPath(PATH_PROPERTY);
+    }
+
+    @Benchmark
+    public String getDefaultConfigPath() throws ConfigException {
+        return ConfigFactory.getConfigPath();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigFactoryBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.overlay.ConfigOverlay;
+
+/**
+ * Compares applying system property overrides through a {@link ConfigOverlay} with merging them into the loaded config
+ * one {@link ConfigFactory#mergeConfig} call per key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigOverlayBenchmark {
+
+    private static final String PREFIX = "benchmark";
+
+    @Param({ "10", "1000" })
+    public int employees;
+
+    private File jsonFile;
+    private ConfigOverlay overlay;
+    private Map<String, String> overrides;
+
+    @Setup
+    public void setup() throws IOException {
+        jsonFile = File.createTempFile("organization-", ".json");
+        new ObjectMapper().writeValue(jsonFile, BenchmarkData.organizationMap(employees, 1));
+        overlay = new ConfigOverlay(PREFIX);
+
+        overrides = new LinkedHashMap<>();
+        overrides.put("name", "Overridden organization");
+        overrides.put("department.name", "Overridden department");
+        overrides.put("department.manager.name", "Overridden manager");
+        overrides.put("department.manager.salary", "100000");
+        overrides.put("department.manager.address.city", "Boston");
+        for (Map.Entry<String, String> override : overrides.entrySet()) {
+            System.setProperty(PREFIX + "." + override.getKey(), override.getValue());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (String key : overrides.keySet()) {
+            System.clearProperty(PREFIX + "." + key);
+        }
+        jsonFile.delete();
+    }
+
+    @Benchmark
+    public Organization overlay() throws ConfigException, IOException {
+        return ConfigFactory.loadConfig(jsonFile.getPath(), Organization.class, overlay);
+    }
+
+    @Benchmark
+    public Organization mergePerKey() throws ConfigException, IOException {
+        Organization organization = ConfigFactory.getParser(jsonFile.getPath(), Organization.class).build(jsonFile.getPath());
+        for (String key : overrides.keySet()) {
+            final String value = System.getProperty(PREFIX + "." + key);
+            final String[] path = key.split("\\.");
+            Map<String, Object> map = Collections.singletonMap(path[path.length - 1], value);
+            for (int i = path.length - 2; i >= 0; i--) {
+                map = Collections.singletonMap(path[i], map);
+            }
+            organization = ConfigFactory.mergeConfig(map, Organization.class, organization);
+        }
+        return organization;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigOverlayBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
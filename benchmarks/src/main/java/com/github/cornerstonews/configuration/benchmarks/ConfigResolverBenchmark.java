@@ -0,0 +1,104 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.parser.ConfigResolver;
+
+/**
+ * Compares loading a YAML config whose employees' cities are {@code ${CITY:...}} placeholders through the
+ * {@link ConfigResolver} with reading the file into a string and replacing the placeholders with a regular expression
+ * first, and with loading the same config without placeholders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigResolverBenchmark {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}:]+)(?::([^}]*))?\\}");
+
+    @Param({ "10", "1000" })
+    public int employees;
+
+    private File plainFile;
+    private File placeholderFile;
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        final Map<String, Object> organization = BenchmarkData.organizationMap(employees, 1);
+        plainFile = File.createTempFile("organization-", ".yaml");
+        yamlMapper.writeValue(plainFile, organization);
+
+        for (Object employee : (List<Object>) ((Map<String, Object>) organization.get("department")).get("employees")) {
+            ((Map<String, Object>) ((Map<String, Object>) employee).get("address")).put("city", "${BENCHMARK_CITY:Boston}");
+        }
+        placeholderFile = File.createTempFile("organization-", ".yaml");
+        yamlMapper.writeValue(placeholderFile, organization);
+    }
+
+    @TearDown
+    public void tearDown() {
+        plainFile.delete();
+        placeholderFile.delete();
+    }
+
+    @Benchmark
+    public Organization plain() throws ConfigException, IOException {
+        return ConfigFactory.getParser(plainFile.getPath(), Organization.class).build(plainFile.getPath());
+    }
+
+    @Benchmark
+    public Organization resolved() throws ConfigException, IOException {
+        return ConfigFactory.getParser(placeholderFile.getPath(), Organization.class).build(placeholderFile.getPath());
+    }
+
+    @Benchmark
+    public Organization regexReplaced() throws IOException {
+        final String content = new String(Files.readAllBytes(placeholderFile.toPath()), StandardCharsets.UTF_8);
+        final Matcher matcher = PLACEHOLDER.matcher(content);
+        final StringBuffer sb = new StringBuffer(content.length());
+        while (matcher.find()) {
+            final String value = System.getenv(matcher.group(1));
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(value != null ? value : matcher.group(2) != null ? matcher.group(2) : ""));
+        }
+        matcher.appendTail(sb);
+        return yamlMapper.readValue(sb.toString(), Organization.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigResolverBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
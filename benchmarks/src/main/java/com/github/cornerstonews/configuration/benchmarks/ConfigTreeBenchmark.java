@@ -0,0 +1,99 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.tree.ConfigKey;
+import com.github.cornerstonews.configuration.tree.ConfigTree;
+
+/**
+ * Measures single value lookups through {@link ConfigTree}. Run through {@link #main(String[])}, or with
+ * {@code -prof gc}, to check that the primitive getters do not allocate ({@code gc.alloc.rate.norm} close to 0).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigTreeBenchmark {
+
+    private static final ConfigKey<String> NAME = ConfigKey.of("name", String.class);
+    private static final ConfigKey<Integer> SALARY = ConfigKey.of("department.subDepartment.subDepartment.employees[5].salary", Integer.class);
+    private static final ConfigKey<Long> MANAGER_SALARY = ConfigKey.of("department.manager.salary", Long.class);
+    private static final ConfigKey<Integer> MISSING = ConfigKey.of("department.pool.maxSize", Integer.class, 10);
+
+    private File yamlFile;
+    private ConfigTree tree;
+    private JsonNode root;
+
+    @Setup
+    public void setup() throws IOException, ConfigException {
+        yamlFile = File.createTempFile("organization-", ".yaml");
+        new ObjectMapper(new YAMLFactory()).writeValue(yamlFile, BenchmarkData.organizationMap(100, 4));
+        tree = ConfigFactory.loadTree(yamlFile.getPath());
+        root = new ObjectMapper(new YAMLFactory()).readTree(yamlFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        yamlFile.delete();
+    }
+
+    @Benchmark
+    public int getInt() throws ConfigException {
+        return tree.getInt(SALARY);
+    }
+
+    @Benchmark
+    public long getLong() throws ConfigException {
+        return tree.getLong(MANAGER_SALARY);
+    }
+
+    @Benchmark
+    public String getString() throws ConfigException {
+        return tree.getString(NAME);
+    }
+
+    @Benchmark
+    public int getIntDefault() throws ConfigException {
+        return tree.getInt(MISSING);
+    }
+
+    @Benchmark
+    public int jsonPointerLookup() {
+        return root.at("/department/subDepartment/subDepartment/employees/5/salary").intValue();
+    }
+
+    @Benchmark
+    public int bindThenRead() throws ConfigException, IOException {
+        return ConfigFactory.loadConfig(yamlFile.getPath(), Organization.class).getDepartment().getSubDepartment().getSubDepartment().getEmployees().get(5)
+                .getSalary();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigTreeBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
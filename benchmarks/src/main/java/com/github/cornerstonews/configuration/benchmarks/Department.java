@@ -0,0 +1,49 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+public class Department {
+    @NotBlank
+    private String name;
+    @Valid
+    private Employee manager;
+    @Valid
+    private List<Employee> employees;
+    @Valid
+    private Department subDepartment;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Employee getManager() {
+        return manager;
+    }
+
+    public void setManager(Employee manager) {
+        this.manager = manager;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    public Department getSubDepartment() {
+        return subDepartment;
+    }
+
+    public void setSubDepartment(Department subDepartment) {
+        this.subDepartment = subDepartment;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.util.Map;
+
+public class Directory {
+    private String name;
+    private Map<String, Employee> employees;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Map<String, Employee> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(Map<String, Employee> employees) {
+        this.employees = employees;
+    }
+}
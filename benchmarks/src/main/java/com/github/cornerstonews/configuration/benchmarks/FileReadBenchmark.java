@@ -0,0 +1,62 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.parser.JsonConfigParser;
+
+/**
+ * Compares memory mapped and buffered reads of large JSON config files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms6g", "-Xmx6g" })
+public class FileReadBenchmark {
+
+    @Param({ "1", "50", "500" })
+    public int sizeMb;
+
+    @Param({ "buffered", "mapped" })
+    public String mode;
+
+    private File file;
+    private JsonConfigParser<Directory> parser;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("directory-" + sizeMb + "mb-", ".json");
+        BenchmarkData.writeDirectoryFile(file, new JsonFactory(), sizeMb * 1024L * 1024L);
+
+        parser = new JsonConfigParser<>(file.getPath(), Directory.class);
+        parser.setMappedReadThreshold("mapped".equals(mode) ? 0 : Long.MAX_VALUE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Directory read() throws IOException, ConfigException {
+        return parser.build(file.getPath());
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.codegen.GeneratedConfigs;
+
+/**
+ * Time to the first loaded and validated config in a fresh JVM, through the binder generated for the
+ * {@code @ConfigClass} compared to Jackson and Hibernate Validator reflection. Every fork measures a single cold load,
+ * the setup does not touch the library so none of its classes are loaded up front.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class FirstConfigBenchmark {
+
+    private static final String TENANT = "{\"name\": \"acme\", \"region\": \"eu-west-1\", \"enabled\": true, \"maxConnections\": 200,"
+            + " \"timeoutMillis\": 3000, \"tags\": [\"gold\", \"eu\"], \"limits\": {\"requestsPerSecond\": 500, \"maxBodyBytes\": 1048576},"
+            + " \"endpoints\": [{\"host\": \"api.acme.internal\", \"port\": 443}, {\"host\": \"admin.acme.internal\", \"port\": 8443}],"
+            + " \"overrides\": {\"batch\": {\"requestsPerSecond\": 50, \"maxBodyBytes\": 0}}}";
+
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("tenant-", ".json");
+        Files.write(file.toPath(), TENANT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Tenant generated() throws ConfigException, IOException {
+        return load();
+    }
+
+    @Benchmark
+    @Fork(value = 10, jvmArgsAppend = "-D" + GeneratedConfigs.ENABLED_PROPERTY + "=false")
+    public Tenant reflection() throws ConfigException, IOException {
+        return load();
+    }
+
+    private Tenant load() throws ConfigException, IOException {
+        final Tenant tenant = ConfigFactory.loadConfig(file.getPath(), Tenant.class);
+        ConfigFactory.isValid(tenant);
+        return tenant;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FirstConfigBenchmark.class.getSimpleName()).build()).run();
+    }
+}
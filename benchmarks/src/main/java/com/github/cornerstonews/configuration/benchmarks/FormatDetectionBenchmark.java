@@ -0,0 +1,84 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.cornerstonews.configuration.parser.ConfigFormat;
+import com.github.cornerstonews.configuration.parser.ConfigFormatResolver;
+import com.github.cornerstonews.configuration.parser.FormatDetector;
+
+/**
+ * Compares {@link Files#probeContentType} with the cached {@link ConfigFormatResolver} and its uncached detectors for files with and
+ * without an extension.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatDetectionBenchmark {
+
+    @Param({ ".json", "" })
+    public String extension;
+
+    private File file;
+    private ConfigFormatResolver cached;
+    private FormatDetector byExtension;
+    private FormatDetector byContent;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("detect-", extension);
+        Files.write(file.toPath(), "{\"name\": \"Organization\"}".getBytes(StandardCharsets.UTF_8));
+        cached = new ConfigFormatResolver(Arrays.asList(FormatDetector.byExtension(), FormatDetector.byContent()), 16);
+        byExtension = FormatDetector.byExtension();
+        byContent = FormatDetector.byContent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public String probeContentType() throws IOException {
+        return Files.probeContentType(file.toPath());
+    }
+
+    @Benchmark
+    public ConfigFormat resolveCached() {
+        return cached.resolve(file.getPath());
+    }
+
+    @Benchmark
+    public ConfigFormat detectUncached() throws IOException {
+        final ConfigFormat format = byExtension.detect(file.toPath());
+        return format != null ? format : byContent.detect(file.toPath());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FormatDetectionBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.parser.HashMapConfigParser;
+
+/**
+ * Compares binding a map through {@link HashMapConfigParser} with the former JSON string round trip
+ * ({@code writeValueAsString} followed by {@code readValue}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashMapConfigParserBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int entries;
+
+    private Map<String, Object> map;
+    private Directory existing;
+    private HashMapConfigParser<Directory> parser;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setup() throws ConfigException {
+        map = BenchmarkData.directoryMap(entries);
+        parser = new HashMapConfigParser<>(Directory.class, false);
+        mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        existing = parser.build(map);
+    }
+
+    @Benchmark
+    public Directory build() throws ConfigException {
+        return parser.build(map);
+    }
+
+    @Benchmark
+    public Directory buildStringRoundTrip() throws JsonProcessingException {
+        return mapper.readValue(mapper.writeValueAsString(map), Directory.class);
+    }
+
+    @Benchmark
+    public Directory merge() throws ConfigException {
+        return parser.merge(map, existing);
+    }
+
+    @Benchmark
+    public Directory mergeStringRoundTrip() throws JsonProcessingException {
+        return mapper.readerForUpdating(existing).readValue(mapper.writeValueAsString(map));
+    }
+}
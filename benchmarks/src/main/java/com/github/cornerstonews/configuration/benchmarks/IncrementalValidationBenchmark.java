@@ -0,0 +1,82 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+/**
+ * Compares complete and incremental validation of a deep config after a small override was merged into it, and after
+ * a reload changed a single property of the deepest department.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncrementalValidationBenchmark {
+
+    @Param({ "100", "10000" })
+    public int employees;
+
+    @Param({ "4", "16" })
+    public int depth;
+
+    private Map<String, Object> override;
+    private Organization organization;
+    private Organization reloaded;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws ConfigException, IOException {
+        Map<String, Object> map = BenchmarkData.organizationMap(employees, depth);
+        organization = ConfigFactory.loadConfig(map, Organization.class);
+
+        Map<String, Object> department = (Map<String, Object>) map.get("department");
+        while (department.containsKey("subDepartment")) {
+            department = (Map<String, Object>) department.get("subDepartment");
+        }
+        ((Map<String, Object>) ((List<Object>) department.get("employees")).get(0)).put("salary", 1);
+        reloaded = ConfigFactory.loadConfig(map, Organization.class);
+
+        override = new HashMap<>();
+        override.put("name", "Renamed organization");
+    }
+
+    @Benchmark
+    public boolean mergeThenValidateAll() throws ConfigException {
+        return ConfigFactory.isValid(ConfigFactory.mergeConfig(override, Organization.class, organization));
+    }
+
+    @Benchmark
+    public Organization mergeValid() throws ConfigException {
+        return ConfigFactory.mergeValidConfig(override, Organization.class, organization);
+    }
+
+    @Benchmark
+    public boolean reloadValidateAll() throws ConfigException {
+        return ConfigFactory.isValid(reloaded);
+    }
+
+    @Benchmark
+    public boolean reloadValidateChanges() throws ConfigException {
+        return ConfigFactory.isValid(organization, reloaded);
+    }
+}
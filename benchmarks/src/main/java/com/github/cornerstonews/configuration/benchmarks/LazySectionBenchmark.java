@@ -0,0 +1,100 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.Valid;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.parser.LazySection;
+
+/**
+ * Compares loading a config with many large sections eagerly against loading it with {@link LazySection}s and
+ * accessing a single section. Sections are validated eagerly through {@code @Valid} and lazily on access. Run through
+ * {@link #main(String[])}, or with {@code -prof gc}, to also compare the allocated bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LazySectionBenchmark {
+
+    public static class EagerSections {
+        @Valid
+        public Map<String, Department> sections;
+    }
+
+    public static class LazySections {
+        public Map<String, LazySection<Department>> sections;
+    }
+
+    @Param({ "8", "32" })
+    public int sections;
+
+    @Param({ "yaml", "json" })
+    public String format;
+
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        Map<String, Object> all = new LinkedHashMap<>();
+        for (int i = 0; i < sections; i++) {
+            all.put("section" + i, BenchmarkData.organizationMap(200, 2).get("department"));
+        }
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("sections", all);
+
+        file = File.createTempFile("sections-", "." + format);
+        new ObjectMapper("yaml".equals(format) ? new YAMLFactory() : new JsonFactory()).writeValue(file, config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Department loadEager() throws ConfigException, IOException {
+        EagerSections config = ConfigFactory.loadConfig(file.getPath(), EagerSections.class);
+        ConfigFactory.isValid(config);
+        return config.sections.get("section0");
+    }
+
+    @Benchmark
+    public Department loadLazy() throws ConfigException, IOException {
+        LazySections config = ConfigFactory.loadConfig(file.getPath(), LazySections.class);
+        ConfigFactory.isValid(config);
+        return config.sections.get("section0").get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LazySectionBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
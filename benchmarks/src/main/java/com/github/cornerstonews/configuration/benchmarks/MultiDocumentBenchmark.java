@@ -0,0 +1,113 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.batch.BatchConfigLoader;
+import com.github.cornerstonews.configuration.batch.ConfigResult;
+import com.github.cornerstonews.configuration.parser.ConfigFileParser;
+import com.github.cornerstonews.configuration.parser.ConfigIterator;
+
+/**
+ * Loading per-tenant configs from a single multi-document YAML file, streamed or keyed by tenant name, compared to
+ * loading the same configs split into one file per tenant with the {@link BatchConfigLoader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiDocumentBenchmark {
+
+    @Param({ "2000" })
+    public int documents;
+
+    @Param({ "1", "4" })
+    public int parallelism;
+
+    private Path directory;
+    private File file;
+    private ConfigFileParser<Employee> parser;
+    private BatchConfigLoader<Employee> loader;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("tenants-");
+        final Path split = Files.createDirectory(directory.resolve("split"));
+        final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+        file = directory.resolve("tenants.yaml").toFile();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(file, JsonEncoding.UTF8)) {
+            for (int i = 0; i < documents; i++) {
+                mapper.writeValue(generator, BenchmarkData.employeeMap(i));
+                mapper.writeValue(split.resolve("tenant-" + i + ".yaml").toFile(), BenchmarkData.employeeMap(i));
+            }
+        }
+
+        parser = ConfigFactory.getParser(file.getPath(), Employee.class);
+        parser.setValidationParallelism(parallelism);
+        loader = new BatchConfigLoader<>(Employee.class, parallelism);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int stream() throws ConfigException, IOException {
+        int count = 0;
+        try (ConfigIterator<Employee> employees = parser.documents(file.getPath())) {
+            while (employees.hasNext()) {
+                employees.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Map<String, Employee> keyed() throws ConfigException, IOException {
+        return parser.loadDocuments(file.getPath(), "name");
+    }
+
+    @Benchmark
+    public List<ConfigResult<Employee>> splitFiles() throws IOException {
+        return loader.load(directory.resolve("split"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MultiDocumentBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+public class Organization {
+    @NotBlank
+    private String name;
+    @NotNull
+    @Valid
+    private Department department;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Department getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(Department department) {
+        this.department = department;
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.parser.ConfigFileParser;
+
+/**
+ * Collecting all errors of a large organization file with misspelled fields and values of the wrong type spread over
+ * its employees. {@code bindUntilValid} finds them the way a failed load plus retry does, binding again after removing
+ * the value the previous bind failed at, which still favours it as the file is only parsed once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+    @Param({ "10000" })
+    public int employees;
+
+    @Param({ "1", "30" })
+    public int errors;
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private File file;
+    private ConfigFileParser<Organization> parser;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        final Map<String, Object> organization = BenchmarkData.organizationMap(employees, 1);
+        final List<Map<String, Object>> members = (List<Map<String, Object>>) ((Map<String, Object>) organization.get("department")).get("employees");
+        for (int i = 0; i < errors; i++) {
+            final Map<String, Object> employee = members.get(i * (employees / errors));
+            if (i % 2 == 0) {
+                employee.put("nmae", employee.remove("name"));
+            } else {
+                employee.put("salary", "high");
+            }
+        }
+
+        file = File.createTempFile("organization-", ".json");
+        mapper.writeValue(file, organization);
+        parser = ConfigFactory.getParser(file.getPath(), Organization.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        try {
+            parser.build(file.getPath());
+            return 0;
+        } catch (ConfigException e) {
+            return e.getErrors().size();
+        }
+    }
+
+    @Benchmark
+    public int validateSchema() throws IOException {
+        try {
+            parser.validateSchema(file.getPath());
+            return 0;
+        } catch (ConfigException e) {
+            return e.getErrors().size();
+        }
+    }
+
+    @Benchmark
+    public int bindUntilValid() throws IOException {
+        final JsonNode tree = mapper.readTree(file);
+        int found = 0;
+        while (true) {
+            try {
+                mapper.treeToValue(tree, Organization.class);
+                return found;
+            } catch (JsonMappingException e) {
+                found++;
+                remove(tree, e.getPath());
+            }
+        }
+    }
+
+    private static void remove(JsonNode tree, List<JsonMappingException.Reference> path) {
+        JsonNode parent = tree;
+        for (JsonMappingException.Reference reference : path.subList(0, path.size() - 1)) {
+            parent = reference.getFieldName() == null ? parent.get(reference.getIndex()) : parent.get(reference.getFieldName());
+        }
+        ((ObjectNode) parent).remove(path.get(path.size() - 1).getFieldName());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SchemaValidationBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.cornerstonews.configuration.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+
+import com.github.cornerstonews.configuration.codegen.ConfigClass;
+
+@ConfigClass
+public class Tenant {
+    @NotBlank
+    private String name;
+    @Pattern(regexp = "[a-z]+-[a-z]+-[0-9]")
+    private String region;
+    private boolean enabled;
+    @Min(1)
+    @Max(10000)
+    private int maxConnections;
+    @Positive
+    private long timeoutMillis;
+    @Size(max = 16)
+    private List<String> tags;
+    @NotNull
+    @Valid
+    private Limits limits;
+    @NotEmpty
+    @Valid
+    private List<Endpoint> endpoints;
+    @Valid
+    private Map<String, Limits> overrides;
+
+    @ConfigClass
+    public static class Limits {
+        @Positive
+        private int requestsPerSecond;
+        @Min(0)
+        private long maxBodyBytes;
+
+        public int getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(int requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public long getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(long maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+    }
+
+    @ConfigClass
+    public static class Endpoint {
+        @NotBlank
+        private String host;
+        @Min(1)
+        @Max(65535)
+        private int port;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Limits getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Limits limits) {
+        this.limits = limits;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public Map<String, Limits> getOverrides() {
+        return overrides;
+    }
+
+    public void setOverrides(Map<String, Limits> overrides) {
+        this.overrides = overrides;
+    }
+}
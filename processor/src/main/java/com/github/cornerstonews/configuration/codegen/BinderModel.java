@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.codegen;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * What the {@link ConfigClassProcessor} found out about a config class, written out by the {@link BinderWriter}.
+ */
+final class BinderModel {
+
+    enum ValueKind {
+        STRING, BOOLEAN, SHORT, INT, LONG, FLOAT, DOUBLE, ENUM, NESTED, LIST, MAP;
+
+        boolean isNumeric() {
+            return this == SHORT || this == INT || this == LONG || this == FLOAT || this == DOUBLE;
+        }
+    }
+
+    static final class Value {
+        final ValueKind kind;
+        final String typeName;
+        final boolean primitive;
+        final Value element;
+        final TypeElement nested;
+
+        Value(ValueKind kind, String typeName, boolean primitive, Value element, TypeElement nested) {
+            this.kind = kind;
+            this.typeName = typeName;
+            this.primitive = primitive;
+            this.element = element;
+            this.nested = nested;
+        }
+    }
+
+    /**
+     * Call of a {@link GeneratedConfigs} constraint method, with the arguments passed between the value and its path.
+     */
+    static final class Check {
+        final String method;
+        final String[] arguments;
+
+        Check(String method, String... arguments) {
+            this.method = method;
+            this.arguments = arguments;
+        }
+    }
+
+    static final class Property {
+        final String name;
+        final String fieldName;
+        final Value value;
+        /** Statement prefix assigning the value, e.g. {@code bean.setName(}, {@code null} for ignored properties. */
+        String assignment;
+        /** Expression reading the value, only set when it has checks or cascades. */
+        String access;
+        final List<Check> checks = new ArrayList<>();
+        boolean cascade;
+
+        Property(String name, String fieldName, Value value) {
+            this.name = name;
+            this.fieldName = fieldName;
+            this.value = value;
+        }
+
+        boolean isIgnored() {
+            return assignment == null;
+        }
+
+        boolean isChecked() {
+            return !checks.isEmpty() || cascade;
+        }
+    }
+
+    final TypeElement type;
+    final String typeName;
+    final String packageName;
+    final String binderSimpleName;
+    final List<Property> properties = new ArrayList<>();
+    final List<String> patterns = new ArrayList<>();
+
+    BinderModel(TypeElement type, String packageName, String binderSimpleName) {
+        this.type = type;
+        this.typeName = type.getQualifiedName().toString();
+        this.packageName = packageName;
+        this.binderSimpleName = binderSimpleName;
+    }
+
+    /**
+     * @return the config classes whose binders this one delegates to
+     */
+    Set<TypeElement> getNestedTypes() {
+        final Set<TypeElement> nested = new LinkedHashSet<>();
+        for (Property property : properties) {
+            for (Value value = property.value; value != null; value = value.element) {
+                if (value.nested != null) {
+                    nested.add(value.nested);
+                }
+            }
+        }
+        return nested;
+    }
+}
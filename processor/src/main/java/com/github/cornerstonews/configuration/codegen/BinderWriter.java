@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+
+import com.github.cornerstonews.configuration.codegen.BinderModel.Check;
+import com.github.cornerstonews.configuration.codegen.BinderModel.Property;
+import com.github.cornerstonews.configuration.codegen.BinderModel.Value;
+
+/**
+ * Writes the source of the {@link GeneratedConfig} described by a {@link BinderModel}. All types are referenced by
+ * their qualified names so the generated code can not clash with names of the config package.
+ */
+final class BinderWriter {
+
+    private static final String SUPPORT = GeneratedConfigs.class.getName();
+    private static final String JSON_TOKEN = "com.fasterxml.jackson.core.JsonToken";
+    private static final String MAPPING_EXCEPTION = "com.fasterxml.jackson.databind.JsonMappingException";
+
+    private final Elements elements;
+    private final BinderModel model;
+    private final Map<TypeElement, String> binders = new LinkedHashMap<>();
+    private final StringBuilder out = new StringBuilder();
+    private int indent;
+
+    BinderWriter(Elements elements, BinderModel model) {
+        this.elements = elements;
+        this.model = model;
+        for (TypeElement nested : model.getNestedTypes()) {
+            if (!nested.equals(model.type)) {
+                binders.put(nested, "BINDER_" + binders.size());
+            }
+        }
+    }
+
+    static String binderName(Elements elements, TypeElement type) {
+        return GeneratedConfigs.binderName(elements.getBinaryName(type).toString());
+    }
+
+    void write(Writer writer) throws IOException {
+        if (!model.packageName.isEmpty()) {
+            line("package " + model.packageName + ";").line("");
+        }
+        line("// Generated by " + ConfigClassProcessor.class.getName() + " from " + model.typeName + ", do not edit");
+        line("public final class " + model.binderSimpleName + " implements " + GeneratedConfig.class.getName() + "<" + model.typeName + "> {").in();
+        line("");
+        writeConstants();
+        line("@java.lang.Override");
+        line("public java.lang.Class<" + model.typeName + "> getType() {").in();
+        line("return " + model.typeName + ".class;").out().line("}");
+        line("");
+        writeBind();
+        line("");
+        writeCheck();
+        out().line("}");
+        writer.write(out.toString());
+    }
+
+    private void writeConstants() {
+        final StringBuilder names = new StringBuilder();
+        for (Property property : model.properties) {
+            if (!property.isIgnored()) {
+                names.append(names.length() == 0 ? "" : ", ").append(elements.getConstantExpression(property.name));
+            }
+        }
+        line("private static final java.util.List<java.lang.Object> PROPERTIES = " + SUPPORT + ".properties(" + names + ");");
+        for (Map.Entry<TypeElement, String> binder : binders.entrySet()) {
+            final String binderClass = binderName(elements, binder.getKey());
+            line("private static final " + binderClass + " " + binder.getValue() + " = new " + binderClass + "();");
+        }
+        for (int i = 0; i < model.patterns.size(); i++) {
+            line("private static final java.util.regex.Pattern PATTERN_" + i + " = java.util.regex.Pattern.compile("
+                    + elements.getConstantExpression(model.patterns.get(i)) + ");");
+        }
+        line("");
+    }
+
+    private void writeBind() {
+        line("@java.lang.Override");
+        line("public " + model.typeName + " bind(com.fasterxml.jackson.core.JsonParser p, boolean failOnUnknown) throws java.io.IOException {").in();
+        line("if (p.currentToken() == " + JSON_TOKEN + ".VALUE_NULL) {").in().line("return null;").out().line("}");
+        line(SUPPORT + ".expectObject(p, " + model.typeName + ".class);");
+        line("final " + model.typeName + " bean = new " + model.typeName + "();");
+        line("java.lang.String property = null;");
+        line("try {").in();
+        line("while (p.nextToken() == " + JSON_TOKEN + ".FIELD_NAME) {").in();
+        line("property = p.currentName();");
+        line("p.nextToken();");
+        line("switch (property) {");
+        for (Property property : model.properties) {
+            line("case " + elements.getConstantExpression(property.name) + ":").in();
+            if (property.isIgnored()) {
+                line("p.skipChildren();");
+            } else {
+                line(property.assignment + reader(property.value, "p", 1) + ");");
+            }
+            line("break;").out();
+        }
+        line("default:").in();
+        line("final java.lang.String unknown = property;");
+        line("property = null;");
+        line(SUPPORT + ".unknown(p, bean, unknown, PROPERTIES, failOnUnknown);").out();
+        line("}").out();
+        line("}").out();
+        line("} catch (" + MAPPING_EXCEPTION + " e) {").in();
+        line("throw property == null ? e : " + MAPPING_EXCEPTION + ".wrapWithPath(e, bean, property);").out();
+        line("}");
+        line("return bean;").out();
+        line("}");
+    }
+
+    private String reader(Value value, String parser, int depth) {
+        switch (value.kind) {
+        case STRING:
+            return SUPPORT + ".readString(" + parser + ")";
+        case ENUM:
+            return SUPPORT + ".readEnum(" + parser + ", " + value.typeName + ".class)";
+        case NESTED:
+            return binder(value) + ".bind(" + parser + ", failOnUnknown)";
+        case LIST:
+        case MAP:
+            final String element = "p" + depth;
+            return SUPPORT + (value.kind == BinderModel.ValueKind.LIST ? ".readList(" : ".readMap(") + parser + ", " + element + " -> "
+                    + reader(value.element, element, depth + 1) + ")";
+        default:
+            final String name = value.kind.name().charAt(0) + value.kind.name().substring(1).toLowerCase();
+            return SUPPORT + ".read" + name + (value.primitive ? "" : "Object") + "(" + parser + ")";
+        }
+    }
+
+    private String binder(Value value) {
+        return value.nested.equals(model.type) ? "this" : binders.get(value.nested);
+    }
+
+    private void writeCheck() {
+        line("@java.lang.Override");
+        line("public void check(" + model.typeName + " bean, java.lang.String path, java.util.Set<java.lang.String> errors) {").in();
+        for (Property property : model.properties) {
+            if (!property.isChecked()) {
+                continue;
+            }
+            final String name = elements.getConstantExpression(property.fieldName);
+            line("{").in();
+            line("final " + property.value.typeName + " v = " + property.access + ";");
+            for (Check check : property.checks) {
+                final StringBuilder call = new StringBuilder(SUPPORT).append('.').append(check.method).append("(v, ");
+                for (String argument : check.arguments) {
+                    call.append(argument).append(", ");
+                }
+                line(call.append("path, ").append(name).append(", errors);").toString());
+            }
+            if (property.cascade) {
+                if (property.value.kind == BinderModel.ValueKind.NESTED) {
+                    line("if (v != null) {").in();
+                    line(binder(property.value) + ".check(v, " + SUPPORT + ".path(path, " + name + "), errors);").out();
+                    line("}");
+                } else {
+                    line(SUPPORT + ".checkEach(v, " + binder(property.value.element) + ", path, " + name + ", errors);");
+                }
+            }
+            out().line("}");
+        }
+        out().line("}");
+    }
+
+    private BinderWriter line(String line) {
+        if (!line.isEmpty()) {
+            for (int i = 0; i < indent; i++) {
+                out.append("    ");
+            }
+        }
+        out.append(line).append('\n');
+        return this;
+    }
+
+    private BinderWriter in() {
+        indent++;
+        return this;
+    }
+
+    private BinderWriter out() {
+        indent--;
+        return this;
+    }
+}
@@ -0,0 +1,476 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+
+import com.github.cornerstonews.configuration.codegen.BinderModel.Check;
+import com.github.cornerstonews.configuration.codegen.BinderModel.Property;
+import com.github.cornerstonews.configuration.codegen.BinderModel.Value;
+import com.github.cornerstonews.configuration.codegen.BinderModel.ValueKind;
+
+/**
+ * Generates a {@link GeneratedConfig} named {@code <ConfigClass>_ConfigBinder} next to every {@link ConfigClass}.
+ * <p>
+ * The processor ships in the {@code cornerstone-config-processor} artifact, apart from the library, and only runs in
+ * builds that opt into it, e.g. by adding the artifact to the {@code annotationProcessorPaths} of the
+ * maven-compiler-plugin. Config classes it can not fully mirror the Jackson and Hibernate Validator behaviour of are
+ * skipped with a warning and keep being handled through reflection.
+ */
+@SupportedAnnotationTypes("com.github.cornerstonews.configuration.codegen.ConfigClass")
+public class ConfigClassProcessor extends AbstractProcessor {
+
+    private static final String VALID = "javax.validation.Valid";
+    private static final String CONSTRAINT = "javax.validation.Constraint";
+    private static final String CONSTRAINTS_PACKAGE = "javax.validation.constraints.";
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+
+    private static final Set<String> LIST_TYPES = new HashSet<>(Arrays.asList("java.util.List", "java.util.Collection", "java.util.ArrayList"));
+    private static final Set<String> MAP_TYPES = new HashSet<>(Arrays.asList("java.util.Map", "java.util.LinkedHashMap"));
+    private static final Map<String, ValueKind> WRAPPERS = new HashMap<>();
+
+    static {
+        WRAPPERS.put("java.lang.String", ValueKind.STRING);
+        WRAPPERS.put("java.lang.Boolean", ValueKind.BOOLEAN);
+        WRAPPERS.put("java.lang.Short", ValueKind.SHORT);
+        WRAPPERS.put("java.lang.Integer", ValueKind.INT);
+        WRAPPERS.put("java.lang.Long", ValueKind.LONG);
+        WRAPPERS.put("java.lang.Float", ValueKind.FLOAT);
+        WRAPPERS.put("java.lang.Double", ValueKind.DOUBLE);
+    }
+
+    private Elements elements;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        elements = processingEnv.getElementUtils();
+        final Map<TypeElement, BinderModel> models = new LinkedHashMap<>();
+        for (TypeElement type : ElementFilter.typesIn(round.getElementsAnnotatedWith(ConfigClass.class))) {
+            try {
+                models.put(type, analyze(type));
+            } catch (UnsupportedConfigException e) {
+                skip(type, e.getMessage());
+            }
+        }
+
+        // a class referencing a nested config class without binder has to be bound through reflection as well
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Iterator<Map.Entry<TypeElement, BinderModel>> it = models.entrySet().iterator(); it.hasNext();) {
+                final Map.Entry<TypeElement, BinderModel> entry = it.next();
+                for (TypeElement nested : entry.getValue().getNestedTypes()) {
+                    if (!models.containsKey(nested) && elements.getTypeElement(BinderWriter.binderName(elements, nested)) == null) {
+                        skip(entry.getKey(), "nested config class " + nested.getQualifiedName() + " has no generated binder");
+                        it.remove();
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (BinderModel model : models.values()) {
+            final String name = BinderWriter.binderName(elements, model.type);
+            try (Writer writer = processingEnv.getFiler().createSourceFile(name, model.type).openWriter()) {
+                new BinderWriter(elements, model).write(writer);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + name + ": " + e.getMessage(), model.type);
+            }
+        }
+        return false;
+    }
+
+    private void skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "No binder generated for config class " + type.getQualifiedName() + ", it is bound through reflection: " + reason, type);
+    }
+
+    private BinderModel analyze(TypeElement type) throws UnsupportedConfigException {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedConfigException("not a concrete class");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedConfigException("generic classes are not supported");
+        }
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            final TypeElement enclosingType = (TypeElement) enclosing;
+            if (enclosingType.getModifiers().contains(Modifier.PRIVATE)
+                    || (enclosingType.getNestingKind() == NestingKind.MEMBER && !enclosingType.getModifiers().contains(Modifier.STATIC))
+                    || enclosingType.getNestingKind() == NestingKind.LOCAL || enclosingType.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new UnsupportedConfigException("class is not accessible from its package");
+            }
+        }
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED || !"java.lang.Object".equals(qualifiedName(superclass))) {
+            throw new UnsupportedConfigException("inheritance is not supported");
+        }
+        checkAnnotations(type, "class");
+
+        final List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        if (constructors.stream().noneMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE))) {
+            throw new UnsupportedConfigException("no accessible constructor without arguments");
+        }
+
+        final Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+        final Map<String, ExecutableElement> getters = new HashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            final String name = method.getSimpleName().toString();
+            final boolean isPublic = method.getModifiers().contains(Modifier.PUBLIC);
+            if (isPublic && name.length() > 3 && name.startsWith("set") && method.getParameters().size() == 1) {
+                if (setters.put(propertyName(name.substring(3)), method) != null) {
+                    throw new UnsupportedConfigException("overloaded setter " + name);
+                }
+                checkAnnotations(method, "setter " + name);
+            } else {
+                if (isPublic && method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+                    if (name.length() > 3 && name.startsWith("get")) {
+                        getters.put(propertyName(name.substring(3)), method);
+                    } else if (name.length() > 2 && name.startsWith("is")) {
+                        getters.putIfAbsent(propertyName(name.substring(2)), method);
+                    }
+                }
+                if (hasAnnotations(method)) {
+                    throw new UnsupportedConfigException("annotated method " + name);
+                }
+            }
+        }
+
+        final String binaryName = BinderWriter.binderName(elements, type);
+        final int dot = binaryName.lastIndexOf('.');
+        final BinderModel model = new BinderModel(type, dot < 0 ? "" : binaryName.substring(0, dot), binaryName.substring(dot + 1));
+        final Set<String> names = new HashSet<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            final String fieldName = field.getSimpleName().toString();
+            final ExecutableElement setter = setters.remove(fieldName);
+            final ExecutableElement getter = getters.get(fieldName);
+            final Property property = analyzeField(model, field, setter, getter);
+            if (property != null && !names.add(property.name)) {
+                throw new UnsupportedConfigException("duplicate property " + property.name);
+            }
+        }
+        for (ExecutableElement setter : setters.values()) {
+            if (findAnnotation(setter, JSON_IGNORE) == null) {
+                throw new UnsupportedConfigException("setter " + setter.getSimpleName() + " without field");
+            }
+        }
+        return model;
+    }
+
+    private Property analyzeField(BinderModel model, VariableElement field, ExecutableElement setter, ExecutableElement getter)
+            throws UnsupportedConfigException {
+        final String fieldName = field.getSimpleName().toString();
+        checkAnnotations(field, "field " + fieldName);
+        final Set<Modifier> modifiers = field.getModifiers();
+        final boolean accessible = !modifiers.contains(Modifier.PRIVATE);
+        final boolean ignored = findAnnotation(field, JSON_IGNORE) != null || (setter != null && findAnnotation(setter, JSON_IGNORE) != null);
+        final boolean writable = setter != null || (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.TRANSIENT));
+        final boolean constrained = field.getAnnotationMirrors().stream().anyMatch(a -> isConstraint(a) || VALID.equals(annotationName(a)));
+
+        if (!writable && !ignored) {
+            if (findAnnotation(field, JSON_PROPERTY) != null || getter != null) {
+                throw new UnsupportedConfigException("property " + fieldName + " can not be set through a public field or setter");
+            }
+            if (!constrained) {
+                // internal state Jackson does not see either
+                return null;
+            }
+        }
+        if (setter != null && !isSameType(setter.getParameters().get(0).asType(), field.asType())) {
+            throw new UnsupportedConfigException("setter " + setter.getSimpleName() + " does not take the type of its field");
+        }
+        if (writable && modifiers.contains(Modifier.FINAL) && setter == null) {
+            throw new UnsupportedConfigException("final field " + fieldName);
+        }
+
+        final Value value = value(field.asType(), "field " + fieldName);
+        final Property property = new Property(jsonName(field, setter, fieldName), fieldName, value);
+        model.properties.add(property);
+        if (!ignored && writable) {
+            property.assignment = setter != null ? "bean." + setter.getSimpleName() + "(" : "bean." + fieldName + " = (";
+        }
+
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            if (VALID.equals(annotationName(annotation))) {
+                property.cascade = true;
+            } else if (isConstraint(annotation)) {
+                property.checks.add(check(model, annotation, value, fieldName));
+            }
+        }
+        if (field.asType().getKind() == TypeKind.DECLARED) {
+            for (TypeMirror argument : ((DeclaredType) field.asType()).getTypeArguments()) {
+                for (AnnotationMirror annotation : argument.getAnnotationMirrors()) {
+                    if (!VALID.equals(annotationName(annotation))) {
+                        throw new UnsupportedConfigException("annotated type argument of field " + fieldName);
+                    }
+                    property.cascade = true;
+                }
+            }
+        }
+        if (property.cascade) {
+            final boolean nested = value.kind == ValueKind.NESTED;
+            final boolean nestedElements = (value.kind == ValueKind.LIST || value.kind == ValueKind.MAP) && value.element.kind == ValueKind.NESTED;
+            if (!nested && !nestedElements) {
+                if (value.element != null) {
+                    throw new UnsupportedConfigException("@Valid on field " + fieldName);
+                }
+                // nothing to cascade into
+                property.cascade = false;
+            }
+        }
+
+        if (property.isChecked()) {
+            if (accessible) {
+                property.access = "bean." + fieldName;
+            } else if (getter != null && isSameType(getter.getReturnType(), field.asType())) {
+                property.access = "bean." + getter.getSimpleName() + "()";
+            } else {
+                throw new UnsupportedConfigException("constrained field " + fieldName + " has no getter");
+            }
+        }
+        return property;
+    }
+
+    private Check check(BinderModel model, AnnotationMirror annotation, Value value, String fieldName) throws UnsupportedConfigException {
+        final String name = annotationName(annotation);
+        final Map<String, Object> attributes = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            attributes.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+        for (ExecutableElement explicit : annotation.getElementValues().keySet()) {
+            if ("message".contentEquals(explicit.getSimpleName())) {
+                throw new UnsupportedConfigException("custom message on field " + fieldName);
+            }
+        }
+        if (attributes.get("groups") instanceof List && !((List<?>) attributes.get("groups")).isEmpty()) {
+            throw new UnsupportedConfigException("validation groups on field " + fieldName);
+        }
+
+        final boolean text = value.kind == ValueKind.STRING;
+        final boolean sized = text || value.kind == ValueKind.LIST || value.kind == ValueKind.MAP;
+        final String constraint = name.startsWith(CONSTRAINTS_PACKAGE) ? name.substring(CONSTRAINTS_PACKAGE.length()) : name;
+        switch (constraint) {
+        case "NotNull":
+            return applicable(!value.primitive, constraint, fieldName, new Check("notNull"));
+        case "NotEmpty":
+            return applicable(sized, constraint, fieldName, new Check("notEmpty"));
+        case "NotBlank":
+            return applicable(text, constraint, fieldName, new Check("notBlank"));
+        case "Size":
+            return applicable(sized, constraint, fieldName, new Check("size", attributes.get("min").toString(), attributes.get("max").toString()));
+        case "Min":
+            return applicable(value.kind.isNumeric(), constraint, fieldName, new Check("min", attributes.get("value") + "L"));
+        case "Max":
+            return applicable(value.kind.isNumeric(), constraint, fieldName, new Check("max", attributes.get("value") + "L"));
+        case "Positive":
+        case "PositiveOrZero":
+            return applicable(value.kind.isNumeric(), constraint, fieldName, new Check("positive", String.valueOf(constraint.endsWith("OrZero"))));
+        case "Negative":
+        case "NegativeOrZero":
+            return applicable(value.kind.isNumeric(), constraint, fieldName, new Check("negative", String.valueOf(constraint.endsWith("OrZero"))));
+        case "AssertTrue":
+            return applicable(value.kind == ValueKind.BOOLEAN, constraint, fieldName, new Check("assertTrue"));
+        case "AssertFalse":
+            return applicable(value.kind == ValueKind.BOOLEAN, constraint, fieldName, new Check("assertFalse"));
+        case "Pattern":
+            if (attributes.get("flags") instanceof List && !((List<?>) attributes.get("flags")).isEmpty()) {
+                throw new UnsupportedConfigException("pattern flags on field " + fieldName);
+            }
+            model.patterns.add(attributes.get("regexp").toString());
+            return applicable(text, constraint, fieldName, new Check("pattern", "PATTERN_" + (model.patterns.size() - 1)));
+        default:
+            throw new UnsupportedConfigException("unsupported constraint @" + constraint + " on field " + fieldName);
+        }
+    }
+
+    private static Check applicable(boolean applicable, String constraint, String fieldName, Check check) throws UnsupportedConfigException {
+        if (!applicable) {
+            throw new UnsupportedConfigException("@" + constraint + " does not apply to field " + fieldName);
+        }
+        return check;
+    }
+
+    private Value value(TypeMirror type, String owner) throws UnsupportedConfigException {
+        switch (type.getKind()) {
+        case BOOLEAN:
+            return new Value(ValueKind.BOOLEAN, "boolean", true, null, null);
+        case SHORT:
+            return new Value(ValueKind.SHORT, "short", true, null, null);
+        case INT:
+            return new Value(ValueKind.INT, "int", true, null, null);
+        case LONG:
+            return new Value(ValueKind.LONG, "long", true, null, null);
+        case FLOAT:
+            return new Value(ValueKind.FLOAT, "float", true, null, null);
+        case DOUBLE:
+            return new Value(ValueKind.DOUBLE, "double", true, null, null);
+        case DECLARED:
+            final DeclaredType declared = (DeclaredType) type;
+            final TypeElement element = (TypeElement) declared.asElement();
+            final String name = element.getQualifiedName().toString();
+            final List<? extends TypeMirror> arguments = declared.getTypeArguments();
+            if (WRAPPERS.containsKey(name)) {
+                return new Value(WRAPPERS.get(name), name, false, null, null);
+            }
+            if (element.getKind() == ElementKind.ENUM) {
+                return new Value(ValueKind.ENUM, name, false, null, null);
+            }
+            if (LIST_TYPES.contains(name) && arguments.size() == 1) {
+                final Value item = value(arguments.get(0), owner);
+                return new Value(ValueKind.LIST, name + "<" + item.typeName + ">", false, item, null);
+            }
+            if (MAP_TYPES.contains(name) && arguments.size() == 2 && "java.lang.String".equals(qualifiedName(arguments.get(0)))) {
+                final Value item = value(arguments.get(1), owner);
+                return new Value(ValueKind.MAP, name + "<java.lang.String, " + item.typeName + ">", false, item, null);
+            }
+            if (element.getAnnotation(ConfigClass.class) != null) {
+                return new Value(ValueKind.NESTED, name, false, null, element);
+            }
+            break;
+        default:
+            break;
+        }
+        throw new UnsupportedConfigException("unsupported type " + type + " of " + owner);
+    }
+
+    private void checkAnnotations(Element element, String owner) throws UnsupportedConfigException {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final String name = annotationName(annotation);
+            if (name.startsWith(JACKSON_PACKAGE)) {
+                if (element.getKind() == ElementKind.CLASS || !(JSON_PROPERTY.equals(name) || JSON_IGNORE.equals(name))) {
+                    throw new UnsupportedConfigException("@" + annotation.getAnnotationType().asElement().getSimpleName() + " on " + owner);
+                }
+                for (ExecutableElement attribute : annotation.getElementValues().keySet()) {
+                    if (!"value".contentEquals(attribute.getSimpleName())) {
+                        throw new UnsupportedConfigException("@" + annotation.getAnnotationType().asElement().getSimpleName() + " attributes on " + owner);
+                    }
+                }
+            } else if (element.getKind() != ElementKind.FIELD && (isConstraint(annotation) || VALID.equals(name))) {
+                throw new UnsupportedConfigException("constraint on " + owner);
+            }
+        }
+    }
+
+    private boolean hasAnnotations(ExecutableElement method) {
+        return method.getAnnotationMirrors().stream().anyMatch(a -> {
+            final String name = annotationName(a);
+            return name.startsWith(JACKSON_PACKAGE) || VALID.equals(name) || isConstraint(a);
+        });
+    }
+
+    private String jsonName(VariableElement field, ExecutableElement setter, String fieldName) {
+        for (Element element : Arrays.asList(field, setter)) {
+            final AnnotationMirror property = element == null ? null : findAnnotation(element, JSON_PROPERTY);
+            if (property != null) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : property.getElementValues().entrySet()) {
+                    final String value = entry.getValue().getValue().toString();
+                    if (!value.isEmpty()) {
+                        return value;
+                    }
+                }
+            }
+        }
+        return fieldName;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String name) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (name.equals(annotationName(annotation))) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isConstraint(AnnotationMirror annotation) {
+        final Element type = annotation.getAnnotationType().asElement();
+        return annotationName(annotation).startsWith(CONSTRAINTS_PACKAGE) || findAnnotation(type, CONSTRAINT) != null;
+    }
+
+    private static String annotationName(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static String qualifiedName(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED ? ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString() : type.toString();
+    }
+
+    private boolean isSameType(TypeMirror first, TypeMirror second) {
+        return processingEnv.getTypeUtils().isSameType(first, second);
+    }
+
+    /**
+     * Derives the property name of an accessor the way Jackson does, lower casing its leading upper case characters.
+     */
+    private static String propertyName(String accessorSuffix) {
+        final StringBuilder sb = new StringBuilder(accessorSuffix);
+        for (int i = 0; i < sb.length() && Character.isUpperCase(sb.charAt(i)); i++) {
+            sb.setCharAt(i, Character.toLowerCase(sb.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    private static final class UnsupportedConfigException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedConfigException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.cornerstonews.configuration.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.constraints.DecimalMin;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.parser.ConfigIterator;
+import com.github.cornerstonews.configuration.parser.YamlConfigParser;
+import com.github.cornerstonews.configuration.validation.ValidatorProvider;
+
+public class ConfigClassProcessorTest {
+
+    private static final String YAML = "name: orders\nport: \"8080\"\nregion: eu-1\ntimeout_ms: 1500\nenabled: true\nratio: 0.5\nmode: STANDBY\n"
+            + "tags: [a, b]\nendpoints:\n  - host: primary\n    weight: 2\n  - host: secondary\n"
+            + "replicas:\n  east:\n    host: east.internal\nfallback:\n  name: backup\n  port: 9090\n  endpoints:\n    - host: backup\n";
+
+    @TempDir
+    Path dir;
+
+    @ConfigClass
+    public static class UnsupportedConfig {
+        @DecimalMin("0.5")
+        public BigDecimal ratio;
+    }
+
+    private File write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+    @Test
+    public void generatedBindersTest() {
+        assertTrue(GeneratedConfigs.find(ServiceConfig.class) != null);
+        assertTrue(GeneratedConfigs.find(ServiceConfig.Endpoint.class) != null);
+        assertTrue(GeneratedConfigs.find(UnsupportedConfig.class) == null);
+        assertTrue(GeneratedConfigs.find(String.class) == null);
+    }
+
+    @Test
+    public void bindTest() throws IOException, ConfigException {
+        final File file = write("service.yaml", YAML);
+        final ServiceConfig generated = ConfigFactory.getParser(file.getPath(), ServiceConfig.class).build(file.getPath());
+        final ServiceConfig reflected = new ObjectMapper(new YAMLFactory()).readValue(file, ServiceConfig.class);
+
+        final ObjectMapper mapper = new ObjectMapper();
+        System.out.println(mapper.writeValueAsString(generated));
+        assertEquals(mapper.valueToTree(reflected), mapper.valueToTree(generated));
+        assertTrue(generated.getPort() == 8080);
+        assertTrue(generated.getMode() == ServiceConfig.Mode.STANDBY);
+        assertTrue(generated.getReplicas().get("east").host.equals("east.internal"));
+        assertTrue(generated.fallback.getEndpoints().get(0).host.equals("backup"));
+        assertTrue(ConfigFactory.isValid(generated));
+
+        final File json = write("service.json", mapper.writeValueAsString(mapper.valueToTree(reflected)));
+        assertEquals(mapper.valueToTree(reflected), mapper.valueToTree(ConfigFactory.loadConfig(json.getPath(), ServiceConfig.class)));
+    }
+
+    @Test
+    public void bindDocumentsTest() throws IOException, ConfigException {
+        final File file = write("services.yaml", YAML + "---\n" + YAML.replace("orders", "${SERVICE_NAME:payments}") + "---\nname: billing\nport: eighty\n");
+        final ObjectMapper mapper = new ObjectMapper();
+        final ServiceConfig reflected = new ObjectMapper(new YAMLFactory()).readValue(YAML, ServiceConfig.class);
+        try (ConfigIterator<ServiceConfig> services = new YamlConfigParser<>(ServiceConfig.class).documents(file.getPath())) {
+            assertEquals(mapper.valueToTree(reflected), mapper.valueToTree(services.next()));
+            assertTrue(services.next().getName().equals("payments"));
+            final ConfigException e = assertThrows(ConfigException.class, () -> services.next());
+            System.out.println(e.getMessage());
+            assertTrue(e.getMessage().contains("Incorrect type of value at: [2].port; is of type: String, expected: int"));
+            assertTrue(!services.hasNext());
+        }
+    }
+
+    @Test
+    public void bindErrorsTest() throws IOException {
+        final File unknown = write("unknown.yaml", "name: orders\nendpoints:\n  - host: primary\n    protocol: http\n");
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.loadConfig(unknown.getPath(), ServiceConfig.class));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Unrecognized field at: endpoints.[0].protocol"));
+        assertTrue(e.getMessage().contains("- host"));
+
+        final File type = write("type.yaml", "name: orders\nport: eighty\n");
+        e = assertThrows(ConfigException.class, () -> ConfigFactory.loadConfig(type.getPath(), ServiceConfig.class));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Incorrect type of value at: port; is of type: String, expected: int"));
+
+        final File mode = write("mode.yaml", "mode: PAUSED\n");
+        e = assertThrows(ConfigException.class, () -> ConfigFactory.loadConfig(mode.getPath(), ServiceConfig.class));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Incorrect type of value at: mode; is of type: String, expected: Mode"));
+    }
+
+    @Test
+    public void checkTest() {
+        final ServiceConfig config = new ServiceConfig();
+        config.setName(" ");
+        config.setRegion("EU");
+        config.setTimeoutMillis(0L);
+        config.setTags(Arrays.asList("a", "b", "c", "d"));
+        config.setEndpoints(Arrays.asList(new ServiceConfig.Endpoint("primary", 1), new ServiceConfig.Endpoint(null, -1)));
+        config.setReplicas(Collections.singletonMap("east", new ServiceConfig.Endpoint(null, 0)));
+        config.fallback = new ServiceConfig();
+        config.fallback.setPort(70000);
+
+        final Set<String> generated = new HashSet<>();
+        GeneratedConfigs.check(GeneratedConfigs.find(ServiceConfig.class), config, "", generated);
+        final Set<String> reflected = new HashSet<>();
+        for (ConstraintViolation<ServiceConfig> v : ValidatorProvider.getValidator().validate(config)) {
+            reflected.add(String.format("%s %s", v.getPropertyPath(), v.getMessage()));
+        }
+        System.out.println(generated);
+        assertEquals(reflected, generated);
+        assertTrue(generated.contains("endpoints[1].weight must be greater than or equal to 0"));
+
+        final ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.isValid(config));
+        assertTrue(e.getMessage().contains("fallback.port must be less than or equal to 65535"));
+    }
+
+    @Test
+    public void reflectionFallbackTest() throws IOException, ConfigException {
+        final File file = write("unsupported.json", "{\"ratio\": 0.25}");
+        final UnsupportedConfig config = ConfigFactory.loadConfig(file.getPath(), UnsupportedConfig.class);
+        assertTrue(config.ratio.compareTo(new BigDecimal("0.25")) == 0);
+        final ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.isValid(config));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("ratio must be greater than or equal to 0.5"));
+    }
+}
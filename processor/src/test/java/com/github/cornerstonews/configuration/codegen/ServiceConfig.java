@@ -0,0 +1,154 @@
+package com.github.cornerstonews.configuration.codegen;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@ConfigClass
+public class ServiceConfig {
+
+    public enum Mode {
+        ACTIVE, STANDBY
+    }
+
+    @NotBlank
+    private String name;
+    @Min(1)
+    @Max(65535)
+    private int port;
+    @Pattern(regexp = "[a-z]+-[0-9]")
+    private String region;
+    @Positive
+    @JsonProperty("timeout_ms")
+    private Long timeoutMillis;
+    private boolean enabled;
+    private double ratio;
+    private Mode mode;
+    @Size(max = 3)
+    private List<String> tags;
+    @NotEmpty
+    @Valid
+    private List<Endpoint> endpoints;
+    private Map<String, @Valid Endpoint> replicas;
+    @Valid
+    public ServiceConfig fallback;
+    @JsonIgnore
+    private String internal;
+
+    @ConfigClass
+    public static class Endpoint {
+        @NotNull
+        public String host;
+        @PositiveOrZero
+        public int weight;
+
+        public Endpoint() {
+        }
+
+        public Endpoint(String host, int weight) {
+            this.host = host;
+            this.weight = weight;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public Long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(Long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public Map<String, Endpoint> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(Map<String, Endpoint> replicas) {
+        this.replicas = replicas;
+    }
+
+    public String getInternal() {
+        return internal;
+    }
+
+    public void setInternal(String internal) {
+        this.internal = internal;
+    }
+}
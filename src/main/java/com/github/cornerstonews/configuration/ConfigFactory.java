@@ -17,104 +17,115 @@
 package com.github.cornerstonews.configuration;
 
 import java.io.IOException;
-import java.net.URL;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-
-import javax.naming.Context;
-import javax.naming.InitialContext;
-import javax.naming.NameNotFoundException;
-import javax.naming.NamingException;
-import javax.naming.NoInitialContextException;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.async.ConfigExecutors;
+import com.github.cornerstonews.configuration.batch.BatchConfigLoader;
+import com.github.cornerstonews.configuration.batch.ConfigResult;
+import com.github.cornerstonews.configuration.cache.ConfigCache;
+import com.github.cornerstonews.configuration.diff.ConfigChange;
+import com.github.cornerstonews.configuration.diff.ConfigDiff;
+import com.github.cornerstonews.configuration.location.ConfigPathResolver;
+import com.github.cornerstonews.configuration.overlay.ConfigOverlay;
 import com.github.cornerstonews.configuration.parser.BaseConfigParser;
+import com.github.cornerstonews.configuration.parser.CompiledConfig;
+import com.github.cornerstonews.configuration.parser.ConfigFormat;
+import com.github.cornerstonews.configuration.parser.ConfigIterator;
 import com.github.cornerstonews.configuration.parser.ConfigFileParser;
+import com.github.cornerstonews.configuration.parser.ConfigFormatResolver;
 import com.github.cornerstonews.configuration.parser.HashMapConfigParser;
 import com.github.cornerstonews.configuration.parser.JsonConfigParser;
+import com.github.cornerstonews.configuration.parser.LayeredConfigLoader;
 import com.github.cornerstonews.configuration.parser.YamlConfigParser;
+import com.github.cornerstonews.configuration.reload.ReloadableConfig;
+import com.github.cornerstonews.configuration.schema.ConfigSchema;
+import com.github.cornerstonews.configuration.snapshot.ConfigSnapshot;
+import com.github.cornerstonews.configuration.snapshot.SnapshotHolder;
+import com.github.cornerstonews.configuration.tree.ConfigTree;
 
 public final class ConfigFactory {
 
     private static Logger log = LogManager.getLogger(ConfigFactory.class);
 
+    public static final String CACHE_SIZE_PROPERTY = "cornerstone.config.cache.maxEntries";
+    public static final String CACHE_VERIFY_PROPERTY = "cornerstone.config.cache.verifyContent";
+
+    private static final ConfigCache CONFIG_CACHE = new ConfigCache(Integer.getInteger(CACHE_SIZE_PROPERTY, ConfigCache.DEFAULT_MAX_ENTRIES), true,
+            Boolean.getBoolean(CACHE_VERIFY_PROPERTY));
+
+    private static final Map<ClassLoader, Map<String, ConfigPathResolver>> PATH_RESOLVERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final BaseConfigParser<Object> VALIDATING_PARSER = new BaseConfigParser<>(Object.class, ConfigFormat.JSON, true);
+
     private ConfigFactory() {
     }
 
     public final static <T> BaseConfigParser<T> getDefaultParser(Class<T> clazz) throws ConfigException {
-        return new BaseConfigParser<T>(clazz, new ObjectMapper());
+        return new BaseConfigParser<T>(clazz, ConfigFormat.JSON, true);
     }
 
     public final static <T> ConfigFileParser<T> getParser(String path, Class<T> clazz) {
 
         ConfigFileParser<T> configurationParser = new YamlConfigParser<>(path, clazz);
 
-        if (path != null && "json".equalsIgnoreCase(ConfigFileParser.getFileExtension(path)) && ConfigFileParser.identifyFileType(path).contains("json")) {
+        if (ConfigFormatResolver.getShared().resolve(path) == ConfigFormat.JSON) {
             configurationParser = new JsonConfigParser<>(path, clazz);
         }
 
         return configurationParser;
     }
 
+    /**
+     * @return the config file named by the system property if it is readable, otherwise the file named by the
+     *         {@code APPCONFIG} JNDI entry or the {@code application.yaml}, {@code application.yml} or
+     *         {@code application.json} class path resource, {@code null} if there is none. The path is resolved once,
+     *         see {@link #invalidateConfigPaths()}
+     */
     public final static String getConfigPath(String propertyKey) throws ConfigException {
-        String path = null;
-        Path filePath = null;
-
-        // Read property key from command line
-        if (propertyKey != null) {
-            path = System.getProperty(propertyKey);
-            if (path != null) {
-                filePath = Paths.get(path);
-            }
-        }
-
-        if (filePath != null && Files.isReadable(filePath) && Files.isRegularFile(filePath)) {
-            return path;
-        }
-
-        return getConfigPath();
+        return getConfigPathResolver(propertyKey).getPath();
     }
 
     public final static String getConfigPath() throws ConfigException {
-        String path = null;
-
-        // Load config file from classpath
-        URL pathUrl = Thread.currentThread().getContextClassLoader().getResource("application.yaml");
-        if (pathUrl == null) {
-            pathUrl = Thread.currentThread().getContextClassLoader().getResource("application.yml");
-        }
+        return getConfigPath(null);
+    }
 
-        if (pathUrl == null) {
-            pathUrl = Thread.currentThread().getContextClassLoader().getResource("application.json");
-        }
+    /**
+     * @return the resolver behind {@link #getConfigPath(String)}, kept per thread context class loader and property
+     *         key, giving access to the source of the resolved path
+     */
+    public final static ConfigPathResolver getConfigPathResolver(String propertyKey) {
+        final Map<String, ConfigPathResolver> resolvers = PATH_RESOLVERS.computeIfAbsent(Thread.currentThread().getContextClassLoader(),
+                classLoader -> new ConcurrentHashMap<>());
+        return resolvers.computeIfAbsent(propertyKey == null ? "" : propertyKey, key -> ConfigPathResolver.defaults(propertyKey));
+    }
 
-        if (pathUrl != null && !pathUrl.getFile().isEmpty()) {
-            path = pathUrl.getFile();
-        }
+    /**
+     * Makes the next {@link #getConfigPath(String)} calls resolve the config path again.
+     */
+    public final static void invalidateConfigPaths() {
+        PATH_RESOLVERS.clear();
+    }
 
-        // override config path if 'APPCONFIG' environment variable is set
-        try {
-            Context env = (Context) new InitialContext().lookup("java:comp/env");
-            String envPath = (String) env.lookup("APPCONFIG");
-            if (envPath != null && !envPath.isEmpty()) {
-                path = envPath;
-            }
-        } catch (NameNotFoundException | NoInitialContextException e) {
-            log.info("'APPCONFIG' property not found.");
-            // Ignore error if 'APPCONFIG' variable is not found.
-        } catch (NamingException ex) {
-            ArrayList<String> errors = new ArrayList<>();
-            errors.add(ex.getMessage());
-            throw new ConfigException("Environment variable 'APPCONFIG'", errors, ex);
-        }
+    /**
+     * Looks up the config path like {@link #getConfigPath(String)} without blocking the calling thread.
+     */
+    public final static CompletableFuture<String> getConfigPathAsync(String propertyKey) {
+        return getConfigPathAsync(propertyKey, ConfigExecutors.getDefault());
+    }
 
-        return path;
+    public final static CompletableFuture<String> getConfigPathAsync(String propertyKey, Executor executor) {
+        return ConfigExecutors.supply(() -> getConfigPath(propertyKey), executor);
     }
 
     public final static <T> T loadConfig(Class<T> clazz) throws ConfigException, IOException {
@@ -126,7 +137,113 @@ public final class ConfigFactory {
             return loadConfig(clazz);
         }
 
-        return getParser(path, clazz).build(path);
+        return CONFIG_CACHE.load(Paths.get(path), clazz, () -> {
+            final T compiled = CompiledConfig.load(path, clazz);
+            if (compiled != null) {
+                return compiled;
+            }
+
+            return getParser(path, clazz).build(path);
+        });
+    }
+
+    /**
+     * Loads the config file like {@link #loadConfig(String, Class)} on the default executor of {@link ConfigExecutors},
+     * which uses virtual threads where available.
+     */
+    public final static <T> CompletableFuture<T> loadConfigAsync(String path, Class<T> clazz) {
+        return loadConfigAsync(path, clazz, ConfigExecutors.getDefault());
+    }
+
+    public final static <T> CompletableFuture<T> loadConfigAsync(String path, Class<T> clazz, Executor executor) {
+        return ConfigExecutors.supply(() -> loadConfig(path, clazz), executor);
+    }
+
+    /**
+     * Loads the config file with single values overridden by environment variables and system properties, see
+     * {@link ConfigOverlay}. The result is not cached, as the overrides may change between loads.
+     */
+    public final static <T> T loadConfig(String path, Class<T> clazz, ConfigOverlay overlay) throws ConfigException, IOException {
+        if (path == null) {
+            return getDefaultParser(clazz).build(overlay);
+        }
+
+        return getParser(path, clazz).build(path, overlay);
+    }
+
+    /**
+     * @return the cache used by {@link #loadConfig(String, Class)}, sized through the
+     *         {@value #CACHE_SIZE_PROPERTY} system property, 0 disables it
+     */
+    public final static ConfigCache getConfigCache() {
+        return CONFIG_CACHE;
+    }
+
+    /**
+     * Streams the documents of a multi-document config file one at a time, see {@link ConfigFileParser#documents(String)}.
+     */
+    public final static <T> ConfigIterator<T> streamDocuments(String path, Class<T> clazz) throws ConfigException, IOException {
+        return getParser(path, clazz).documents(path);
+    }
+
+    /**
+     * Loads all documents of a multi-document config file keyed by the given property, e.g. one document per tenant.
+     */
+    public final static <T> Map<String, T> loadDocuments(String path, Class<T> clazz, String keyProperty) throws ConfigException, IOException {
+        return getParser(path, clazz).loadDocuments(path, keyProperty);
+    }
+
+    /**
+     * Checks the config file against the schema of the config class without binding it, reporting all unknown fields,
+     * values of the wrong type and missing required fields at once, see {@link ConfigSchema}.
+     */
+    public final static <T> void validateSchema(String path, Class<T> clazz) throws ConfigException, IOException {
+        getParser(path, clazz).validateSchema(path);
+    }
+
+    /**
+     * Parses the config file into a {@link ConfigTree} giving access to single values without binding a config class.
+     */
+    public final static ConfigTree loadTree(String path) throws ConfigException, IOException {
+        return new ConfigTree(path, getParser(path, Object.class).readTree(path));
+    }
+
+    public final static <T> T loadLayered(List<String> paths, Class<T> clazz) throws ConfigException, IOException {
+        return new LayeredConfigLoader<>(clazz).load(paths);
+    }
+
+    public final static <T> CompletableFuture<T> loadLayeredAsync(List<String> paths, Class<T> clazz) {
+        return loadLayeredAsync(paths, clazz, ConfigExecutors.getDefault());
+    }
+
+    public final static <T> CompletableFuture<T> loadLayeredAsync(List<String> paths, Class<T> clazz, Executor executor) {
+        return new LayeredConfigLoader<>(clazz, executor).loadAsync(paths);
+    }
+
+    /**
+     * Loads all config files in the directory matching the glob in parallel, see {@link BatchConfigLoader}.
+     */
+    public final static <T> List<ConfigResult<T>> loadBatch(Path directory, String glob, Class<T> clazz) throws IOException {
+        return new BatchConfigLoader<>(clazz).load(directory, glob);
+    }
+
+    public final static <T> Path compileConfig(String path, Class<T> clazz) throws ConfigException, IOException {
+        return CompiledConfig.compile(path, clazz);
+    }
+
+    public final static <T> SnapshotHolder<T> loadSnapshotConfig(String path, Class<T> clazz) throws ConfigException, IOException {
+        return new SnapshotHolder<>(ConfigSnapshot.of(clazz, loadConfig(path, clazz), false));
+    }
+
+    public final static <T> ReloadableConfig<T> loadReloadableConfig(String path, Class<T> clazz) throws ConfigException, IOException {
+        return new ReloadableConfig<>(path, clazz).start();
+    }
+
+    /**
+     * Lists the values that differ between two configurations by JSON pointer, see {@link ConfigDiff}.
+     */
+    public final static <T> List<ConfigChange> diffConfig(T previous, T current) {
+        return ConfigDiff.getShared().diff(previous, current);
     }
 
     public final static <T> T loadConfig(Map<String, ?> map, Class<T> clazz) throws ConfigException, IOException {
@@ -165,8 +282,30 @@ public final class ConfigFactory {
         return new HashMapConfigParser<T>(clazz, failOnUnknown).merge(map, instance);
     }
     
+    /**
+     * Merges the map into a valid configuration instance and validates only the properties the map changed.
+     */
+    public final static <T> T mergeValidConfig(Map<String, ?> map, Class<T> clazz, T instance) throws ConfigException {
+        return mergeValidConfig(map, clazz, instance, false);
+    }
+
+    public final static <T> T mergeValidConfig(Map<String, ?> map, Class<T> clazz, T instance, boolean failOnUnknown) throws ConfigException {
+        if (map.isEmpty()) {
+            return instance;
+        }
+
+        return new HashMapConfigParser<T>(clazz, failOnUnknown).mergeValid(map, instance);
+    }
+
     public static <T> boolean isValid(T configuration) throws ConfigException {
-        return getDefaultParser(null).isValid(configuration);
+        return VALIDATING_PARSER.isValid(configuration);
+    }
+
+    /**
+     * Validates only what changed between a previously validated configuration and its replacement.
+     */
+    public static <T> boolean isValid(T previous, T current) throws ConfigException {
+        return VALIDATING_PARSER.isValid(previous, current);
     }
 
 }
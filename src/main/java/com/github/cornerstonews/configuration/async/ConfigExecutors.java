@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.async;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.ConfigException;
+
+/**
+ * Executors running the asynchronous variants of the {@link com.github.cornerstonews.configuration.ConfigFactory}
+ * methods.
+ * <p>
+ * Loading configs blocks on file I/O and JNDI lookups, so by default every task gets a virtual thread when the runtime
+ * supports them, and otherwise runs on a shared pool of daemon threads. The default can be replaced with
+ * {@link #setDefault(Executor)}, e.g. with the blocking I/O pool of a reactive framework.
+ */
+public final class ConfigExecutors {
+
+    private static final Logger log = LogManager.getLogger(ConfigExecutors.class);
+
+    private static volatile Executor defaultExecutor;
+
+    private ConfigExecutors() {
+    }
+
+    @FunctionalInterface
+    public interface ConfigTask<T> {
+        T call() throws ConfigException, IOException;
+    }
+
+    /**
+     * @return the executor used by asynchronous loads that are not given one
+     */
+    public static Executor getDefault() {
+        Executor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (ConfigExecutors.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = createDefault();
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Replaces the default executor. Passing {@code null} restores the built-in default.
+     */
+    public static void setDefault(Executor executor) {
+        defaultExecutor = executor;
+    }
+
+    /**
+     * Runs the task on the executor.
+     *
+     * @return a future completed with the result of the task, or exceptionally with the {@link ConfigException},
+     *         {@link IOException} or runtime exception the task failed with
+     */
+    public static <T> CompletableFuture<T> supply(ConfigTask<T> task, Executor executor) {
+        Objects.requireNonNull(task, "task");
+        Objects.requireNonNull(executor, "executor");
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // e.g. the executor was shut down
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static Executor createDefault() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            final ExecutorService executor = (ExecutorService) factory.invoke(null);
+            log.debug("Loading configurations asynchronously on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // virtual threads are not available before Java 21, or only as a disabled preview feature
+            log.debug("Virtual threads are not available, loading configurations asynchronously on a thread pool");
+        }
+
+        final AtomicInteger threads = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "config-loader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
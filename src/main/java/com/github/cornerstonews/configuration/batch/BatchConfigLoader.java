@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.batch;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.parser.ConfigFileParser;
+import com.github.cornerstonews.configuration.parser.ConfigFormatResolver;
+
+/**
+ * Loads, binds and validates many config files of the same type in parallel, such as one file per tenant.
+ * <p>
+ * The files are processed by a bounded number of worker threads, which take the next file from the batch until all
+ * are done. Parsers share the readers of the {@link com.github.cornerstonews.configuration.parser.ObjectReaderRegistry}
+ * and bypass the {@link com.github.cornerstonews.configuration.cache.ConfigCache}. A file that fails to load does not
+ * fail the batch, its error is returned in its {@link ConfigResult}.
+ *
+ * @param <T> the configuration type
+ */
+public class BatchConfigLoader<T> {
+
+    private static final Logger log = LogManager.getLogger(BatchConfigLoader.class);
+
+    private static final AtomicInteger POOL_IDS = new AtomicInteger();
+
+    private final Class<T> klass;
+    private final int parallelism;
+
+    public BatchConfigLoader(Class<T> klass) {
+        this(klass, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchConfigLoader(Class<T> klass, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.klass = klass;
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Loads all config files directly within the directory whose format is recognized.
+     */
+    public List<ConfigResult<T>> load(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return load(files.filter(Files::isRegularFile).filter(file -> ConfigFormatResolver.getShared().resolve(file.toString()) != null).sorted()
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Loads the config files matching the glob, relative to the directory. Subdirectories are only searched if the glob
+     * spans directories, e.g. {@code tenants/*.yaml} or {@code **}{@code /*.yaml}.
+     *
+     * @param directory
+     *            the directory to search
+     * @param glob
+     *            the glob, e.g. {@code *.yaml} or {@code *.{yaml,json}}
+     * @return the results in the order of the file paths
+     */
+    public List<ConfigResult<T>> load(Path directory, String glob) throws IOException {
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        final int depth = glob.contains("**") ? Integer.MAX_VALUE : glob.split("/").length;
+        try (Stream<Path> files = Files.walk(directory, depth)) {
+            return load(files.filter(Files::isRegularFile).filter(file -> matcher.matches(directory.relativize(file))).sorted().collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Loads the given files.
+     *
+     * @return the results in the order of the given files
+     */
+    public List<ConfigResult<T>> load(List<Path> files) {
+        if (files.isEmpty()) {
+            return Collections.emptyList();
+        }
+        log.info("Loading {} configuration files with {} threads", files.size(), Math.min(parallelism, files.size()));
+        final long start = System.nanoTime();
+
+        final AtomicReferenceArray<ConfigResult<T>> results = new AtomicReferenceArray<>(files.size());
+        final AtomicInteger next = new AtomicInteger();
+        final Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < results.length()) {
+                results.set(i, loadFile(files.get(i)));
+            }
+        };
+
+        final int threads = Math.min(parallelism, files.size());
+        if (threads == 1) {
+            worker.run();
+        } else {
+            final ExecutorService pool = Executors.newFixedThreadPool(threads - 1, threadFactory());
+            try {
+                final List<Future<?>> futures = new ArrayList<>(threads - 1);
+                for (int t = 1; t < threads; t++) {
+                    futures.add(pool.submit(worker));
+                }
+                // the calling thread takes part, too
+                worker.run();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pool.shutdownNow();
+            } catch (ExecutionException e) {
+                // workers catch all failures of single files
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        final List<ConfigResult<T>> list = new ArrayList<>(results.length());
+        for (int i = 0; i < results.length(); i++) {
+            final ConfigResult<T> result = results.get(i);
+            list.add(result != null ? result
+                    : ConfigResult.failure(files.get(i), new InterruptedIOException("Interrupted before loading configuration file " + files.get(i))));
+        }
+        if (log.isInfoEnabled()) {
+            final long failed = list.stream().filter(result -> !result.isSuccess()).count();
+            log.info("Loaded {} configuration files in {} ms, {} failed", files.size(), (System.nanoTime() - start) / 1_000_000, failed);
+        }
+        return list;
+    }
+
+    private ConfigResult<T> loadFile(Path file) {
+        try {
+            final String path = file.toString();
+            if (ConfigFormatResolver.getShared().resolve(path) == null) {
+                return ConfigResult.failure(file, new ConfigException(path, Arrays.asList("Unknown configuration format of file: " + path)));
+            }
+            final ConfigFileParser<T> parser = ConfigFactory.getParser(path, klass);
+            final T config = parser.build(path);
+            parser.isValid(config);
+            return ConfigResult.success(file, config);
+        } catch (ConfigException | IOException | RuntimeException e) {
+            log.debug("Failed to load configuration file '{}'", file, e);
+            return ConfigResult.failure(file, e);
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        final int pool = POOL_IDS.incrementAndGet();
+        final AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "config-batch-" + pool + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.batch;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of loading one file of a batch: either the loaded config or the error that prevented loading it.
+ *
+ * @param <T> the configuration type
+ */
+public final class ConfigResult<T> {
+
+    private final Path path;
+    private final T config;
+    private final Exception error;
+
+    private ConfigResult(Path path, T config, Exception error) {
+        this.path = path;
+        this.config = config;
+        this.error = error;
+    }
+
+    static <T> ConfigResult<T> success(Path path, T config) {
+        return new ConfigResult<>(path, config, null);
+    }
+
+    static <T> ConfigResult<T> failure(Path path, Exception error) {
+        return new ConfigResult<>(path, null, error);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the loaded and validated config, {@code null} if loading failed
+     */
+    public T getConfig() {
+        return config;
+    }
+
+    /**
+     * @return the {@link com.github.cornerstonews.configuration.ConfigException}, {@link java.io.IOException} or runtime
+     *         exception loading the file failed with, {@code null} if it was loaded
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigResult[" + path + (error == null ? "" : ", error=" + error.getMessage()) + "]";
+    }
+}
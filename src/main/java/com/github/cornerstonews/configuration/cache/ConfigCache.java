@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.metrics.InstrumentationRegistry;
+import com.github.cornerstonews.configuration.parser.BeanCopier;
+import com.github.cornerstonews.configuration.parser.ConfigResolver;
+import com.github.cornerstonews.configuration.util.LruCache;
+
+/**
+ * Bounded cache of loaded configs, skipping the parsing of config files that did not change since they were loaded.
+ * <p>
+ * Entries are keyed by the canonical file path and the config type and are considered current as long as the size and
+ * modification time of the file are unchanged. Optionally a CRC32 checksum of the content is compared as well. As file
+ * systems may report modification times with a coarse granularity, an entry cached within
+ * {@link #MODIFICATION_TIME_GRANULARITY_MILLIS} of the file's last modification can not rely on the modification time
+ * and is only used when its checksum is verified. Configs including other files are only current as long as the
+ * included files are unchanged, too.
+ * <p>
+ * With {@code copyOnHit} every hit returns a fresh deep copy of the cached config, so callers may modify it. The copy is
+ * made field by field, keeping state Jackson would not serialize, such as write-only or ignored properties. Otherwise
+ * the cached instance itself is returned and has to be treated as read only.
+ */
+public class ConfigCache {
+
+    private static final Logger log = LogManager.getLogger(ConfigCache.class);
+
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    static final long MODIFICATION_TIME_GRANULARITY_MILLIS = 2000;
+
+    private static final String CACHE_NAME = "configs";
+
+    private final LruCache<Key, Entry> entries;
+    private final boolean copyOnHit;
+    private final boolean verifyContent;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEntries
+     *            the maximum number of cached configs, 0 disables caching
+     * @param copyOnHit
+     *            whether hits return a copy of the cached config
+     * @param verifyContent
+     *            whether the checksum of the file content is compared on every hit
+     */
+    public ConfigCache(int maxEntries, boolean copyOnHit, boolean verifyContent) {
+        this.entries = maxEntries > 0 ? new LruCache<>(maxEntries) : null;
+        this.copyOnHit = copyOnHit;
+        this.verifyContent = verifyContent;
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws ConfigException, IOException;
+    }
+
+    /**
+     * Returns the cached config of the file if the file did not change, otherwise loads and caches it.
+     *
+     * @param file
+     *            the config file
+     * @param type
+     *            the config type
+     * @param loader
+     *            loads the config from the file on a miss
+     * @return the config
+     */
+    public <T> T load(Path file, Class<T> type, Loader<T> loader) throws ConfigException, IOException {
+        if (entries == null) {
+            return loader.load();
+        }
+
+        final Path canonical;
+        final FileState before;
+        try {
+            canonical = file.toRealPath();
+            before = FileState.of(canonical);
+        } catch (IOException e) {
+            // let the loader report the missing or unreadable file
+            return loader.load();
+        }
+
+        final Key key = new Key(canonical, type);
+        final Entry cached = entries.get(key);
+        if (cached != null && isCurrent(cached, canonical, before)) {
+            final T config = copyOnHit ? copy(type.cast(cached.config), type) : type.cast(cached.config);
+            if (config != null) {
+                record(true);
+                return config;
+            }
+        }
+
+        record(false);
+        final long now = System.currentTimeMillis();
+        final long checksum = verifyContent || now - before.modifiedMillis < MODIFICATION_TIME_GRANULARITY_MILLIS ? checksum(canonical) : 0;
+        final T config = loader.load();
+        final FileState after = FileState.of(canonical);
+        // with copies handed out, the caller owns the loaded instance and a copy of it is cached
+        final T cachedConfig = copyOnHit ? copy(config, type) : config;
+        final Map<Path, FileState> includes = includedFileStates(file, now);
+        if (cachedConfig == null || includes == null) {
+            entries.remove(key);
+        } else if (before.equals(after)) {
+            entries.put(key, new Entry(cachedConfig, before, checksum, now, includes));
+        } else {
+            log.debug("Configuration file '{}' changed while it was loaded, not caching it", canonical);
+            entries.remove(key);
+        }
+        return config;
+    }
+
+    private boolean isCurrent(Entry entry, Path file, FileState state) throws IOException {
+        if (!entry.state.equals(state)) {
+            return false;
+        }
+        for (Map.Entry<Path, FileState> include : entry.includes.entrySet()) {
+            try {
+                if (!include.getValue().equals(FileState.of(include.getKey()))) {
+                    return false;
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        final boolean racy = entry.cachedAt - state.modifiedMillis < MODIFICATION_TIME_GRANULARITY_MILLIS;
+        if (!verifyContent && !racy) {
+            return true;
+        }
+        return entry.checksum != 0 && checksum(file) == entry.checksum;
+    }
+
+    /**
+     * @return the states of the files the config file included when it was loaded, {@code null} if one of them can not
+     *         be read or was modified too recently to rely on its modification time
+     */
+    private static Map<Path, FileState> includedFileStates(Path file, long now) {
+        final List<Path> included = ConfigResolver.getShared().getIncludedFiles(file);
+        if (included.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<Path, FileState> states = new HashMap<>();
+        for (Path path : included) {
+            try {
+                final FileState state = FileState.of(path);
+                if (now - state.modifiedMillis < MODIFICATION_TIME_GRANULARITY_MILLIS) {
+                    return null;
+                }
+                states.put(path, state);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return states;
+    }
+
+    private static <T> T copy(T config, Class<T> type) {
+        final T copy = BeanCopier.deepCopy(config);
+        if (copy == null && config != null) {
+            log.debug("Configuration of type '{}' can not be copied, reloading it", type.getName());
+        }
+        return copy;
+    }
+
+    private static long checksum(Path file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        // 0 marks a missing checksum
+        return crc.getValue() + 1;
+    }
+
+    private void record(boolean hit) {
+        (hit ? hits : misses).increment();
+        if (InstrumentationRegistry.isEnabled()) {
+            InstrumentationRegistry.get().cacheAccessed(CACHE_NAME, hit);
+        }
+    }
+
+    /**
+     * Drops all cached configs of the given file.
+     */
+    public void invalidate(Path file) throws IOException {
+        if (entries != null) {
+            final Path canonical = file.toRealPath();
+            entries.removeIf(key -> key.path.equals(canonical));
+        }
+    }
+
+    public void clear() {
+        if (entries != null) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        return entries == null ? 0 : entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the ratio of hits to all lookups, 0 if there were none
+     */
+    public double getHitRatio() {
+        final long h = hits.sum();
+        final long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigCache[size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+
+    private static final class FileState {
+        private final long size;
+        private final long modifiedMillis;
+        private final Object fileKey;
+
+        private FileState(long size, long modifiedMillis, Object fileKey) {
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+            this.fileKey = fileKey;
+        }
+
+        private static FileState of(Path file) throws IOException {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileState(attributes.size(), attributes.lastModifiedTime().toMillis(), attributes.fileKey());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FileState)) {
+                return false;
+            }
+            final FileState other = (FileState) obj;
+            return size == other.size && modifiedMillis == other.modifiedMillis && Objects.equals(fileKey, other.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) * 31 + Long.hashCode(modifiedMillis);
+        }
+    }
+
+    private static final class Key {
+        private final Path path;
+        private final Class<?> type;
+
+        private Key(Path path, Class<?> type) {
+            this.path = path;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return type == other.type && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return path.hashCode() * 31 + type.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        private final Object config;
+        private final FileState state;
+        private final long checksum;
+        private final long cachedAt;
+        private final Map<Path, FileState> includes;
+
+        private Entry(Object config, FileState state, long checksum, long cachedAt, Map<Path, FileState> includes) {
+            this.config = config;
+            this.state = state;
+            this.checksum = checksum;
+            this.cachedAt = cachedAt;
+            this.includes = includes;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a config class for which the {@code ConfigClassProcessor} generates a {@link GeneratedConfig}, binding it
+ * straight from parser tokens and checking its constraints without runtime reflection. The processor ships in the
+ * {@code cornerstone-config-processor} artifact and is added to the {@code annotationProcessorPaths} of the
+ * maven-compiler-plugin. Without it the annotation has no effect.
+ * <p>
+ * Config classes need a no-argument constructor and may hold {@code String}, primitive, wrapper, enum, nested
+ * {@code @ConfigClass}, {@code List} and {@code Map<String, ?>} properties, set through public fields or setters.
+ * Supported constraints are {@code @NotNull}, {@code @NotEmpty}, {@code @NotBlank}, {@code @Size}, {@code @Min},
+ * {@code @Max}, {@code @Positive}, {@code @PositiveOrZero}, {@code @Negative}, {@code @NegativeOrZero},
+ * {@code @Pattern}, {@code @AssertTrue}, {@code @AssertFalse} and {@code @Valid} with their default messages and
+ * groups. Classes using anything else are reported with a warning at compile time and keep being bound and validated
+ * through Jackson and Hibernate Validator.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConfigClass {
+}
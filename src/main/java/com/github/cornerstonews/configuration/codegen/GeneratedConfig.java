@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.codegen;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Binder and constraint checker generated for a {@link ConfigClass}. Implementations are stateless and thread-safe.
+ */
+public interface GeneratedConfig<T> {
+
+    Class<T> getType();
+
+    /**
+     * Binds the value the parser is positioned at, leaving the parser at its last token.
+     *
+     * @return the bound config, or {@code null} for a null value
+     */
+    T bind(JsonParser parser, boolean failOnUnknown) throws IOException;
+
+    /**
+     * Adds a {@code "<property path> <message>"} entry to {@code errors} for every constraint the config violates.
+     *
+     * @param path
+     *            the property path of the config, empty for the root object
+     */
+    void check(T config, String path, Set<String> errors);
+}
@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.codegen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+/**
+ * Looks up the {@link GeneratedConfig} of config classes and holds the support methods the generated code calls.
+ * <p>
+ * Values are coerced the way Jackson does by default, e.g. numbers from strings and strings from scalars, and
+ * constraint violations are reported with the default English messages of Hibernate Validator. Customizations
+ * registered through {@code ValidatorProvider.configure} do not apply to generated checkers. Generated code can be
+ * turned off with the {@value #ENABLED_PROPERTY} system property set to {@code false}.
+ */
+public final class GeneratedConfigs {
+
+    private static final Logger log = LogManager.getLogger(GeneratedConfigs.class);
+
+    public static final String ENABLED_PROPERTY = "cornerstone.config.generatedBinders";
+    public static final String BINDER_SUFFIX = "_ConfigBinder";
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+    private static final ClassValue<GeneratedConfig<?>> BINDERS = new ClassValue<GeneratedConfig<?>>() {
+        @Override
+        protected GeneratedConfig<?> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private GeneratedConfigs() {
+    }
+
+    /**
+     * @return the generated binder of the config class, {@code null} if it has none or generated code is disabled
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> GeneratedConfig<T> find(Class<T> type) {
+        if (!ENABLED || type == null) {
+            return null;
+        }
+        return (GeneratedConfig<T>) BINDERS.get(type);
+    }
+
+    /**
+     * @return the name of the class generated for the config class, in the same package with nested class names
+     *         joined by {@code _}
+     */
+    public static String binderName(String binaryName) {
+        final int dot = binaryName.lastIndexOf('.');
+        return binaryName.substring(0, dot + 1) + binaryName.substring(dot + 1).replace('$', '_') + BINDER_SUFFIX;
+    }
+
+    private static GeneratedConfig<?> load(Class<?> type) {
+        if (!type.isAnnotationPresent(ConfigClass.class)) {
+            return null;
+        }
+        try {
+            final Class<?> binder = Class.forName(binderName(type.getName()), true, type.getClassLoader());
+            final GeneratedConfig<?> config = (GeneratedConfig<?>) binder.getDeclaredConstructor().newInstance();
+            log.debug("Using generated binder '{}' for config class '{}'", binder.getName(), type.getName());
+            return config;
+        } catch (ClassNotFoundException e) {
+            log.debug("No generated binder found for config class '{}', binding it through reflection", type.getName());
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            log.warn("Generated binder of config class '{}' can not be used, binding it through reflection", type.getName(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Binds a whole document, the parser may or may not have been advanced to its first token.
+     */
+    public static <T> T readValue(GeneratedConfig<T> binder, JsonParser p, boolean failOnUnknown) throws IOException {
+        if (!p.hasCurrentToken() && p.nextToken() == null) {
+            throw MismatchedInputException.from(p, binder.getType(), "No content to map due to end-of-input");
+        }
+        return binder.bind(p, failOnUnknown);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void check(GeneratedConfig<T> checker, Object config, String path, Set<String> errors) {
+        checker.check((T) config, path == null ? "" : path, errors);
+    }
+
+    // Binding support
+
+    @FunctionalInterface
+    public interface ValueReader<V> {
+        V read(JsonParser p) throws IOException;
+    }
+
+    public static void expectObject(JsonParser p, Class<?> type) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw mismatch(p, type);
+        }
+    }
+
+    public static void unknown(JsonParser p, Object bean, String name, Collection<Object> properties, boolean failOnUnknown) throws IOException {
+        if (failOnUnknown) {
+            throw UnrecognizedPropertyException.from(p, bean, name, properties);
+        }
+        p.skipChildren();
+    }
+
+    public static List<Object> properties(String... names) {
+        return new ArrayList<Object>(Arrays.asList(names));
+    }
+
+    public static String readString(JsonParser p) throws IOException {
+        final JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != null && token.isScalarValue()) {
+            return p.getText();
+        }
+        throw mismatch(p, String.class);
+    }
+
+    public static boolean readBoolean(JsonParser p) throws IOException {
+        switch (p.currentTokenId()) {
+        case JsonTokenId.ID_TRUE:
+            return true;
+        case JsonTokenId.ID_FALSE:
+        case JsonTokenId.ID_NULL:
+            return false;
+        case JsonTokenId.ID_NUMBER_INT:
+            return p.getIntValue() != 0;
+        case JsonTokenId.ID_STRING:
+            final String text = p.getText().trim();
+            if ("true".equalsIgnoreCase(text)) {
+                return true;
+            }
+            if ("false".equalsIgnoreCase(text) || text.isEmpty()) {
+                return false;
+            }
+            throw invalid(p, text, boolean.class);
+        default:
+            throw mismatch(p, boolean.class);
+        }
+    }
+
+    public static Boolean readBooleanObject(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : readBoolean(p);
+    }
+
+    public static short readShort(JsonParser p) throws IOException {
+        final long value = readLong(p, short.class);
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw invalid(p, p.getText(), short.class);
+        }
+        return (short) value;
+    }
+
+    public static Short readShortObject(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : readShort(p);
+    }
+
+    public static int readInt(JsonParser p) throws IOException {
+        final long value = readLong(p, int.class);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalid(p, p.getText(), int.class);
+        }
+        return (int) value;
+    }
+
+    public static Integer readIntObject(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : readInt(p);
+    }
+
+    public static long readLong(JsonParser p) throws IOException {
+        return readLong(p, long.class);
+    }
+
+    public static Long readLongObject(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : readLong(p);
+    }
+
+    private static long readLong(JsonParser p, Class<?> type) throws IOException {
+        switch (p.currentTokenId()) {
+        case JsonTokenId.ID_NUMBER_INT:
+            return p.getLongValue();
+        case JsonTokenId.ID_NUMBER_FLOAT:
+            return p.getValueAsLong();
+        case JsonTokenId.ID_NULL:
+            return 0L;
+        case JsonTokenId.ID_STRING:
+            final String text = p.getText().trim();
+            if (text.isEmpty()) {
+                return 0L;
+            }
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                throw invalid(p, text, type);
+            }
+        default:
+            throw mismatch(p, type);
+        }
+    }
+
+    public static float readFloat(JsonParser p) throws IOException {
+        return (float) readDouble(p, float.class);
+    }
+
+    public static Float readFloatObject(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : readFloat(p);
+    }
+
+    public static double readDouble(JsonParser p) throws IOException {
+        return readDouble(p, double.class);
+    }
+
+    public static Double readDoubleObject(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : readDouble(p);
+    }
+
+    private static double readDouble(JsonParser p, Class<?> type) throws IOException {
+        switch (p.currentTokenId()) {
+        case JsonTokenId.ID_NUMBER_INT:
+        case JsonTokenId.ID_NUMBER_FLOAT:
+            return p.getDoubleValue();
+        case JsonTokenId.ID_NULL:
+            return 0d;
+        case JsonTokenId.ID_STRING:
+            final String text = p.getText().trim();
+            if (text.isEmpty()) {
+                return 0d;
+            }
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw invalid(p, text, type);
+            }
+        default:
+            throw mismatch(p, type);
+        }
+    }
+
+    public static <E extends Enum<E>> E readEnum(JsonParser p, Class<E> type) throws IOException {
+        switch (p.currentTokenId()) {
+        case JsonTokenId.ID_NULL:
+            return null;
+        case JsonTokenId.ID_STRING:
+            final String text = p.getText();
+            try {
+                return Enum.valueOf(type, text);
+            } catch (IllegalArgumentException e) {
+                throw InvalidFormatException.from(p, "Cannot deserialize value of type `" + type.getName() + "` from String \"" + text
+                        + "\": not one of the values accepted for Enum class: " + Arrays.toString(type.getEnumConstants()), text, type);
+            }
+        case JsonTokenId.ID_NUMBER_INT:
+            final int index = p.getIntValue();
+            final E[] constants = type.getEnumConstants();
+            if (index >= 0 && index < constants.length) {
+                return constants[index];
+            }
+            throw InvalidFormatException.from(p, "Cannot deserialize value of type `" + type.getName() + "` from number " + index
+                    + ": index value outside legal index range [0.." + (constants.length - 1) + "]", index, type);
+        default:
+            throw mismatch(p, type);
+        }
+    }
+
+    public static <E> ArrayList<E> readList(JsonParser p, ValueReader<E> reader) throws IOException {
+        final JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw mismatch(p, List.class);
+        }
+        final ArrayList<E> list = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            try {
+                list.add(reader.read(p));
+            } catch (JsonMappingException e) {
+                throw JsonMappingException.wrapWithPath(e, list, list.size());
+            }
+        }
+        return list;
+    }
+
+    public static <V> LinkedHashMap<String, V> readMap(JsonParser p, ValueReader<V> reader) throws IOException {
+        final JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw mismatch(p, Map.class);
+        }
+        final LinkedHashMap<String, V> map = new LinkedHashMap<>();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = p.currentName();
+            p.nextToken();
+            try {
+                map.put(key, reader.read(p));
+            } catch (JsonMappingException e) {
+                throw JsonMappingException.wrapWithPath(e, map, key);
+            }
+        }
+        return map;
+    }
+
+    private static MismatchedInputException mismatch(JsonParser p, Class<?> type) {
+        return MismatchedInputException.from(p, type,
+                "Cannot deserialize value of type `" + type.getName() + "` from " + describe(p.currentToken()));
+    }
+
+    private static InvalidFormatException invalid(JsonParser p, String text, Class<?> type) {
+        return InvalidFormatException.from(p, "Cannot deserialize value of type `" + type.getName() + "` from String \"" + text + "\": not a valid `"
+                + type.getName() + "` value", text, type);
+    }
+
+    private static String describe(JsonToken token) {
+        if (token == null) {
+            return "end-of-input";
+        }
+        switch (token) {
+        case START_OBJECT:
+        case FIELD_NAME:
+            return "Object value";
+        case START_ARRAY:
+            return "Array value";
+        case VALUE_STRING:
+            return "String value";
+        case VALUE_NUMBER_INT:
+            return "Integer value";
+        case VALUE_NUMBER_FLOAT:
+            return "Floating-point value";
+        case VALUE_TRUE:
+        case VALUE_FALSE:
+            return "Boolean value";
+        default:
+            return token.toString();
+        }
+    }
+
+    // Constraint support, with the default messages of Hibernate Validator
+
+    public static String path(String path, String name) {
+        return path.isEmpty() ? name : path + "." + name;
+    }
+
+    private static void violation(Set<String> errors, String path, String name, String message) {
+        errors.add(path(path, name) + " " + message);
+    }
+
+    public static void notNull(Object value, String path, String name, Set<String> errors) {
+        if (value == null) {
+            violation(errors, path, name, "must not be null");
+        }
+    }
+
+    public static void notEmpty(Object value, String path, String name, Set<String> errors) {
+        if (value == null || size(value) == 0) {
+            violation(errors, path, name, "must not be empty");
+        }
+    }
+
+    public static void notBlank(CharSequence value, String path, String name, Set<String> errors) {
+        if (value == null || value.toString().trim().isEmpty()) {
+            violation(errors, path, name, "must not be blank");
+        }
+    }
+
+    public static void size(Object value, int min, int max, String path, String name, Set<String> errors) {
+        if (value != null) {
+            final int size = size(value);
+            if (size < min || size > max) {
+                violation(errors, path, name, "size must be between " + min + " and " + max);
+            }
+        }
+    }
+
+    private static int size(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        return ((Map<?, ?>) value).size();
+    }
+
+    public static void min(Number value, long min, String path, String name, Set<String> errors) {
+        if (value != null && compare(value, min) < 0) {
+            violation(errors, path, name, "must be greater than or equal to " + min);
+        }
+    }
+
+    public static void max(Number value, long max, String path, String name, Set<String> errors) {
+        if (value != null && compare(value, max) > 0) {
+            violation(errors, path, name, "must be less than or equal to " + max);
+        }
+    }
+
+    public static void positive(Number value, boolean orZero, String path, String name, Set<String> errors) {
+        if (value != null && (orZero ? compare(value, 0) < 0 : compare(value, 0) <= 0)) {
+            violation(errors, path, name, orZero ? "must be greater than or equal to 0" : "must be greater than 0");
+        }
+    }
+
+    public static void negative(Number value, boolean orZero, String path, String name, Set<String> errors) {
+        if (value != null && (orZero ? compare(value, 0) > 0 : compare(value, 0) >= 0)) {
+            violation(errors, path, name, orZero ? "must be less than or equal to 0" : "must be less than 0");
+        }
+    }
+
+    private static int compare(Number value, long bound) {
+        if (value instanceof Double || value instanceof Float) {
+            return Double.compare(value.doubleValue(), bound);
+        }
+        return Long.compare(value.longValue(), bound);
+    }
+
+    public static void pattern(CharSequence value, Pattern pattern, String path, String name, Set<String> errors) {
+        if (value != null && !pattern.matcher(value).matches()) {
+            violation(errors, path, name, "must match \"" + pattern.pattern() + "\"");
+        }
+    }
+
+    public static void assertTrue(Boolean value, String path, String name, Set<String> errors) {
+        if (value != null && !value) {
+            violation(errors, path, name, "must be true");
+        }
+    }
+
+    public static void assertFalse(Boolean value, String path, String name, Set<String> errors) {
+        if (value != null && value) {
+            violation(errors, path, name, "must be false");
+        }
+    }
+
+    public static <E> void checkEach(Collection<? extends E> values, GeneratedConfig<E> checker, String path, String name, Set<String> errors) {
+        if (values != null) {
+            int i = 0;
+            for (E value : values) {
+                if (value != null) {
+                    checker.check(value, path(path, name) + "[" + i + "]", errors);
+                }
+                i++;
+            }
+        }
+    }
+
+    public static <E> void checkEach(Map<String, ? extends E> values, GeneratedConfig<E> checker, String path, String name, Set<String> errors) {
+        if (values != null) {
+            for (Map.Entry<String, ? extends E> entry : values.entrySet()) {
+                if (entry.getValue() != null) {
+                    checker.check(entry.getValue(), path(path, name) + "[" + entry.getKey() + "]", errors);
+                }
+            }
+        }
+    }
+}
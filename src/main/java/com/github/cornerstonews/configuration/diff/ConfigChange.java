@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.diff;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A single difference between two configurations, located by the JSON pointer of the changed value.
+ */
+public final class ConfigChange {
+
+    public enum Type {
+        ADDED, REMOVED, MODIFIED
+    }
+
+    private final String path;
+    private final Type type;
+    private final JsonNode oldValue;
+    private final JsonNode newValue;
+
+    public ConfigChange(String path, Type type, JsonNode oldValue, JsonNode newValue) {
+        this.path = Objects.requireNonNull(path, "path");
+        this.type = Objects.requireNonNull(type, "type");
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * @return the JSON pointer of the changed value, e.g. {@code /db/pool/maxSize}, empty for the root
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the previous value, {@code null} if it was added
+     */
+    public JsonNode getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * @return the new value, {@code null} if it was removed
+     */
+    public JsonNode getNewValue() {
+        return newValue;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ConfigChange)) {
+            return false;
+        }
+        final ConfigChange other = (ConfigChange) obj;
+        return path.equals(other.path) && type == other.type && Objects.equals(oldValue, other.oldValue) && Objects.equals(newValue, other.newValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, type, oldValue, newValue);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + path + ": " + oldValue + " -> " + newValue;
+    }
+}
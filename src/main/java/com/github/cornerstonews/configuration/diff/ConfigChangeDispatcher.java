@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.diff;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Hands the changes of a configuration to the {@link PathSubscriber}s registered for the affected path prefixes, so
+ * components can rebuild only what depends on the changed section.
+ * <p>
+ * A subscriber for {@code /db} receives changes at {@code /db} and below it, and also the change of a parent such as
+ * the root when the whole {@code /db} section was replaced with it. Subscribers are called once per dispatch with all
+ * changes matching their prefix; failing subscribers are logged and do not keep the others from being notified.
+ */
+public class ConfigChangeDispatcher {
+
+    private static final Logger log = LogManager.getLogger(ConfigChangeDispatcher.class);
+
+    private final ConcurrentNavigableMap<String, List<PathSubscriber>> subscribers = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param pathPrefix
+     *            JSON pointer of the section, e.g. {@code /db/pool}, empty for the whole configuration
+     */
+    public void subscribe(String pathPrefix, PathSubscriber subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscribers.computeIfAbsent(normalize(pathPrefix), p -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    public void unsubscribe(String pathPrefix, PathSubscriber subscriber) {
+        final List<PathSubscriber> registered = subscribers.get(normalize(pathPrefix));
+        if (registered != null) {
+            registered.remove(subscriber);
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return subscribers.values().stream().anyMatch(list -> !list.isEmpty());
+    }
+
+    public void dispatch(List<ConfigChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        final Map<String, List<ConfigChange>> matched = new LinkedHashMap<>();
+        for (ConfigChange change : changes) {
+            // subscribed at the changed path or one of its parents
+            String path = change.getPath();
+            while (true) {
+                if (subscribers.containsKey(path)) {
+                    matched.computeIfAbsent(path, p -> new ArrayList<>()).add(change);
+                }
+                if (path.isEmpty()) {
+                    break;
+                }
+                path = path.substring(0, path.lastIndexOf('/'));
+            }
+            // subscribed below the changed path, '0' sorts right after '/'
+            for (String prefix : subscribers.subMap(change.getPath() + "/", change.getPath() + "0").keySet()) {
+                matched.computeIfAbsent(prefix, p -> new ArrayList<>()).add(change);
+            }
+        }
+
+        for (Map.Entry<String, List<ConfigChange>> entry : matched.entrySet()) {
+            for (PathSubscriber subscriber : subscribers.get(entry.getKey())) {
+                try {
+                    subscriber.onChange(entry.getValue());
+                } catch (RuntimeException e) {
+                    log.error("Config change subscriber for '{}' failed", entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String pathPrefix) {
+        Objects.requireNonNull(pathPrefix, "pathPrefix");
+        if (!pathPrefix.isEmpty() && pathPrefix.charAt(0) != '/') {
+            throw new IllegalArgumentException("Path prefix has to be a JSON pointer starting with '/': " + pathPrefix);
+        }
+        return pathPrefix.endsWith("/") ? pathPrefix.substring(0, pathPrefix.length() - 1) : pathPrefix;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.github.cornerstonews.configuration.parser.ConfigFormat;
+import com.github.cornerstonews.configuration.parser.ObjectReaderRegistry;
+
+/**
+ * Compares two configurations and lists what changed between them as {@link ConfigChange}s located by JSON pointer.
+ * <p>
+ * Bound configurations are compared through their trees, so paths follow the property names of the config file.
+ * Objects are compared field by field and arrays index by index, without trying to align moved elements. A value that
+ * changed its type, or a whole section that was added or removed, is reported as a single change of that section.
+ * Comparing {@link HashedTree}s skips every object and array whose hash is the same in both trees.
+ */
+public class ConfigDiff {
+
+    private static final ConfigDiff SHARED = new ConfigDiff(ObjectReaderRegistry.getShared().getMapper(ConfigFormat.JSON, false));
+
+    private final ObjectMapper mapper;
+
+    /**
+     * @param mapper
+     *            the mapper turning bound configurations into trees
+     */
+    public ConfigDiff(ObjectMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    public static ConfigDiff getShared() {
+        return SHARED;
+    }
+
+    public JsonNode toTree(Object config) {
+        return mapper.valueToTree(config);
+    }
+
+    public List<ConfigChange> diff(Object previous, Object current) {
+        return diff(toTree(previous), toTree(current));
+    }
+
+    public List<ConfigChange> diff(JsonNode previous, JsonNode current) {
+        return new Walk(null, null).run(previous, current);
+    }
+
+    public List<ConfigChange> diff(HashedTree previous, HashedTree current) {
+        return new Walk(previous, current).run(previous.getRoot(), current.getRoot());
+    }
+
+    private static final class Walk {
+        private final HashedTree previousTree;
+        private final HashedTree currentTree;
+        private final List<ConfigChange> changes = new ArrayList<>();
+        // path segments of the compared node, a field name or an array index, only joined when a change is found
+        private String[] names = new String[16];
+        private int[] indexes = new int[16];
+        private int depth;
+
+        private Walk(HashedTree previousTree, HashedTree currentTree) {
+            this.previousTree = previousTree;
+            this.currentTree = currentTree;
+        }
+
+        private List<ConfigChange> run(JsonNode previous, JsonNode current) {
+            compare(nullToMissing(previous), nullToMissing(current));
+            return changes;
+        }
+
+        private void compare(JsonNode previous, JsonNode current) {
+            if (previous == current) {
+                return;
+            }
+            if (previous.getNodeType() != current.getNodeType()) {
+                if (previous.isMissingNode()) {
+                    add(ConfigChange.Type.ADDED, null, current);
+                } else if (current.isMissingNode()) {
+                    add(ConfigChange.Type.REMOVED, previous, null);
+                } else {
+                    add(ConfigChange.Type.MODIFIED, previous, current);
+                }
+                return;
+            }
+            if (!previous.isContainerNode()) {
+                if (!previous.equals(current)) {
+                    add(ConfigChange.Type.MODIFIED, previous, current);
+                }
+                return;
+            }
+            if (sameHash(previous, current)) {
+                return;
+            }
+            if (previous.isObject()) {
+                compareObjects(previous, current);
+            } else {
+                compareArrays(previous, current);
+            }
+        }
+
+        private boolean sameHash(JsonNode previous, JsonNode current) {
+            if (previousTree == null) {
+                return false;
+            }
+            final Long previousHash = previousTree.hashOf(previous);
+            return previousHash != null && previousHash.equals(currentTree.hashOf(current));
+        }
+
+        private void compareObjects(JsonNode previous, JsonNode current) {
+            push();
+            for (Iterator<Map.Entry<String, JsonNode>> it = previous.fields(); it.hasNext();) {
+                final Map.Entry<String, JsonNode> field = it.next();
+                names[depth - 1] = field.getKey();
+                compare(field.getValue(), current.path(field.getKey()));
+            }
+            if (current.size() != previous.size() || hasAddedFields(previous, current)) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = current.fields(); it.hasNext();) {
+                    final Map.Entry<String, JsonNode> field = it.next();
+                    if (!previous.has(field.getKey())) {
+                        names[depth - 1] = field.getKey();
+                        add(ConfigChange.Type.ADDED, null, field.getValue());
+                    }
+                }
+            }
+            depth--;
+        }
+
+        /**
+         * Objects of the same size only have added fields if some of their fields were removed.
+         */
+        private boolean hasAddedFields(JsonNode previous, JsonNode current) {
+            for (Iterator<String> it = previous.fieldNames(); it.hasNext();) {
+                if (!current.has(it.next())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void compareArrays(JsonNode previous, JsonNode current) {
+            push();
+            names[depth - 1] = null;
+            final int size = Math.max(previous.size(), current.size());
+            for (int i = 0; i < size; i++) {
+                indexes[depth - 1] = i;
+                compare(previous.path(i), current.path(i));
+            }
+            depth--;
+        }
+
+        private void push() {
+            if (depth == names.length) {
+                names = Arrays.copyOf(names, depth * 2);
+                indexes = Arrays.copyOf(indexes, depth * 2);
+            }
+            depth++;
+        }
+
+        private void add(ConfigChange.Type type, JsonNode oldValue, JsonNode newValue) {
+            changes.add(new ConfigChange(path(), type, oldValue, newValue));
+        }
+
+        private String path() {
+            final StringBuilder path = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                path.append('/');
+                final String name = names[i];
+                if (name == null) {
+                    path.append(indexes[i]);
+                    continue;
+                }
+                for (int c = 0; c < name.length(); c++) {
+                    final char ch = name.charAt(c);
+                    if (ch == '~') {
+                        path.append("~0");
+                    } else if (ch == '/') {
+                        path.append("~1");
+                    } else {
+                        path.append(ch);
+                    }
+                }
+            }
+            return path.toString();
+        }
+
+        private static JsonNode nullToMissing(JsonNode node) {
+            return node == null ? MissingNode.getInstance() : node;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.diff;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A configuration tree with a 64 bit hash computed once for each of its objects and arrays, letting {@link ConfigDiff}
+ * skip subtrees that did not change without looking into them.
+ * <p>
+ * Keep the tree of the current configuration around to compare the next one against it, only the new tree has to be
+ * hashed then. Subtrees with equal hashes are taken to be equal. Hashes are kept for subtrees of at least
+ * {@value #MIN_HASHED_NODES} nodes. The wrapped tree must not be modified.
+ */
+public final class HashedTree {
+
+    private static final long NULL_HASH = 0x6A09E667F3BCC908L;
+    private static final long TRUE_HASH = 0xBB67AE8584CAA73BL;
+    private static final long FALSE_HASH = 0x3C6EF372FE94F82BL;
+    private static final long OBJECT_SEED = 0xA54FF53A5F1D36F1L;
+    private static final long ARRAY_SEED = 0x510E527FADE682D1L;
+
+    /**
+     * Smaller objects and arrays are cheaper to compare than to look up, their hashes are not kept.
+     */
+    static final int MIN_HASHED_NODES = 8;
+
+    private final JsonNode root;
+    private final Map<JsonNode, Long> hashes = new IdentityHashMap<>();
+    private final long hash;
+    private int nodes;
+
+    private HashedTree(JsonNode root) {
+        this.root = Objects.requireNonNull(root, "root");
+        this.hash = hash(root);
+    }
+
+    public static HashedTree of(JsonNode root) {
+        return new HashedTree(root);
+    }
+
+    public JsonNode getRoot() {
+        return root;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return the hash of an object or array of this tree, {@code null} if the node is not a container of this tree
+     */
+    Long hashOf(JsonNode container) {
+        return hashes.get(container);
+    }
+
+    private long hash(JsonNode node) {
+        nodes++;
+        switch (node.getNodeType()) {
+        case OBJECT: {
+            final int start = nodes;
+            long h = OBJECT_SEED;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
+                final Map.Entry<String, JsonNode> field = it.next();
+                h = mix(h ^ hash(field.getKey()));
+                h = mix(h ^ hash(field.getValue()));
+            }
+            return keep(node, h, start);
+        }
+        case ARRAY: {
+            final int start = nodes;
+            long h = ARRAY_SEED;
+            for (int i = 0; i < node.size(); i++) {
+                h = mix(h ^ hash(node.get(i)));
+            }
+            return keep(node, h, start);
+        }
+        case STRING:
+            return mix(hash(node.textValue()));
+        case NUMBER:
+            if (node.isIntegralNumber() && node.canConvertToLong()) {
+                return mix(node.longValue() ^ 0x1F83D9ABFB41BD6BL);
+            }
+            return mix(Double.doubleToLongBits(node.doubleValue()) ^ 0x5BE0CD19137E2179L);
+        case BOOLEAN:
+            return node.booleanValue() ? TRUE_HASH : FALSE_HASH;
+        case NULL:
+        case MISSING:
+            return NULL_HASH;
+        default:
+            return mix(node.hashCode());
+        }
+    }
+
+    private long keep(JsonNode container, long h, int start) {
+        if (nodes - start + 1 >= MIN_HASHED_NODES) {
+            hashes.put(container, h);
+        }
+        return h;
+    }
+
+    private static long hash(String text) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            h = (h ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.location;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the first of the resources on the class path of the thread context class loader.
+ */
+public class ClasspathLocator implements ConfigLocator {
+
+    static final String[] DEFAULT_RESOURCES = { "application.yaml", "application.yml", "application.json" };
+
+    private final List<String> resources;
+
+    public ClasspathLocator() {
+        this(Arrays.asList(DEFAULT_RESOURCES));
+    }
+
+    public ClasspathLocator(List<String> resources) {
+        this.resources = Collections.unmodifiableList(new ArrayList<>(resources));
+    }
+
+    @Override
+    public ConfigLocation locate() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClasspathLocator.class.getClassLoader();
+        }
+        for (String resource : resources) {
+            final URL url = classLoader.getResource(resource);
+            if (url != null && !url.getFile().isEmpty()) {
+                return new ConfigLocation(url.getFile(), "classpath '" + resource + "'");
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "classpath " + resources;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.ConfigException;
+
+/**
+ * Resolves the location of the configuration file by asking a chain of {@link ConfigLocator}s in order, the first one
+ * finding a location wins.
+ * <p>
+ * The chain is only walked once, the outcome including not finding any location is kept until {@link #invalidate()}
+ * is called, e.g. after the system property or JNDI entry pointing to the file changed. Failures of a locator are not
+ * kept, the next call walks the chain again.
+ */
+public class ConfigPathResolver {
+
+    private static final Logger log = LogManager.getLogger(ConfigPathResolver.class);
+
+    private static final ConfigLocation NOT_FOUND = new ConfigLocation("", "none");
+
+    private final List<ConfigLocator> locators;
+    private volatile ConfigLocation location;
+
+    public ConfigPathResolver(List<? extends ConfigLocator> locators) {
+        this.locators = Collections.unmodifiableList(new ArrayList<>(locators));
+    }
+
+    /**
+     * @return the chain {@link com.github.cornerstonews.configuration.ConfigFactory#getConfigPath(String)} uses: the
+     *         system property if it names a readable file, the {@code APPCONFIG} JNDI entry and the
+     *         {@code application.yaml}, {@code application.yml} or {@code application.json} class path resource
+     */
+    public static ConfigPathResolver defaults(String propertyKey) {
+        final List<ConfigLocator> locators = new ArrayList<>();
+        if (propertyKey != null) {
+            locators.add(new SystemPropertyLocator(propertyKey));
+        }
+        locators.addAll(Arrays.asList(new JndiLocator(), new ClasspathLocator()));
+        return new ConfigPathResolver(locators);
+    }
+
+    public List<ConfigLocator> getLocators() {
+        return locators;
+    }
+
+    /**
+     * @return the location found by the first locator of the chain that found one, {@code null} if none did
+     */
+    public ConfigLocation resolve() throws ConfigException {
+        ConfigLocation current = location;
+        if (current == null) {
+            synchronized (this) {
+                current = location;
+                if (current == null) {
+                    current = locate();
+                    location = current;
+                }
+            }
+        }
+        return current == NOT_FOUND ? null : current;
+    }
+
+    /**
+     * @return the resolved path, {@code null} if no locator found one
+     */
+    public String getPath() throws ConfigException {
+        final ConfigLocation resolved = resolve();
+        return resolved == null ? null : resolved.getPath();
+    }
+
+    /**
+     * Forgets the resolved location, the next call walks the chain again.
+     */
+    public void invalidate() {
+        location = null;
+    }
+
+    private ConfigLocation locate() throws ConfigException {
+        for (ConfigLocator locator : locators) {
+            final ConfigLocation found = locator.locate();
+            if (found != null) {
+                log.info("Using configuration file '{}' from {}", found.getPath(), found.getSource());
+                return found;
+            }
+        }
+        log.info("No configuration file found in {}", locators);
+        return NOT_FOUND;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.location;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Takes the path from an environment variable, if it names a readable file.
+ */
+public class EnvironmentLocator implements ConfigLocator {
+
+    private final String variable;
+    private final Map<String, String> env;
+
+    public EnvironmentLocator(String variable) {
+        this(variable, System.getenv());
+    }
+
+    /**
+     * @param env
+     *            the environment to read the variable from
+     */
+    public EnvironmentLocator(String variable, Map<String, String> env) {
+        this.variable = Objects.requireNonNull(variable, "variable");
+        this.env = Objects.requireNonNull(env, "env");
+    }
+
+    @Override
+    public ConfigLocation locate() {
+        final String path = env.get(variable);
+        final Path file = path == null ? null : FileSystemLocator.toPath(path);
+        if (file != null && FileSystemLocator.isReadableFile(file)) {
+            return new ConfigLocation(path, "environment variable '" + variable + "'");
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "environment variable '" + variable + "'";
+    }
+}
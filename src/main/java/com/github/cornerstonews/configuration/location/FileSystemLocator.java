@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.location;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the first of the file names that is a readable file in one of the directories, searched in order.
+ */
+public class FileSystemLocator implements ConfigLocator {
+
+    private final List<Path> directories;
+    private final List<String> fileNames;
+
+    public FileSystemLocator(List<Path> directories, List<String> fileNames) {
+        this.directories = Collections.unmodifiableList(new ArrayList<>(directories));
+        this.fileNames = Collections.unmodifiableList(new ArrayList<>(fileNames));
+    }
+
+    public FileSystemLocator(List<Path> directories) {
+        this(directories, Arrays.asList(ClasspathLocator.DEFAULT_RESOURCES));
+    }
+
+    @Override
+    public ConfigLocation locate() {
+        for (Path directory : directories) {
+            for (String fileName : fileNames) {
+                final Path file = directory.resolve(fileName);
+                if (isReadableFile(file)) {
+                    return new ConfigLocation(file.toString(), "file '" + file + "'");
+                }
+            }
+        }
+        return null;
+    }
+
+    static boolean isReadableFile(Path file) {
+        return Files.isReadable(file) && Files.isRegularFile(file);
+    }
+
+    static Path toPath(String path) {
+        try {
+            return Paths.get(path);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "file system " + directories + " " + fileNames;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.location;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import javax.naming.NoInitialContextException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.ConfigException;
+
+/**
+ * Takes the path from a JNDI environment entry, e.g. {@code APPCONFIG} within {@code java:comp/env}.
+ */
+public class JndiLocator implements ConfigLocator {
+
+    private static final Logger log = LogManager.getLogger(JndiLocator.class);
+
+    public static final String DEFAULT_CONTEXT = "java:comp/env";
+    public static final String DEFAULT_NAME = "APPCONFIG";
+
+    private final String contextName;
+    private final String name;
+
+    public JndiLocator() {
+        this(DEFAULT_CONTEXT, DEFAULT_NAME);
+    }
+
+    public JndiLocator(String contextName, String name) {
+        this.contextName = Objects.requireNonNull(contextName, "contextName");
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    @Override
+    public ConfigLocation locate() throws ConfigException {
+        try {
+            final Context env = (Context) new InitialContext().lookup(contextName);
+            final String path = (String) env.lookup(name);
+            if (path != null && !path.isEmpty()) {
+                return new ConfigLocation(path, "JNDI '" + contextName + "/" + name + "'");
+            }
+        } catch (NameNotFoundException | NoInitialContextException e) {
+            log.info("'{}' property not found.", name);
+            // Ignore error if the entry or a naming context is not available.
+        } catch (NamingException ex) {
+            ArrayList<String> errors = new ArrayList<>();
+            errors.add(ex.getMessage());
+            throw new ConfigException("Environment variable '" + name + "'", errors, ex);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "JNDI '" + contextName + "/" + name + "'";
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.location;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Takes the path from a system property, if it names a readable file.
+ */
+public class SystemPropertyLocator implements ConfigLocator {
+
+    private final String propertyKey;
+
+    public SystemPropertyLocator(String propertyKey) {
+        this.propertyKey = Objects.requireNonNull(propertyKey, "propertyKey");
+    }
+
+    @Override
+    public ConfigLocation locate() {
+        final String path = System.getProperty(propertyKey);
+        final Path file = path == null ? null : FileSystemLocator.toPath(path);
+        if (file != null && FileSystemLocator.isReadableFile(file)) {
+            return new ConfigLocation(path, "system property '" + propertyKey + "'");
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "system property '" + propertyKey + "'";
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.metrics;
+
+/**
+ * Receives timings and counters while configurations are loaded. All methods do nothing by default, implementations
+ * override the ones they are interested in. Implementations are called concurrently and must be thread-safe.
+ * <p>
+ * Register an implementation with {@link InstrumentationRegistry#set(ConfigInstrumentation)}.
+ */
+public interface ConfigInstrumentation {
+
+    ConfigInstrumentation NOOP = new ConfigInstrumentation() {
+    };
+
+    /**
+     * @param source
+     *            the config file, {@code null} if the configuration does not come from a file
+     * @param phase
+     *            the completed phase
+     * @param nanos
+     *            time spent in the phase
+     */
+    default void phaseCompleted(String source, ConfigPhase phase, long nanos) {
+    }
+
+    default void bytesRead(String source, long bytes) {
+    }
+
+    /**
+     * @param nodes
+     *            number of scalar values, objects and lists parsed
+     */
+    default void nodesParsed(String source, long nodes) {
+    }
+
+    default void validated(String source, int violations) {
+    }
+
+    /**
+     * @param cache
+     *            name of the cache, e.g. {@code readers}
+     * @param hit
+     *            whether the value was found in the cache
+     */
+    default void cacheAccessed(String cache, boolean hit) {
+    }
+}
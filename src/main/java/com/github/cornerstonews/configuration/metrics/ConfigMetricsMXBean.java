@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing configuration load metrics through JMX.
+ */
+public interface ConfigMetricsMXBean {
+
+    long getReadCount();
+
+    long getReadTimeNanos();
+
+    long getParseTimeNanos();
+
+    long getBindTimeNanos();
+
+    long getValidationCount();
+
+    long getValidationTimeNanos();
+
+    long getBytesRead();
+
+    long getNodesParsed();
+
+    long getViolations();
+
+    /**
+     * @return the number of hits per cache, e.g. {@code readers} for the object readers and {@code configs} for the
+     *         loaded configs
+     */
+    Map<String, Long> getCacheHits();
+
+    /**
+     * @return the number of misses per cache
+     */
+    Map<String, Long> getCacheMisses();
+
+    void reset();
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.metrics;
+
+import java.util.Objects;
+
+/**
+ * Holds the {@link ConfigInstrumentation} used by all parsers, {@link ConfigInstrumentation#NOOP} unless set.
+ */
+public final class InstrumentationRegistry {
+
+    private static volatile ConfigInstrumentation instrumentation = ConfigInstrumentation.NOOP;
+
+    private InstrumentationRegistry() {
+    }
+
+    public static ConfigInstrumentation get() {
+        return instrumentation;
+    }
+
+    public static void set(ConfigInstrumentation instrumentation) {
+        InstrumentationRegistry.instrumentation = Objects.requireNonNull(instrumentation, "instrumentation");
+    }
+
+    public static void reset() {
+        instrumentation = ConfigInstrumentation.NOOP;
+    }
+
+    public static boolean isEnabled() {
+        return instrumentation != ConfigInstrumentation.NOOP;
+    }
+}
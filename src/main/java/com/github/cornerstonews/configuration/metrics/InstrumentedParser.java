@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.metrics;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+/**
+ * Parser recording the time spent tokenizing and the number of nodes read, so tokenizing can be told apart from
+ * binding.
+ */
+public class InstrumentedParser extends JsonParserDelegate {
+
+    private long nanos;
+    private long nodes;
+
+    public InstrumentedParser(JsonParser parser) {
+        super(parser);
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        final long start = System.nanoTime();
+        final JsonToken token = delegate.nextToken();
+        record(start);
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        final long start = System.nanoTime();
+        final JsonToken token = delegate.nextValue();
+        record(start);
+        return token;
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+        final long start = System.nanoTime();
+        final String name = delegate.nextFieldName();
+        record(start);
+        return name;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException {
+        final long start = System.nanoTime();
+        final boolean matches = delegate.nextFieldName(str);
+        record(start);
+        return matches;
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+        final long start = System.nanoTime();
+        final String value = delegate.nextTextValue();
+        record(start);
+        return value;
+    }
+
+    @Override
+    public int nextIntValue(int defaultValue) throws IOException {
+        final long start = System.nanoTime();
+        final int value = delegate.nextIntValue(defaultValue);
+        record(start);
+        return value;
+    }
+
+    @Override
+    public long nextLongValue(long defaultValue) throws IOException {
+        final long start = System.nanoTime();
+        final long value = delegate.nextLongValue(defaultValue);
+        record(start);
+        return value;
+    }
+
+    @Override
+    public Boolean nextBooleanValue() throws IOException {
+        final long start = System.nanoTime();
+        final Boolean value = delegate.nextBooleanValue();
+        record(start);
+        return value;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        final long start = System.nanoTime();
+        delegate.skipChildren();
+        nanos += System.nanoTime() - start;
+        return this;
+    }
+
+    private void record(long start) {
+        nanos += System.nanoTime() - start;
+        final JsonToken token = delegate.currentToken();
+        if (token != null && !token.isStructEnd() && token != JsonToken.FIELD_NAME) {
+            nodes++;
+        }
+    }
+
+    /**
+     * @return time spent in the underlying parser, including the time it spent reading input
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@link ConfigInstrumentation} aggregating all reported metrics and exposing them as an MXBean.
+ *
+ * <pre>
+ * JmxConfigInstrumentation instrumentation = new JmxConfigInstrumentation();
+ * instrumentation.register();
+ * InstrumentationRegistry.set(instrumentation);
+ * </pre>
+ */
+public class JmxConfigInstrumentation implements ConfigInstrumentation, ConfigMetricsMXBean {
+
+    public static final String DEFAULT_OBJECT_NAME = "com.github.cornerstonews.configuration:type=ConfigMetrics";
+
+    private final Map<ConfigPhase, LongAdder> phaseCounts = new EnumMap<>(ConfigPhase.class);
+    private final Map<ConfigPhase, LongAdder> phaseNanos = new EnumMap<>(ConfigPhase.class);
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder nodesParsed = new LongAdder();
+    private final LongAdder violations = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> cacheHits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> cacheMisses = new ConcurrentHashMap<>();
+
+    private ObjectName objectName;
+
+    public JmxConfigInstrumentation() {
+        for (ConfigPhase phase : ConfigPhase.values()) {
+            phaseCounts.put(phase, new LongAdder());
+            phaseNanos.put(phase, new LongAdder());
+        }
+    }
+
+    public synchronized void register() throws JMException {
+        register(new ObjectName(DEFAULT_OBJECT_NAME));
+    }
+
+    public synchronized void register(ObjectName name) throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, name);
+        this.objectName = name;
+    }
+
+    public synchronized void unregister() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    @Override
+    public void phaseCompleted(String source, ConfigPhase phase, long nanos) {
+        phaseCounts.get(phase).increment();
+        phaseNanos.get(phase).add(nanos);
+    }
+
+    @Override
+    public void bytesRead(String source, long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    @Override
+    public void nodesParsed(String source, long nodes) {
+        nodesParsed.add(nodes);
+    }
+
+    @Override
+    public void validated(String source, int violations) {
+        this.violations.add(violations);
+    }
+
+    @Override
+    public void cacheAccessed(String cache, boolean hit) {
+        (hit ? cacheHits : cacheMisses).computeIfAbsent(cache, name -> new LongAdder()).increment();
+    }
+
+    @Override
+    public long getReadCount() {
+        return phaseCounts.get(ConfigPhase.READ).sum();
+    }
+
+    @Override
+    public long getReadTimeNanos() {
+        return phaseNanos.get(ConfigPhase.READ).sum();
+    }
+
+    @Override
+    public long getParseTimeNanos() {
+        return phaseNanos.get(ConfigPhase.PARSE).sum();
+    }
+
+    @Override
+    public long getBindTimeNanos() {
+        return phaseNanos.get(ConfigPhase.BIND).sum();
+    }
+
+    @Override
+    public long getValidationCount() {
+        return phaseCounts.get(ConfigPhase.VALIDATE).sum();
+    }
+
+    @Override
+    public long getValidationTimeNanos() {
+        return phaseNanos.get(ConfigPhase.VALIDATE).sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getNodesParsed() {
+        return nodesParsed.sum();
+    }
+
+    @Override
+    public long getViolations() {
+        return violations.sum();
+    }
+
+    @Override
+    public Map<String, Long> getCacheHits() {
+        return sums(cacheHits);
+    }
+
+    @Override
+    public Map<String, Long> getCacheMisses() {
+        return sums(cacheMisses);
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        final Map<String, Long> sums = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            sums.put(counter.getKey(), counter.getValue().sum());
+        }
+        return sums;
+    }
+
+    @Override
+    public void reset() {
+        for (ConfigPhase phase : ConfigPhase.values()) {
+            phaseCounts.get(phase).reset();
+            phaseNanos.get(phase).reset();
+        }
+        bytesRead.reset();
+        nodesParsed.reset();
+        violations.reset();
+        cacheHits.values().forEach(LongAdder::reset);
+        cacheMisses.values().forEach(LongAdder::reset);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.overlay;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.parser.ConfigFormat;
+import com.github.cornerstonews.configuration.parser.ObjectReaderRegistry;
+
+/**
+ * Overrides single config values from environment variables and system properties.
+ * <p>
+ * With the prefix {@code app}, the property {@code db.pool.maxSize} is overridden by the environment variable
+ * {@code APP_DB_POOL_MAXSIZE} and by the system property {@code app.db.pool.maxSize}, which takes precedence. Names
+ * are derived from the Jackson property names of the config class, environment variable names are upper case and have
+ * every character other than a letter or digit replaced by {@code _}. Lists, maps and other values without properties
+ * of their own are overridden as a whole, by a JSON value such as {@code ["a", "b"]}.
+ * <p>
+ * The names are derived once per config class. All overrides are collected into one tree, which is merged into the
+ * config tree before binding, or into the token stream of a config file while it is bound.
+ */
+public final class ConfigOverlay {
+
+    private static final Logger log = LogManager.getLogger(ConfigOverlay.class);
+
+    private final String prefix;
+    private final ObjectMapper mapper;
+    private final ClassValue<OverlayMapping> mappings;
+
+    public ConfigOverlay(String prefix) {
+        this(prefix, ObjectReaderRegistry.getShared().getMapper(ConfigFormat.JSON, true));
+    }
+
+    public ConfigOverlay(String prefix, ObjectMapper mapper) {
+        this.prefix = Objects.requireNonNull(prefix, "prefix");
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+        final String envPrefix = prefix.isEmpty() ? "" : prefix.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_') + "_";
+        final String propertyPrefix = prefix.isEmpty() ? "" : prefix + ".";
+        this.mappings = new ClassValue<OverlayMapping>() {
+            @Override
+            protected OverlayMapping computeValue(Class<?> type) {
+                return OverlayMapping.build(mapper, type, envPrefix, propertyPrefix);
+            }
+        };
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Collects the overrides for the config class from the process environment and the system properties.
+     */
+    public ObjectNode overrides(Class<?> klass) throws ConfigException {
+        return overrides(klass, System.getenv(), System.getProperties());
+    }
+
+    /**
+     * Collects the overrides for the config class into a tree of the config's shape.
+     *
+     * @param klass
+     *            the config class
+     * @param env
+     *            the environment variables
+     * @param properties
+     *            the system properties, taking precedence over environment variables
+     * @return the overrides, an empty object node if there are none
+     * @throws ConfigException
+     *             if an override of a list or map is not valid JSON
+     */
+    public ObjectNode overrides(Class<?> klass, Map<String, String> env, Properties properties) throws ConfigException {
+        final ObjectNode overrides = mapper.createObjectNode();
+        int count = 0;
+        for (OverlayMapping.Entry entry : mappings.get(klass).getEntries()) {
+            String source = entry.propertyName;
+            String value = properties.getProperty(source);
+            if (value == null && entry.envName != null) {
+                source = entry.envName;
+                value = env.get(source);
+            }
+            if (value != null) {
+                set(overrides, entry.path, toNode(source, value, entry.structured));
+                count++;
+            }
+        }
+        if (count > 0) {
+            log.info("Overriding {} configuration values from the environment and system properties", count);
+        }
+        return overrides;
+    }
+
+    /**
+     * Merges the overrides for the config class into the tree.
+     *
+     * @return the tree with the overrides merged in, the tree itself unless it is not an object
+     */
+    public JsonNode apply(JsonNode tree, Class<?> klass) throws ConfigException {
+        return apply(tree, overrides(klass));
+    }
+
+    public JsonNode apply(JsonNode tree, Class<?> klass, Map<String, String> env, Properties properties) throws ConfigException {
+        return apply(tree, overrides(klass, env, properties));
+    }
+
+    /**
+     * Wraps the parser of a config document so the overrides for the config class are merged into its tokens while it
+     * is bound, without building a tree of the whole document.
+     *
+     * @return the wrapping parser, the given parser itself if there are no overrides
+     */
+    public JsonParser apply(JsonParser parser, Class<?> klass) throws ConfigException {
+        return apply(parser, overrides(klass));
+    }
+
+    public JsonParser apply(JsonParser parser, Class<?> klass, Map<String, String> env, Properties properties) throws ConfigException {
+        return apply(parser, overrides(klass, env, properties));
+    }
+
+    private static JsonParser apply(JsonParser parser, ObjectNode overrides) {
+        return overrides.size() == 0 ? parser : new OverlayParser(parser, overrides);
+    }
+
+    private static JsonNode apply(JsonNode tree, ObjectNode overrides) {
+        if (overrides.size() == 0) {
+            return tree;
+        }
+        if (tree == null || !tree.isObject()) {
+            return overrides;
+        }
+        merge((ObjectNode) tree, overrides);
+        return tree;
+    }
+
+    private static void merge(ObjectNode target, ObjectNode overrides) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = overrides.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final JsonNode existing = target.get(field.getKey());
+            if (existing != null && existing.isObject() && field.getValue().isObject()) {
+                merge((ObjectNode) existing, (ObjectNode) field.getValue());
+            } else {
+                target.set(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    private static void set(ObjectNode root, String[] path, JsonNode value) {
+        ObjectNode parent = root;
+        for (int i = 0; i < path.length - 1; i++) {
+            final JsonNode child = parent.get(path[i]);
+            parent = child instanceof ObjectNode ? (ObjectNode) child : parent.putObject(path[i]);
+        }
+        parent.set(path[path.length - 1], value);
+    }
+
+    private JsonNode toNode(String source, String value, boolean structured) throws ConfigException {
+        final String trimmed = value.trim();
+        if (!structured || trimmed.isEmpty() || trimmed.charAt(0) != '[' && trimmed.charAt(0) != '{') {
+            return TextNode.valueOf(value);
+        }
+        try {
+            return mapper.readTree(trimmed);
+        } catch (JsonProcessingException e) {
+            throw new ConfigException(source, Arrays.asList("Malformed override at: " + source + "; " + e.getOriginalMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.overlay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * The overridable properties of a config class, keyed by the names of the environment variables and system properties
+ * that override them. Derived once per class from Jackson's bean metadata, so property renames are honored.
+ */
+final class OverlayMapping {
+
+    private static final Logger log = LogManager.getLogger(OverlayMapping.class);
+
+    static final int MAX_DEPTH = 16;
+
+    private final List<Entry> entries;
+
+    private OverlayMapping(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    static OverlayMapping build(ObjectMapper mapper, Class<?> klass, String envPrefix, String propertyPrefix) {
+        final Map<String, Entry> byEnvName = new HashMap<>();
+        final List<Entry> entries = new ArrayList<>();
+        collect(mapper, mapper.constructType(klass), new ArrayList<>(), new HashSet<>(), envPrefix, propertyPrefix, byEnvName, entries);
+        log.debug("Derived {} overridable properties for '{}'", entries.size(), klass.getName());
+        return new OverlayMapping(entries);
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    private static void collect(ObjectMapper mapper, JavaType type, List<String> path, Set<Class<?>> visiting, String envPrefix, String propertyPrefix,
+            Map<String, Entry> byEnvName, List<Entry> entries) {
+        final BeanDescription description = mapper.getDeserializationConfig().introspect(type);
+        visiting.add(type.getRawClass());
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (!property.couldDeserialize()) {
+                continue;
+            }
+            final JavaType propertyType = property.getPrimaryType();
+            path.add(property.getName());
+            if (isBean(mapper, propertyType) && path.size() < MAX_DEPTH && !visiting.contains(propertyType.getRawClass())) {
+                collect(mapper, propertyType, path, visiting, envPrefix, propertyPrefix, byEnvName, entries);
+            } else {
+                final String envName = envPrefix + envName(path);
+                final String propertyName = propertyPrefix + String.join(".", path);
+                final Entry existing = byEnvName.get(envName);
+                if (existing != null) {
+                    log.warn("Environment variable '{}' is ambiguous for '{}' and '{}', only the former can be overridden from the environment", envName,
+                            existing.propertyName, propertyName);
+                }
+                final Entry entry = new Entry(path.toArray(new String[0]), existing == null ? envName : null, propertyName, isStructured(propertyType));
+                byEnvName.putIfAbsent(envName, entry);
+                entries.add(entry);
+            }
+            path.remove(path.size() - 1);
+        }
+        visiting.remove(type.getRawClass());
+    }
+
+    /**
+     * @return whether the type is a bean whose properties are mapped one by one rather than overridden as a whole
+     */
+    private static boolean isBean(ObjectMapper mapper, JavaType type) {
+        if (type.isContainerType() || type.isArrayType() || type.isEnumType() || type.isPrimitive() || type.getRawClass().getName().startsWith("java.")
+                || JsonNode.class.isAssignableFrom(type.getRawClass())) {
+            return false;
+        }
+        for (BeanPropertyDefinition property : mapper.getDeserializationConfig().introspect(type).findProperties()) {
+            if (property.couldDeserialize()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStructured(JavaType type) {
+        return type.isContainerType() || type.isArrayType() || !type.getRawClass().getName().startsWith("java.") && !type.isEnumType()
+                || type.getRawClass() == Object.class;
+    }
+
+    private static String envName(List<String> path) {
+        final StringBuilder sb = new StringBuilder();
+        for (String name : path) {
+            if (sb.length() > 0) {
+                sb.append('_');
+            }
+            for (int i = 0; i < name.length(); i++) {
+                final char c = name.charAt(i);
+                sb.append(Character.isLetterOrDigit(c) ? c : '_');
+            }
+        }
+        return sb.toString().toUpperCase(Locale.ROOT);
+    }
+
+    static final class Entry {
+        final String[] path;
+        final String envName;
+        final String propertyName;
+        final boolean structured;
+
+        private Entry(String[] path, String envName, String propertyName, boolean structured) {
+            this.path = path;
+            this.envName = envName;
+            this.propertyName = propertyName;
+            this.structured = structured;
+        }
+    }
+}
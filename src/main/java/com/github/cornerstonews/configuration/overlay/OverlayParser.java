@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.overlay;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Merges an override tree into a token stream while it is read: values of overridden properties are skipped and the
+ * override values emitted in their place, and overridden properties the stream lacks are emitted at the end of their
+ * object. Objects of the stream and of the overrides are merged recursively, like {@link ConfigOverlay#apply}.
+ */
+final class OverlayParser extends JsonParserDelegate {
+
+    private final JsonParser source;
+    private final Deque<Level> levels = new ArrayDeque<>();
+    private JsonNode pending;
+    private JsonParser injected;
+    // nesting depth within an object or array of the source that has no overrides
+    private int plainDepth;
+
+    OverlayParser(JsonParser source, ObjectNode overrides) {
+        super(source);
+        this.source = source;
+        this.pending = overrides;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (injected != null) {
+            final JsonToken token = injected.nextToken();
+            if (token != null) {
+                return token;
+            }
+            injected = null;
+            delegate = source;
+        }
+
+        if (pending != null) {
+            final JsonNode override = pending;
+            pending = null;
+            final JsonToken token = source.nextToken();
+            if (override.isObject() && token == JsonToken.START_OBJECT) {
+                levels.push(new Level((ObjectNode) override));
+                return token;
+            }
+            if (levels.isEmpty()) {
+                // the document itself is not an object, overrides can not be applied to it
+                return onSourceToken(token);
+            }
+            source.skipChildren();
+            return inject(override.traverse(source.getCodec()), false);
+        }
+
+        return onSourceToken(source.nextToken());
+    }
+
+    private JsonToken onSourceToken(JsonToken token) throws IOException {
+        if (token == null) {
+            return null;
+        }
+        if (plainDepth > 0) {
+            if (token.isStructStart()) {
+                plainDepth++;
+            } else if (token.isStructEnd()) {
+                plainDepth--;
+            }
+            return token;
+        }
+
+        switch (token) {
+        case START_OBJECT:
+        case START_ARRAY:
+            plainDepth = 1;
+            return token;
+        case FIELD_NAME:
+            final Level level = levels.peek();
+            if (level != null) {
+                final String name = source.getCurrentName();
+                final JsonNode override = level.overrides.get(name);
+                if (override != null) {
+                    level.applied.add(name);
+                    pending = override;
+                }
+            }
+            return token;
+        case END_OBJECT:
+            final Level closed = levels.pop();
+            if (closed.applied.size() < closed.overrides.size()) {
+                final ObjectNode remaining = closed.overrides.objectNode();
+                final Iterator<Map.Entry<String, JsonNode>> fields = closed.overrides.fields();
+                while (fields.hasNext()) {
+                    final Map.Entry<String, JsonNode> field = fields.next();
+                    if (!closed.applied.contains(field.getKey())) {
+                        remaining.set(field.getKey(), field.getValue());
+                    }
+                }
+                // the END_OBJECT of the remaining fields stands in for the one of the source
+                return inject(remaining.traverse(source.getCodec()), true);
+            }
+            return token;
+        default:
+            return token;
+        }
+    }
+
+    private JsonToken inject(JsonParser parser, boolean skipStart) throws IOException {
+        injected = parser;
+        delegate = parser;
+        if (skipStart) {
+            parser.nextToken();
+        }
+        return parser.nextToken();
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        final JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        final JsonToken current = currentToken();
+        if (current != JsonToken.START_OBJECT && current != JsonToken.START_ARRAY) {
+            return this;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            final JsonToken token = nextToken();
+            if (token == null) {
+                return this;
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (injected != null) {
+            injected.close();
+        }
+        source.close();
+    }
+
+    private static final class Level {
+        private final ObjectNode overrides;
+        private final Set<String> applied = new HashSet<>();
+
+        private Level(ObjectNode overrides) {
+            this.overrides = overrides;
+        }
+    }
+}
@@ -16,69 +16,261 @@
  */
 package com.github.cornerstonews.configuration.parser;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.validation.ConstraintViolation;
-import javax.validation.Validation;
-import javax.validation.Validator;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.hibernate.validator.HibernateValidator;
 
 import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.codegen.GeneratedConfig;
+import com.github.cornerstonews.configuration.codegen.GeneratedConfigs;
+import com.github.cornerstonews.configuration.metrics.ConfigInstrumentation;
+import com.github.cornerstonews.configuration.metrics.ConfigPhase;
+import com.github.cornerstonews.configuration.metrics.InstrumentationRegistry;
+import com.github.cornerstonews.configuration.overlay.ConfigOverlay;
+import com.github.cornerstonews.configuration.schema.ConfigSchema;
+import com.github.cornerstonews.configuration.validation.IncrementalValidator;
+import com.github.cornerstonews.configuration.validation.ValidatorProvider;
 
 public class BaseConfigParser<T> {
     private static final Logger log = LogManager.getLogger(BaseConfigParser.class);
 
     protected final Class<T> klass;
-    protected ObjectMapper mapper;
+    private final ObjectMapper mapper;
+    private final ConfigFormat format;
+    private final boolean failOnUnknown;
+    private final GeneratedConfig<T> binder;
 
     public BaseConfigParser(Class<T> klass, ObjectMapper objectMapper) {
         this.klass = klass;
         this.mapper = objectMapper;
+        this.format = null;
+        this.failOnUnknown = true;
+        this.binder = null;
+    }
+
+    public BaseConfigParser(Class<T> klass, ConfigFormat format, boolean failOnUnknown) {
+        this.klass = klass;
+        this.mapper = ObjectReaderRegistry.getShared().getMapper(format, failOnUnknown);
+        this.format = format;
+        this.failOnUnknown = failOnUnknown;
+        this.binder = GeneratedConfigs.find(klass);
+    }
+
+    /**
+     * @return the mapper of the parser. Parsers of a format share the mapper of the {@link ObjectReaderRegistry}, it
+     *         must not be reconfigured.
+     */
+    protected ObjectMapper getMapper() {
+        return mapper;
     }
 
     public T build() throws ConfigException {
         try {
             log.info("Loading default application configuration");
-            final T config = mapper.readValue("{}", this.klass);
-            return config;
+            try (JsonParser parser = mapper.getFactory().createParser("{}")) {
+                final T config = bind(parser);
+                return config;
+            }
         } catch (JsonParseException e) {
             throw new ConfigException(null, formatError("Malformed default config", e.getMessage(), null, e.getLocation(), null), e);
         } catch (JsonProcessingException e) {
             throw new ConfigException(null, formatError("Failed to parse configuration", e.getMessage(), null, e.getLocation(), null), e);
+        } catch (IOException e) {
+            throw new ConfigException(null, Arrays.asList(e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Builds the default configuration with the overrides of the overlay applied.
+     */
+    public T build(ConfigOverlay overlay) throws ConfigException {
+        log.info("Loading default application configuration with overrides");
+        try {
+            return bind(mapper.treeAsTokens(overlay.apply(mapper.createObjectNode(), klass)));
+        } catch (JsonProcessingException e) {
+            throw toConfigException(null, e);
+        } catch (IOException e) {
+            throw new ConfigException(null, Arrays.asList(e.getMessage()), e);
         }
     }
 
     public boolean isValid(T config) throws ConfigException {
-        final Set<ConstraintViolation<T>> violations = getValidator().validate(config);
-        if (!violations.isEmpty()) {
-            final Set<String> errors = new HashSet<>(violations.size());
-            for (ConstraintViolation<?> v : violations) {
-                errors.add(String.format("%s %s", v.getPropertyPath(), v.getMessage()));
-            }
-            throw new ConfigException(errors);
+        validate(config, null);
+        return true;
+    }
+
+    /**
+     * Validates a configuration object or a part of it.
+     *
+     * @param value
+     *            the object to validate
+     * @param pathPrefix
+     *            the property path of the object within the whole configuration, prepended to reported errors, or
+     *            {@code null} for the root object
+     * @throws ConfigException
+     *             if there are constraint violations
+     */
+    protected void validate(Object value, String pathPrefix) throws ConfigException {
+        final long start = System.nanoTime();
+        final GeneratedConfig<?> checker = value == null ? null : GeneratedConfigs.find(value.getClass());
+        if (checker != null) {
+            final Set<String> errors = new HashSet<>();
+            GeneratedConfigs.check(checker, value, pathPrefix, errors);
+            checkErrors(errors, start);
+            return;
+        }
+        final Set<ConstraintViolation<Object>> violations = ValidatorProvider.getValidator().validate(value);
+        final Set<String> errors = new HashSet<>(violations.size());
+        for (ConstraintViolation<?> v : violations) {
+            errors.add(String.format("%s %s", prefixPath(pathPrefix, v.getPropertyPath().toString()), v.getMessage()));
         }
+        checkErrors(errors, start);
+    }
 
+    /**
+     * Validates a configuration replacing a previously validated one, checking only what differs between both. As long
+     * as {@code previous} was valid, the outcome is the same as the one of {@link #isValid(Object)}.
+     *
+     * @param previous
+     *            the previously validated configuration, or {@code null} to validate {@code current} completely
+     * @param current
+     *            the configuration to validate
+     * @return true if the configuration is valid
+     * @throws ConfigException
+     *             if there are constraint violations
+     */
+    public boolean isValid(T previous, T current) throws ConfigException {
+        if (previous == null) {
+            return isValid(current);
+        }
+        final long start = System.nanoTime();
+        checkErrors(incrementalValidator().validateChanges(previous, current), start);
         return true;
     }
 
-    private Validator getValidator() {
-        return Validation.byProvider(HibernateValidator.class).configure()
-                // If needed add ValueExtractor(s) here for variables that can not be directly
-                // validated
-                .buildValidatorFactory().getValidator();
+    protected IncrementalValidator incrementalValidator() {
+        return IncrementalValidator.forMapper(mapper);
+    }
+
+    /**
+     * Reports a finished validation started at {@code startNanos} and fails if it found errors.
+     */
+    protected void checkErrors(Set<String> errors, long startNanos) throws ConfigException {
+        if (InstrumentationRegistry.isEnabled()) {
+            final ConfigInstrumentation instrumentation = InstrumentationRegistry.get();
+            instrumentation.phaseCompleted(null, ConfigPhase.VALIDATE, System.nanoTime() - startNanos);
+            instrumentation.validated(null, errors.size());
+        }
+        if (!errors.isEmpty()) {
+            throw new ConfigException(errors);
+        }
+    }
+
+    private static String prefixPath(String prefix, String path) {
+        if (prefix == null || prefix.isEmpty()) {
+            return path;
+        }
+        if (path.isEmpty()) {
+            return prefix;
+        }
+        return path.charAt(0) == '[' ? prefix + path : prefix + "." + path;
+    }
+
+    /**
+     * Binds the document of the parser through the generated binder of the config class when it has one, and through
+     * Jackson otherwise.
+     */
+    protected T bind(JsonParser parser) throws IOException {
+        if (binder != null) {
+            return GeneratedConfigs.readValue(binder, parser, failOnUnknown);
+        }
+        return reader().readValue(parser);
+    }
+
+    protected ObjectReader reader() {
+        return readerFor(this.klass);
+    }
+
+    protected ObjectReader readerFor(Class<?> type) {
+        if (format == null) {
+            return mapper.readerFor(type);
+        }
+        return ObjectReaderRegistry.getShared().getReader(format, type, failOnUnknown);
+    }
+
+    /**
+     * Translates a Jackson parsing or binding error into a {@link ConfigException} describing where it occurred.
+     */
+    protected ConfigException toConfigException(String path, JsonProcessingException e) {
+        if (e instanceof UnrecognizedPropertyException) {
+            final UnrecognizedPropertyException unrecognized = (UnrecognizedPropertyException) e;
+            final List<String> properties = unrecognized.getKnownPropertyIds().stream().map(Object::toString).collect(Collectors.toList());
+            return new ConfigException(path, formatError("Unrecognized field", null, unrecognized.getPath(), e.getLocation(), properties), e);
+        }
+        if (e instanceof InvalidFormatException) {
+            final InvalidFormatException invalidFormat = (InvalidFormatException) e;
+            final String sourceType = invalidFormat.getValue().getClass().getSimpleName();
+            final String targetType = invalidFormat.getTargetType().getSimpleName();
+            return new ConfigException(path, formatError("Incorrect type of value", "is of type: " + sourceType + ", expected: " + targetType,
+                    invalidFormat.getPath(), e.getLocation(), null), e);
+        }
+        if (e instanceof JsonMappingException) {
+            return new ConfigException(path, formatError("Failed to parse configuration", e.getMessage(), ((JsonMappingException) e).getPath(), e.getLocation(), null), e);
+        }
+        return new ConfigException(path, formatError("Malformed configuration", e.getMessage(), null, e.getLocation(), null), e);
+    }
+
+    /**
+     * Translates a binding error like {@link #toConfigException(String, JsonProcessingException)}, adding the errors
+     * found by checking the document against the {@link ConfigSchema} of the config class. The binding error is left out
+     * when the schema reported an error at the same property path.
+     */
+    protected ConfigException toConfigException(String path, JsonMappingException e, List<String> schemaErrors) {
+        final ConfigException bindingError = toConfigException(path, e);
+        if (schemaErrors.isEmpty()) {
+            return bindingError;
+        }
+
+        final List<String> errors = new ArrayList<>(schemaErrors.size() + 1);
+        final String at = " at: " + buildPath(e.getPath());
+        if (e.getPath().isEmpty() || schemaErrors.stream().noneMatch(error -> reportsPath(error, at))) {
+            errors.addAll(bindingError.getErrors());
+        }
+        errors.addAll(schemaErrors);
+        return new ConfigException(path, errors, e);
+    }
+
+    private static boolean reportsPath(String error, String at) {
+        final int start = error.indexOf(at);
+        if (start < 0) {
+            return false;
+        }
+        final int end = start + at.length();
+        return end == error.length() || error.charAt(end) == ';' || error.charAt(end) == '\r' || error.charAt(end) == '\n';
+    }
+
+    protected ConfigSchema schema() {
+        return ConfigSchema.of(mapper, klass);
     }
 
     protected List<String> formatError(String summary, String detail, List<JsonMappingException.Reference> fieldPath, JsonLocation location,
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Creates copies of config beans by copying all of their instance fields into a new instance created through the
+ * no-argument constructor.
+ */
+public final class BeanCopier {
+
+    private static final ClassValue<Optional<BeanCopier>> COPIERS = new ClassValue<Optional<BeanCopier>>() {
+        @Override
+        protected Optional<BeanCopier> computeValue(Class<?> type) {
+            return Optional.ofNullable(create(type));
+        }
+    };
+
+    private final Constructor<?> constructor;
+    private final Field[] fields;
+
+    private BeanCopier(Constructor<?> constructor, Field[] fields) {
+        this.constructor = constructor;
+        this.fields = fields;
+    }
+
+    /**
+     * @return whether the value is a bean that {@link #copy(Object)} can copy, containers and JDK types are not
+     */
+    static boolean isCopyable(Object value) {
+        if (value == null || value instanceof Iterable || value instanceof Map || value instanceof Optional || value.getClass().isArray()) {
+            return false;
+        }
+        return COPIERS.get(value.getClass()).isPresent();
+    }
+
+    /**
+     * @return a shallow copy of the bean, or {@code null} if it can not be copied
+     */
+    @SuppressWarnings("unchecked")
+    static <B> B copy(B bean) {
+        final Optional<BeanCopier> copier = COPIERS.get(bean.getClass());
+        if (!copier.isPresent()) {
+            return null;
+        }
+
+        try {
+            final Object copy = copier.get().constructor.newInstance();
+            for (Field field : copier.get().fields) {
+                field.set(copy, field.get(bean));
+            }
+            return (B) copy;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to copy " + bean.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Copies the value with all beans, collections, maps and arrays it refers to, field by field, so the copy holds the
+     * same state whether or not it is visible to Jackson. Other JDK types are immutable in configs and are shared, except
+     * for dates.
+     *
+     * @return a deep copy of the value, or {@code null} if a bean in it can not be copied
+     */
+    public static <V> V deepCopy(V value) {
+        try {
+            return new DeepCopy().copy(value);
+        } catch (UncopyableException e) {
+            return null;
+        }
+    }
+
+    private static BeanCopier create(Class<?> type) {
+        if (type.isEnum() || type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.getName().startsWith("java.")
+                || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+            return null;
+        }
+
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return new BeanCopier(constructor, fields.toArray(new Field[0]));
+        } catch (NoSuchMethodException | RuntimeException e) {
+            // no default constructor or not accessible, e.g. not opened by its module
+            return null;
+        }
+    }
+
+    private static final class DeepCopy {
+        private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private <V> V copy(V value) {
+            if (value == null || value instanceof Enum || value instanceof String || value instanceof Number || value instanceof Boolean
+                    || value instanceof Character) {
+                return value;
+            }
+            final Object existing = copies.get(value);
+            if (existing != null) {
+                return (V) existing;
+            }
+
+            final Object copy;
+            if (value instanceof JsonNode) {
+                copy = ((JsonNode) value).deepCopy();
+            } else if (value instanceof Optional) {
+                copy = ((Optional<?>) value).map(this::copy);
+            } else if (value instanceof Date) {
+                copy = ((Date) value).clone();
+            } else if (value.getClass().isArray()) {
+                copy = copyArray(value);
+            } else if (value instanceof EnumSet) {
+                copy = ((EnumSet<?>) value).clone();
+            } else if (value instanceof EnumMap) {
+                final EnumMap map = ((EnumMap) value).clone();
+                copies.put(value, map);
+                map.replaceAll((k, v) -> copy(v));
+                copy = map;
+            } else if (value instanceof Collection) {
+                final Collection<Object> collection = (Collection<Object>) newContainer(value);
+                copies.put(value, collection);
+                for (Object element : (Collection<?>) value) {
+                    collection.add(copy(element));
+                }
+                copy = collection;
+            } else if (value instanceof Map) {
+                final Map<Object, Object> map = (Map<Object, Object>) newContainer(value);
+                copies.put(value, map);
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    map.put(copy(entry.getKey()), copy(entry.getValue()));
+                }
+                copy = map;
+            } else if (value.getClass().getName().startsWith("java.")) {
+                copy = value;
+            } else {
+                copy = copyBean(value);
+            }
+            copies.put(value, copy);
+            return (V) copy;
+        }
+
+        private Object copyArray(Object array) {
+            if (array.getClass().getComponentType().isPrimitive()) {
+                final int length = Array.getLength(array);
+                final Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+                System.arraycopy(array, 0, copy, 0, length);
+                return copy;
+            }
+            final Object[] elements = (Object[]) array;
+            final Object[] copy = (Object[]) Array.newInstance(array.getClass().getComponentType(), elements.length);
+            copies.put(array, copy);
+            for (int i = 0; i < elements.length; i++) {
+                copy[i] = copy(elements[i]);
+            }
+            return copy;
+        }
+
+        private Object copyBean(Object bean) {
+            final Optional<BeanCopier> copier = COPIERS.get(bean.getClass());
+            if (!copier.isPresent()) {
+                throw new UncopyableException();
+            }
+            try {
+                final Object copy = copier.get().constructor.newInstance();
+                copies.put(bean, copy);
+                for (Field field : copier.get().fields) {
+                    field.set(copy, copy(field.get(bean)));
+                }
+                return copy;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to copy " + bean.getClass().getName(), e);
+            }
+        }
+
+        /**
+         * @return an empty container of the same class, or of the closest mutable class if it has no public no-argument
+         *         constructor, e.g. for unmodifiable views
+         */
+        private static Object newContainer(Object container) {
+            if (container instanceof SortedSet) {
+                return new TreeSet<>(((SortedSet<?>) container).comparator());
+            } else if (container instanceof SortedMap) {
+                return new TreeMap<>(((SortedMap<?, ?>) container).comparator());
+            }
+            try {
+                return container.getClass().getConstructor().newInstance();
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                if (container instanceof Set) {
+                    return new LinkedHashSet<>();
+                } else if (container instanceof Collection) {
+                    return new ArrayList<>();
+                }
+                return new LinkedHashMap<>();
+            }
+        }
+    }
+
+    private static final class UncopyableException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UncopyableException() {
+            super(null, null, false, false);
+        }
+    }
+}
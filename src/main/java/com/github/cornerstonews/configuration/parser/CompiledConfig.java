@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+/**
+ * Binary (Smile) snapshots of validated configurations.
+ * <p>
+ * {@link #compile(String, Class)} parses and validates a YAML or JSON config file once and stores the result next to
+ * it as {@code <file>.smile}, together with a SHA-256 hash of its inputs: the source content, the content of the files
+ * it includes and the values of the environment variables its placeholders were resolved from.
+ * {@link #load(String, Class)} binds the snapshot instead of the source as long as the hash still matches, which avoids
+ * YAML parsing on startup. The hash does not cover the configuration class, so a snapshot is validated again after it
+ * is bound, against the constraints of the class as it is now.
+ */
+public final class CompiledConfig {
+
+    private static final Logger log = LogManager.getLogger(CompiledConfig.class);
+
+    public static final String SNAPSHOT_EXTENSION = ".smile";
+
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final String VERSION_FIELD = "version";
+    private static final String TYPE_FIELD = "type";
+    private static final String INCLUDES_FIELD = "includes";
+    private static final String ENVIRONMENT_FIELD = "environment";
+    private static final String SOURCE_HASH_FIELD = "sourceHash";
+    private static final String CONFIG_FIELD = "config";
+
+    private CompiledConfig() {
+    }
+
+    public static Path getSnapshotPath(String sourcePath) {
+        return Paths.get(sourcePath + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Loads, validates and compiles the given config file into a binary snapshot stored next to it.
+     *
+     * @param sourcePath
+     *            the YAML or JSON config file
+     * @param klass
+     *            the configuration type
+     * @return the path of the written snapshot
+     * @throws IOException
+     *             if the source can not be read or the snapshot can not be written
+     * @throws ConfigException
+     *             if the configuration is invalid
+     */
+    public static <T> Path compile(String sourcePath, Class<T> klass) throws IOException, ConfigException {
+        final Path source = Paths.get(sourcePath);
+        // dropped so only the inputs of this build are recorded, as they are not known before parsing the source
+        ConfigResolver.getShared().invalidate(source);
+        final byte[] sourceContent = Files.readAllBytes(source);
+        final T config = ConfigFactory.getParser(sourcePath, klass).build(sourcePath);
+        ConfigFactory.isValid(config);
+        final List<String> includes = new ArrayList<>();
+        for (Path include : ConfigResolver.getShared().getIncludedFiles(source)) {
+            includes.add(include.toString());
+        }
+        final List<String> environment = ConfigResolver.getShared().getEnvironmentVariables(source);
+        final byte[] sourceHash = hash(sourceContent, includes, environment);
+
+        final Path snapshot = getSnapshotPath(sourcePath);
+        final Path tempFile = Files.createTempFile(snapshot.toAbsolutePath().getParent(), snapshot.getFileName().toString(), ".tmp");
+        final ObjectMapper mapper = ObjectReaderRegistry.getShared().getMapper(ConfigFormat.SMILE, true);
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile); JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeNumberField(VERSION_FIELD, SNAPSHOT_VERSION);
+                generator.writeStringField(TYPE_FIELD, klass.getName());
+                writeArray(generator, INCLUDES_FIELD, includes);
+                writeArray(generator, ENVIRONMENT_FIELD, environment);
+                generator.writeBinaryField(SOURCE_HASH_FIELD, sourceHash);
+                generator.writeFieldName(CONFIG_FIELD);
+                mapper.writeValue(generator, config);
+                generator.writeEndObject();
+            }
+            Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        log.info("Compiled application configuration '{}' to '{}'", sourcePath, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Binds the snapshot of the given config file if there is one and it was compiled for the same configuration type
+     * from the current content of the file, the files it includes and the environment variables it refers to. The
+     * included files and environment variables are recorded with the shared {@link ConfigResolver}, as if the file was
+     * resolved, so caches keep checking them for changes.
+     *
+     * @param sourcePath
+     *            the YAML or JSON config file
+     * @param klass
+     *            the configuration type
+     * @return the configuration, or {@code null} if there is no fresh snapshot or it is no longer valid
+     * @throws IOException
+     *             if the source can not be read
+     */
+    public static <T> T load(String sourcePath, Class<T> klass) throws IOException {
+        final Path snapshot = getSnapshotPath(sourcePath);
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+
+        final ObjectMapper mapper = ObjectReaderRegistry.getShared().getMapper(ConfigFormat.SMILE, true);
+        try (JsonParser parser = mapper.getFactory().createParser(snapshot.toFile())) {
+            final Header header = parser.nextToken() == JsonToken.START_OBJECT ? readHeader(parser, sourcePath, klass) : null;
+            if (header == null) {
+                return null;
+            }
+
+            log.info("Loading application configuration from snapshot '{}'", snapshot);
+            parser.nextToken();
+            final T config = ObjectReaderRegistry.getShared().getReader(ConfigFormat.SMILE, klass, true).readValue(parser);
+            ConfigFactory.isValid(config);
+            final List<Path> includes = new ArrayList<>(header.includes.size());
+            for (String include : header.includes) {
+                includes.add(Paths.get(include));
+            }
+            ConfigResolver.getShared().record(Paths.get(sourcePath), includes, header.environment);
+            return config;
+        } catch (ConfigException e) {
+            log.warn("Ignoring configuration snapshot '{}' that is no longer valid. {}", snapshot, e.getMessage());
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable configuration snapshot '{}'. {}", snapshot, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the snapshot header and leaves the parser at the name of the config field.
+     *
+     * @return the header if the snapshot is current, {@code null} otherwise
+     */
+    private static Header readHeader(JsonParser parser, String sourcePath, Class<?> klass) throws IOException {
+        int version = -1;
+        String type = null;
+        List<String> includes = Collections.emptyList();
+        List<String> environment = Collections.emptyList();
+        byte[] sourceHash = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            if (CONFIG_FIELD.equals(field)) {
+                if (version != SNAPSHOT_VERSION || !klass.getName().equals(type)) {
+                    log.debug("Configuration snapshot of '{}' was not compiled for {}", sourcePath, klass.getName());
+                    return null;
+                }
+                final byte[] currentHash;
+                try {
+                    currentHash = hash(Files.readAllBytes(Paths.get(sourcePath)), includes, environment);
+                } catch (NoSuchFileException e) {
+                    log.info("Configuration snapshot of '{}' is outdated, '{}' no longer exists", sourcePath, e.getFile());
+                    return null;
+                }
+                if (!Arrays.equals(sourceHash, currentHash)) {
+                    log.info("Configuration snapshot of '{}' is outdated", sourcePath);
+                    return null;
+                }
+                return new Header(includes, environment);
+            }
+
+            parser.nextToken();
+            if (VERSION_FIELD.equals(field)) {
+                version = parser.getIntValue();
+            } else if (TYPE_FIELD.equals(field)) {
+                type = parser.getText();
+            } else if (INCLUDES_FIELD.equals(field)) {
+                includes = readArray(parser);
+            } else if (ENVIRONMENT_FIELD.equals(field)) {
+                environment = readArray(parser);
+            } else if (SOURCE_HASH_FIELD.equals(field)) {
+                sourceHash = parser.getBinaryValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    private static void writeArray(JsonGenerator generator, String field, List<String> values) throws IOException {
+        generator.writeArrayFieldStart(field);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private static List<String> readArray(JsonParser parser) throws IOException {
+        final List<String> values = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return values;
+        }
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+            values.add(parser.getText());
+        }
+        return values;
+    }
+
+    /**
+     * Hashes the source content, the path and content of every included file and the name and value of every
+     * environment variable.
+     */
+    private static byte[] hash(byte[] sourceContent, List<String> includes, List<String> environment) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+
+        digest.update(sourceContent);
+        final byte[] buffer = new byte[8192];
+        for (String include : includes) {
+            digest.update((byte) 0);
+            digest.update(include.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream in = Files.newInputStream(Paths.get(include))) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        for (String name : environment) {
+            final String value = System.getenv(name);
+            digest.update((byte) 0);
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            // an unset variable differs from an empty one
+            digest.update(value == null ? (byte) 1 : (byte) 2);
+            if (value != null) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return digest.digest();
+    }
+
+    private static final class Header {
+        private final List<String> includes;
+        private final List<String> environment;
+
+        private Header(List<String> includes, List<String> environment) {
+            this.includes = includes;
+            this.environment = environment;
+        }
+    }
+}
@@ -1,37 +1,95 @@
 package com.github.cornerstonews.configuration.parser;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.exc.InvalidFormatException;
-import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.async.ConfigExecutors;
+import com.github.cornerstonews.configuration.metrics.ConfigInstrumentation;
+import com.github.cornerstonews.configuration.metrics.ConfigPhase;
+import com.github.cornerstonews.configuration.metrics.InstrumentationRegistry;
+import com.github.cornerstonews.configuration.metrics.InstrumentedInputStream;
+import com.github.cornerstonews.configuration.metrics.InstrumentedParser;
+import com.github.cornerstonews.configuration.overlay.ConfigOverlay;
+import com.github.cornerstonews.configuration.schema.ConfigSchema;
 
 public abstract class ConfigFileParser<T> extends BaseConfigParser<T> {
 
     private static final Logger log = LogManager.getLogger(ConfigFileParser.class);
 
+    /**
+     * Size in bytes from which config files are memory mapped instead of read through a buffered stream. Can be
+     * overridden with the {@code cornerstone.config.mappedReadThreshold} system property.
+     */
+    public static final long DEFAULT_MAPPED_READ_THRESHOLD = Long.getLong("cornerstone.config.mappedReadThreshold", 16L * 1024 * 1024);
+
     private File filePath;
+    private long mappedReadThreshold = DEFAULT_MAPPED_READ_THRESHOLD;
+    private int validationParallelism = Runtime.getRuntime().availableProcessors();
 
     public ConfigFileParser(String path, Class<T> klass, ObjectMapper objectMapper) {
         super(klass, objectMapper);
         this.filePath = path == null ? null : new File(path);
     }
 
+    public ConfigFileParser(String path, Class<T> klass, ConfigFormat format) {
+        super(klass, format, true);
+        this.filePath = path == null ? null : new File(path);
+    }
+
     protected abstract String getFormat();
 
+    public long getMappedReadThreshold() {
+        return mappedReadThreshold;
+    }
+
+    /**
+     * Sets the file size in bytes from which files are memory mapped. Use {@code 0} to always map files and
+     * {@link Long#MAX_VALUE} to never map them.
+     *
+     * @param mappedReadThreshold
+     *            the size threshold in bytes
+     */
+    public void setMappedReadThreshold(long mappedReadThreshold) {
+        this.mappedReadThreshold = mappedReadThreshold;
+    }
+
     public abstract Boolean isValidFileType(String path);
 
     public static String getFileExtension(final String filename) {
@@ -40,16 +98,24 @@ public abstract class ConfigFileParser<T> extends BaseConfigParser<T> {
         return extensionOptional.orElse(null);
     }
 
+    /**
+     * @return the MIME type of the config file's format, {@code null} if it is not recognized
+     * @deprecated use {@link ConfigFormatResolver#resolve(String)}
+     */
+    @Deprecated
     public static String identifyFileType(final String fileName) {
-        String fileType = null;
-        try {
-            final File file = new File(fileName);
-            fileType = Files.probeContentType(file.toPath());
-        } catch (IOException ioException) {
-            System.out.println("asdf");
-            // Do nothing
+        final ConfigFormat format = ConfigFormatResolver.getShared().resolve(fileName);
+        if (format == null) {
+            return null;
+        }
+        switch (format) {
+        case JSON:
+            return "application/json";
+        case SMILE:
+            return "application/x-jackson-smile";
+        default:
+            return "application/x-yaml";
         }
-        return fileType;
     }
 
     public T build(String path) throws IOException, ConfigException {
@@ -66,22 +132,706 @@ public abstract class ConfigFileParser<T> extends BaseConfigParser<T> {
 
         try {
             log.info("Loading application configuration from path '{}'", filePath.getAbsolutePath());
-            final T config = mapper.readValue(filePath, this.klass);
+            final T config = readConfig(filePath);
             return config;
-        } catch (UnrecognizedPropertyException e) {
-            final List<String> properties = e.getKnownPropertyIds().stream().map(Object::toString).collect(Collectors.toList());
-            throw new ConfigException(path, formatError("Unrecognized field", null, e.getPath(), e.getLocation(), properties), e);
-        } catch (InvalidFormatException e) {
-            final String sourceType = e.getValue().getClass().getSimpleName();
-            final String targetType = e.getTargetType().getSimpleName();
-            throw new ConfigException(path,
-                    formatError("Incorrect type of value", "is of type: " + sourceType + ", expected: " + targetType, e.getPath(), e.getLocation(), null), e);
         } catch (JsonMappingException e) {
-            throw new ConfigException(path, formatError("Failed to parse configuration", e.getMessage(), e.getPath(), e.getLocation(), null), e);
-        } catch (JsonParseException e) {
-            throw new ConfigException(path, formatError("Malformed " + getFormat(), e.getMessage(), null, e.getLocation(), null), e);
+            // report everything wrong with the file at once rather than only the first error binding stopped at
+            throw toConfigException(path, e, checkSchema(filePath));
+        } catch (JsonProcessingException e) {
+            throw toConfigException(path, e);
         }
 
     }
 
+    /**
+     * Checks the config file against the {@link ConfigSchema} of the config class without binding it.
+     *
+     * @param path
+     *            the config file
+     * @throws IOException
+     *             if the file can not be read
+     * @throws ConfigException
+     *             listing all unknown fields, values of the wrong type and missing required fields of the file, or if
+     *             the file is malformed
+     */
+    public void validateSchema(String path) throws IOException, ConfigException {
+        final File file = resolveFile(path);
+        final List<String> errors;
+        try {
+            errors = validateSchema(file);
+        } catch (JsonProcessingException e) {
+            throw toConfigException(path, e);
+        }
+        if (!errors.isEmpty()) {
+            throw new ConfigException(path, errors);
+        }
+    }
+
+    private List<String> validateSchema(File file) throws IOException, ConfigException {
+        return read(file, parser -> schema().validate(parser));
+    }
+
+    /**
+     * @return the schema errors of the file, empty if it can not be checked
+     */
+    private List<String> checkSchema(File file) {
+        try {
+            return validateSchema(file);
+        } catch (IOException | ConfigException | RuntimeException e) {
+            log.debug("Could not check configuration file '{}' against its schema", file, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Builds the configuration from the file with the overrides of the overlay merged into it before binding.
+     */
+    public T build(String path, ConfigOverlay overlay) throws IOException, ConfigException {
+        final File file = resolveFile(path);
+        log.info("Loading application configuration with overrides from path '{}'", file.getAbsolutePath());
+        try {
+            return read(file, parser -> bind(overlay.apply(parser, klass)));
+        } catch (JsonProcessingException e) {
+            throw toConfigException(path, e);
+        }
+    }
+
+    /**
+     * Streams the elements of the list found at the given JSON pointer one at a time, e.g. {@code /rules} for a top
+     * level {@code rules} list. Each element is bound and validated when it is read, so only the current element is held
+     * in memory. The returned iterator has to be closed.
+     *
+     * @param path
+     *            the config file
+     * @param pointer
+     *            JSON pointer of the list, or an empty string if the document itself is a list
+     * @param elementType
+     *            the type of the list elements
+     * @return iterator over the list elements
+     * @throws IOException
+     *             if the file can not be read
+     * @throws ConfigException
+     *             if the file is malformed or has no list at the given pointer
+     */
+    public <E> ConfigIterator<E> stream(String path, String pointer, Class<E> elementType) throws IOException, ConfigException {
+        final File file = resolveFile(path);
+        log.info("Streaming '{}' of application configuration from path '{}'", pointer, file.getAbsolutePath());
+        final ElementIterator<E> elements = new ElementIterator<>(path, file, JsonPointer.compile(pointer), elementType);
+        try {
+            elements.open(false);
+            return elements;
+        } catch (IOException | ConfigException | RuntimeException e) {
+            elements.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams all documents of a multi-document file, e.g. YAML documents separated by {@code ---}, through a single
+     * parser. Each document is bound when it is read and validated on the executor of {@link ConfigExecutors}, up to
+     * {@link #getValidationParallelism()} documents ahead of the caller, so only that many documents are held in memory.
+     * Documents are bound through the generated binder of the config class when it has one. Errors are reported with
+     * the index of the document, e.g. {@code [3].name}. The returned iterator has to be closed.
+     *
+     * @param path
+     *            the config file
+     * @return iterator over the documents in file order
+     * @throws IOException
+     *             if the file can not be read
+     */
+    public ConfigIterator<T> documents(String path) throws IOException, ConfigException {
+        final File file = resolveFile(path);
+        log.info("Streaming documents of application configuration from path '{}'", file.getAbsolutePath());
+        final DocumentIterator documents = new DocumentIterator(path, file);
+        documents.open(false);
+        return documents;
+    }
+
+    /**
+     * Loads all documents of a multi-document file like {@link #documents(String)}, keyed by the value of a property of
+     * each document, e.g. the tenant id. The errors of all documents, including missing and duplicate keys, are
+     * reported together.
+     *
+     * @param path
+     *            the config file
+     * @param keyProperty
+     *            the property of the config class holding the key
+     * @return the documents by key, in file order
+     * @throws IOException
+     *             if the file can not be read
+     * @throws ConfigException
+     *             if the file is malformed or any document can not be bound, is not valid or has no unique key
+     */
+    public Map<String, T> loadDocuments(String path, String keyProperty) throws IOException, ConfigException {
+        final AnnotatedMember key = keyAccessor(keyProperty);
+        final Map<String, T> configs = new LinkedHashMap<>();
+        final Map<String, Integer> indexes = new HashMap<>();
+        final List<String> errors = new ArrayList<>();
+        try (ConfigIterator<T> documents = documents(path)) {
+            for (int index = 0; documents.hasNext(); index++) {
+                final T config;
+                try {
+                    config = documents.next();
+                } catch (ConfigException e) {
+                    errors.addAll(e.getErrors());
+                    continue;
+                }
+
+                final Object value = key.getValue(config);
+                if (value == null) {
+                    errors.add("Missing key at: [" + index + "]." + keyProperty);
+                    continue;
+                }
+                final Integer previous = indexes.putIfAbsent(value.toString(), index);
+                if (previous != null) {
+                    errors.add("Duplicate key at: [" + index + "]." + keyProperty + "; '" + value + "' is already used at: [" + previous + "]");
+                    continue;
+                }
+                configs.put(value.toString(), config);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ConfigException(path, errors);
+        }
+        return configs;
+    }
+
+    private AnnotatedMember keyAccessor(String keyProperty) {
+        final BeanDescription description = getMapper().getDeserializationConfig().introspect(getMapper().constructType(klass));
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.getName().equals(keyProperty) && property.getAccessor() != null) {
+                final AnnotatedMember accessor = property.getAccessor();
+                accessor.fixAccess(true);
+                return accessor;
+            }
+        }
+        throw new IllegalArgumentException("No readable property '" + keyProperty + "' in " + klass.getName());
+    }
+
+    public int getValidationParallelism() {
+        return validationParallelism;
+    }
+
+    /**
+     * Sets how many documents {@link #documents(String)} validates at the same time, {@code 1} validates each document
+     * on the calling thread when it is returned.
+     */
+    public void setValidationParallelism(int validationParallelism) {
+        if (validationParallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + validationParallelism);
+        }
+        this.validationParallelism = validationParallelism;
+    }
+
+    /**
+     * Parses the config file into a tree without binding it.
+     *
+     * @param path
+     *            the config file
+     * @return the root node, an empty object node if the file has no content
+     * @throws IOException
+     *             if the file can not be read
+     * @throws ConfigException
+     *             if the file is malformed
+     */
+    public JsonNode readTree(String path) throws IOException, ConfigException {
+        final File file = resolveFile(path);
+        try {
+            final JsonNode tree = readTree(file);
+            return tree == null || tree.isMissingNode() ? getMapper().createObjectNode() : tree;
+        } catch (JsonProcessingException e) {
+            throw toConfigException(path, e);
+        }
+    }
+
+    private JsonNode readTree(File file) throws IOException, ConfigException {
+        return read(file, getMapper()::readTree);
+    }
+
+    @FunctionalInterface
+    private interface ParserReader<R> {
+        R read(JsonParser parser) throws IOException, ConfigException;
+    }
+
+    /**
+     * Reads the file directly, or through the {@link ConfigResolver} once the first placeholder or include is found.
+     */
+    private <R> R read(File file, ParserReader<R> reader) throws IOException, ConfigException {
+        try (JsonParser parser = ConfigResolver.detecting(getMapper().getFactory().createParser(file))) {
+            return reader.read(parser);
+        } catch (IOException e) {
+            if (!ConfigResolver.isResolutionRequired(e)) {
+                throw e;
+            }
+        }
+
+        log.debug("Resolving placeholders and includes of configuration file '{}'", file);
+        try (JsonParser parser = ConfigResolver.getShared().resolve(file)) {
+            return reader.read(parser);
+        }
+    }
+
+    /**
+     * Opens the file directly, or through the {@link ConfigResolver} if {@code resolve} is set. A parser opened directly
+     * fails with an exception recognized by {@link ConfigResolver#isResolutionRequired(Throwable)} at the first
+     * placeholder or include.
+     */
+    private JsonParser open(File file, boolean resolve) throws IOException, ConfigException {
+        if (resolve) {
+            log.debug("Resolving placeholders and includes of configuration file '{}'", file);
+            return ConfigResolver.getShared().resolve(file);
+        }
+        return ConfigResolver.detecting(getMapper().getFactory().createParser(file));
+    }
+
+    private File resolveFile(String path) throws ConfigException {
+        if (this.filePath != null && path != null && !Objects.equals(filePath, new File(path))) {
+            throw new ConfigException(path, Arrays.asList("Invalid parser. '" + this.getFormat() + "' can not be used for given path: " + path));
+        }
+        final File file = path == null ? filePath : new File(path);
+        if (file == null) {
+            throw new ConfigException(path, Arrays.asList("No configuration file given"));
+        }
+        return file;
+    }
+
+    @Override
+    protected ConfigException toConfigException(String path, JsonProcessingException e) {
+        if (e instanceof JsonMappingException) {
+            return super.toConfigException(path, e);
+        }
+        return new ConfigException(path, formatError("Malformed " + getFormat(), e.getMessage(), null, e.getLocation(), null), e);
+    }
+
+    /**
+     * Advances the parser to the value at the given pointer, skipping everything before it.
+     *
+     * @return {@code true} if the parser is positioned at the start of a list found at the pointer
+     */
+    private static boolean moveTo(JsonParser parser, JsonPointer pointer) throws IOException {
+        JsonToken token = parser.nextToken();
+        JsonPointer remaining = pointer;
+        while (!remaining.matches()) {
+            boolean found = false;
+            if (token == JsonToken.START_OBJECT) {
+                final String property = remaining.getMatchingProperty();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    token = parser.nextToken();
+                    if (property.equals(name)) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            } else if (token == JsonToken.START_ARRAY && remaining.getMatchingIndex() >= 0) {
+                final int index = remaining.getMatchingIndex();
+                int i = 0;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    if (i++ == index) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            }
+
+            if (!found) {
+                return false;
+            }
+            remaining = remaining.tail();
+        }
+        return token == JsonToken.START_ARRAY;
+    }
+
+    private final class DocumentIterator implements ConfigIterator<T> {
+        private final String path;
+        private final File file;
+        private final int parallelism = validationParallelism;
+        private final Deque<CompletableFuture<T>> pending = new ArrayDeque<>();
+        private JsonParser parser;
+        private JsonStreamContext root;
+        private boolean resolved;
+        private boolean broken;
+        private int index = 0;
+
+        private DocumentIterator(String path, File file) {
+            this.path = path;
+            this.file = file;
+        }
+
+        private void open(boolean resolve) throws IOException, ConfigException {
+            parser = ConfigFileParser.this.open(file, resolve);
+            resolved = resolve;
+            root = parser.getParsingContext();
+            // skip the documents read before the file turned out to need resolving
+            for (int i = 0; i < index && parser.nextToken() != null; i++) {
+                parser.skipChildren();
+            }
+            parser.clearCurrentToken();
+        }
+
+        /**
+         * Reads the file again through the resolver if reading it failed at a placeholder or include.
+         */
+        private boolean reopen(IOException e) throws IOException, ConfigException {
+            if (resolved || !ConfigResolver.isResolutionRequired(e)) {
+                return false;
+            }
+            parser.close();
+            broken = true;
+            open(true);
+            broken = false;
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException, ConfigException {
+            if (!pending.isEmpty()) {
+                return true;
+            }
+            return !broken && hasNextDocument();
+        }
+
+        private boolean hasNextDocument() throws IOException, ConfigException {
+            try {
+                return parser.hasCurrentToken() || parser.nextToken() != null;
+            } catch (IOException e) {
+                if (reopen(e)) {
+                    return hasNextDocument();
+                }
+                throw malformed(e);
+            }
+        }
+
+        @Override
+        public T next() throws IOException, ConfigException {
+            if (parallelism == 1) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final String prefix = "[" + index + "]";
+                final T document = read();
+                validate(document, prefix);
+                return document;
+            }
+
+            // keep up to parallelism documents validating ahead of the caller
+            while (pending.size() < parallelism && !broken) {
+                final CompletableFuture<T> document = readAhead();
+                if (document == null) {
+                    break;
+                }
+                pending.add(document);
+            }
+            if (pending.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return await(pending.poll());
+        }
+
+        /**
+         * @return the validation of the next document, failed if it can not be read, {@code null} if there is none
+         */
+        private CompletableFuture<T> readAhead() throws IOException {
+            try {
+                if (!hasNextDocument()) {
+                    return null;
+                }
+                final String prefix = "[" + index + "]";
+                final T document = read();
+                return ConfigExecutors.supply(() -> {
+                    validate(document, prefix);
+                    return document;
+                }, ConfigExecutors.getDefault());
+            } catch (ConfigException e) {
+                // reported in order, once the documents before it were returned
+                return failed(e);
+            }
+        }
+
+        private CompletableFuture<T> failed(ConfigException e) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        private T read() throws IOException, ConfigException {
+            final int current = index;
+            final T document;
+            try {
+                document = bind(parser);
+            } catch (IOException e) {
+                if (reopen(e)) {
+                    return read();
+                }
+                if (!(e instanceof JsonMappingException)) {
+                    throw malformed(e);
+                }
+                index++;
+                final JsonMappingException mappingError = (JsonMappingException) e;
+                mappingError.prependPath(null, current);
+                skipDocument();
+                throw toConfigException(path, mappingError);
+            }
+            index++;
+            parser.clearCurrentToken();
+            return document;
+        }
+
+        /**
+         * Skips the rest of a document that failed to bind, so the next one can be read.
+         */
+        private void skipDocument() throws IOException, ConfigException {
+            try {
+                while (parser.getParsingContext() != root) {
+                    final JsonToken token = parser.nextToken();
+                    if (token == null) {
+                        break;
+                    }
+                    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    }
+                }
+                parser.clearCurrentToken();
+            } catch (IOException e) {
+                if (!reopen(e)) {
+                    // the binding error is reported, the rest of the file can not be read
+                    broken = true;
+                    log.debug("Failed to skip configuration document of '{}'", path, e);
+                }
+            }
+        }
+
+        /**
+         * Marks the rest of the file as unreadable.
+         */
+        private ConfigException malformed(IOException e) throws IOException {
+            broken = true;
+            if (e instanceof JsonProcessingException) {
+                return toConfigException(path, (JsonProcessingException) e);
+            }
+            throw e;
+        }
+
+        private T await(CompletableFuture<T> future) throws IOException, ConfigException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while validating configuration document");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof ConfigException) {
+                    throw (ConfigException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (parser != null) {
+                parser.close();
+            }
+        }
+    }
+
+    private final class ElementIterator<E> implements ConfigIterator<E> {
+        private final String path;
+        private final File file;
+        private final JsonPointer pointer;
+        private final Class<E> elementType;
+        private final List<JsonPointer> listPath = new ArrayList<>();
+        private final String listPropertyPath;
+        private JsonParser parser;
+        private MappingIterator<E> elements;
+        private boolean resolved;
+        private int index = 0;
+
+        private ElementIterator(String path, File file, JsonPointer pointer, Class<E> elementType) {
+            this.path = path;
+            this.file = file;
+            this.pointer = pointer;
+            this.elementType = elementType;
+
+            final StringBuilder propertyPath = new StringBuilder();
+            for (JsonPointer segment = pointer; !segment.matches(); segment = segment.tail()) {
+                listPath.add(segment);
+                if (segment.getMatchingIndex() >= 0) {
+                    propertyPath.append('[').append(segment.getMatchingIndex()).append(']');
+                } else {
+                    propertyPath.append(propertyPath.length() == 0 ? "" : ".").append(segment.getMatchingProperty());
+                }
+            }
+            this.listPropertyPath = propertyPath.toString();
+        }
+
+        private void open(boolean resolve) throws IOException, ConfigException {
+            parser = ConfigFileParser.this.open(file, resolve);
+            resolved = resolve;
+            try {
+                if (!moveTo(parser, pointer)) {
+                    throw new ConfigException(path, Arrays.asList("No list found at '" + pointer + "'"));
+                }
+                // skip the elements read before the file turned out to need resolving
+                for (int i = 0; i < index && parser.nextToken() != JsonToken.END_ARRAY; i++) {
+                    parser.skipChildren();
+                }
+                // leave the parser inside the list, so the iterator reads its elements rather than the list itself
+                parser.clearCurrentToken();
+                elements = readerFor(elementType).readValues(parser);
+            } catch (IOException e) {
+                if (reopen(e)) {
+                    return;
+                }
+                if (e instanceof JsonProcessingException) {
+                    throw toConfigException(path, (JsonProcessingException) e);
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Reads the file again through the resolver if reading it failed at a placeholder or include.
+         */
+        private boolean reopen(IOException e) throws IOException, ConfigException {
+            if (resolved || !ConfigResolver.isResolutionRequired(e)) {
+                return false;
+            }
+            close();
+            open(true);
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException, ConfigException {
+            try {
+                return elements.hasNextValue();
+            } catch (IOException e) {
+                if (reopen(e)) {
+                    return hasNext();
+                }
+                if (e instanceof JsonProcessingException) {
+                    throw toConfigException(path, (JsonProcessingException) e);
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public E next() throws IOException, ConfigException {
+            final int current = index;
+            final E element;
+            try {
+                element = elements.nextValue();
+            } catch (IOException e) {
+                if (reopen(e)) {
+                    return next();
+                }
+                index++;
+                if (e instanceof JsonMappingException) {
+                    // report the location of the failing element within the whole document
+                    final JsonMappingException mappingError = (JsonMappingException) e;
+                    mappingError.prependPath(null, current);
+                    for (int i = listPath.size() - 1; i >= 0; i--) {
+                        final JsonPointer segment = listPath.get(i);
+                        if (segment.getMatchingIndex() >= 0) {
+                            mappingError.prependPath(null, segment.getMatchingIndex());
+                        } else {
+                            mappingError.prependPath(null, segment.getMatchingProperty());
+                        }
+                    }
+                }
+                if (e instanceof JsonProcessingException) {
+                    throw toConfigException(path, (JsonProcessingException) e);
+                }
+                throw e;
+            }
+
+            index++;
+            validate(element, listPropertyPath + "[" + current + "]");
+            return element;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (elements != null) {
+                elements.close();
+            }
+            if (parser != null) {
+                parser.close();
+            }
+        }
+    }
+
+    /**
+     * Binds the file, memory mapping it when it is at least {@link #getMappedReadThreshold()} bytes large. Mapped files
+     * are fed to Jackson straight from the mapped buffer, without copying the whole file onto the heap. Files with
+     * placeholders or includes are read again through the {@link ConfigResolver} once the first of them is found.
+     */
+    protected T readConfig(File file) throws IOException, ConfigException {
+        try {
+            return readDirect(file);
+        } catch (IOException e) {
+            if (!ConfigResolver.isResolutionRequired(e)) {
+                throw e;
+            }
+        }
+
+        log.debug("Resolving placeholders and includes of configuration file '{}'", file);
+        try (JsonParser parser = ConfigResolver.getShared().resolve(file)) {
+            return bind(parser);
+        }
+    }
+
+    private T readDirect(File file) throws IOException {
+        final long size = file.length();
+        final boolean mapped = size >= mappedReadThreshold && size <= Integer.MAX_VALUE;
+        if (InstrumentationRegistry.isEnabled()) {
+            return readInstrumented(file, mapped);
+        }
+
+        final JsonParser raw = mapped ? getMapper().getFactory().createParser(openMapped(file, size))
+                : getMapper().getFactory().createParser(file);
+        try (JsonParser parser = ConfigResolver.detecting(raw)) {
+            return bind(parser);
+        }
+    }
+
+    private InputStream openMapped(File file, long size) throws IOException {
+        log.debug("Memory mapping configuration file '{}' of {} bytes", file, size);
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new ByteBufferBackedInputStream(buffer);
+        }
+    }
+
+    /**
+     * Binds the file like {@link #readConfig(File)}, reporting the time spent reading, tokenizing and binding to the
+     * registered {@link ConfigInstrumentation}.
+     */
+    private T readInstrumented(File file, boolean mapped) throws IOException {
+        final ConfigInstrumentation instrumentation = InstrumentationRegistry.get();
+        final String source = file.getPath();
+        final long start = System.nanoTime();
+        final InputStream raw = mapped ? openMapped(file, file.length()) : new FileInputStream(file);
+        try (InstrumentedInputStream in = new InstrumentedInputStream(raw);
+                InstrumentedParser parser = new InstrumentedParser(getMapper().getFactory().createParser(in))) {
+            final T config = bind(ConfigResolver.detecting(parser));
+            final long total = System.nanoTime() - start;
+
+            instrumentation.phaseCompleted(source, ConfigPhase.READ, in.getNanos());
+            instrumentation.phaseCompleted(source, ConfigPhase.PARSE, Math.max(0, parser.getNanos() - in.getNanos()));
+            instrumentation.phaseCompleted(source, ConfigPhase.BIND, Math.max(0, total - parser.getNanos()));
+            instrumentation.bytesRead(source, in.getBytes());
+            instrumentation.nodesParsed(source, parser.getNodes());
+            return config;
+        }
+    }
+
 }
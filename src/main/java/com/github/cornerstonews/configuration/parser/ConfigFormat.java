@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+public enum ConfigFormat {
+
+    JSON(JsonFactory.FORMAT_NAME_JSON) {
+        @Override
+        protected JsonFactory createFactory() {
+            return new JsonFactory();
+        }
+    },
+
+    YAML(YAMLFactory.FORMAT_NAME_YAML) {
+        @Override
+        protected JsonFactory createFactory() {
+            return new YAMLFactory();
+        }
+    },
+
+    SMILE(SmileFactory.FORMAT_NAME_SMILE) {
+        @Override
+        protected JsonFactory createFactory() {
+            return new SmileFactory();
+        }
+    };
+
+    private final String formatName;
+
+    private ConfigFormat(String formatName) {
+        this.formatName = formatName;
+    }
+
+    protected abstract JsonFactory createFactory();
+
+    public String getFormatName() {
+        return formatName;
+    }
+
+    public ObjectMapper createMapper() {
+        return new ObjectMapper(createFactory());
+    }
+}
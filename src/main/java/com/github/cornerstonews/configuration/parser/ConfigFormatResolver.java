@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.util.LruCache;
+
+/**
+ * Resolves the format of config files by asking a chain of {@link FormatDetector}s in order, by default the file
+ * extension first and the file content second. Results are cached per path; a path whose file could not be read is
+ * detected again on the next call.
+ */
+public class ConfigFormatResolver {
+
+    private static final Logger log = LogManager.getLogger(ConfigFormatResolver.class);
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final ConfigFormatResolver SHARED = new ConfigFormatResolver(
+            Arrays.asList(FormatDetector.byExtension(), FormatDetector.byContent()), DEFAULT_CACHE_SIZE);
+
+    private final List<FormatDetector> detectors;
+    private final LruCache<String, Optional<ConfigFormat>> formats;
+
+    public ConfigFormatResolver(List<FormatDetector> detectors, int cacheSize) {
+        this.detectors = new CopyOnWriteArrayList<>(detectors);
+        this.formats = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * @return the resolver used by the config parsers and {@code ConfigFactory}
+     */
+    public static ConfigFormatResolver getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Adds a detector that is asked before the existing ones.
+     */
+    public void addDetector(FormatDetector detector) {
+        detectors.add(0, Objects.requireNonNull(detector, "detector"));
+        formats.clear();
+    }
+
+    /**
+     * @param path
+     *            the config file
+     * @return the format of the file, or {@code null} if no detector recognized it
+     */
+    public ConfigFormat resolve(String path) {
+        if (path == null) {
+            return null;
+        }
+        final Optional<ConfigFormat> cached = formats.get(path);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        final Path file;
+        try {
+            file = Paths.get(path);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+
+        for (FormatDetector detector : detectors) {
+            final ConfigFormat format;
+            try {
+                format = detector.detect(file);
+            } catch (IOException e) {
+                log.debug("Could not detect format of '{}'. {}", path, e.getMessage());
+                return null;
+            }
+            if (format != null) {
+                formats.put(path, Optional.of(format));
+                return format;
+            }
+        }
+        formats.put(path, Optional.empty());
+        return null;
+    }
+
+    /**
+     * Forgets the cached format of the path, e.g. after the file was replaced by one in another format.
+     */
+    public void invalidate(String path) {
+        formats.remove(path);
+    }
+
+    public void clear() {
+        formats.clear();
+    }
+}
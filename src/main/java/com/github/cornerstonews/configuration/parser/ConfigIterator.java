@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import com.github.cornerstonews.configuration.ConfigException;
+
+/**
+ * Iterator over configuration values that are parsed, bound and validated one at a time. Unlike
+ * {@link java.util.Iterator} it reports binding and validation errors as {@link ConfigException}s. After an element
+ * failed to bind, iteration can continue with the next element.
+ *
+ * @param <E> the element type
+ */
+public interface ConfigIterator<E> extends Closeable {
+
+    /**
+     * @return {@code true} if there is another element
+     * @throws IOException
+     *             if the source can not be read
+     * @throws ConfigException
+     *             if the source is malformed
+     */
+    boolean hasNext() throws IOException, ConfigException;
+
+    /**
+     * Reads, binds and validates the next element.
+     *
+     * @return the next element
+     * @throws IOException
+     *             if the source can not be read
+     * @throws ConfigException
+     *             if the element can not be bound or is not valid
+     * @throws NoSuchElementException
+     *             if there are no more elements
+     */
+    E next() throws IOException, ConfigException;
+}
@@ -0,0 +1,702 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.util.LruCache;
+
+/**
+ * Resolves placeholders and includes in config files.
+ * <p>
+ * String values may contain placeholders {@code ${name}} or {@code ${name:default}}. A placeholder is replaced by the
+ * value at the config path {@code name}, such as {@code db.host} or {@code servers[0].port}, or else by the
+ * environment variable {@code name}, or else by its default. A YAML value tagged {@code !include other.yaml}, or in
+ * either format the string {@code "!include other.json"}, is replaced by the content of the named file, which is
+ * resolved relative to the including file.
+ * <p>
+ * Every file is read once into a token buffer. Included files are loaded concurrently as soon as they are encountered
+ * and cached as long as they do not change; each resolution checks every included file for changes again. The buffers
+ * are spliced into one token stream and placeholders are replaced while it is bound. Unresolvable placeholders,
+ * placeholder cycles, missing includes and include cycles are reported with the line and column they occur at.
+ */
+public final class ConfigResolver {
+
+    private static final Logger log = LogManager.getLogger(ConfigResolver.class);
+
+    public static final int DEFAULT_CACHE_SIZE = 128;
+
+    public static final int MAX_INCLUDE_DEPTH = 32;
+
+    static final String INCLUDE_TAG = "include";
+    static final String INCLUDE_PREFIX = "!include ";
+
+    private static final long MODIFICATION_TIME_GRANULARITY_MILLIS = 2000;
+
+    private static final String NON_SCALAR = new String("<non-scalar>");
+
+    private static final ConfigResolver SHARED = new ConfigResolver(ForkJoinPool.commonPool(), System.getenv(), DEFAULT_CACHE_SIZE);
+
+    private final Executor executor;
+    private final Map<String, String> env;
+    private final LruCache<Path, Loaded> documents;
+    private final LruCache<Path, List<Path>> includedFiles;
+    private final LruCache<Path, List<String>> environmentVariables;
+
+    public ConfigResolver(Executor executor, Map<String, String> env, int cacheSize) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.env = Objects.requireNonNull(env, "env");
+        this.documents = new LruCache<>(cacheSize);
+        this.includedFiles = new LruCache<>(cacheSize);
+        this.environmentVariables = new LruCache<>(cacheSize);
+    }
+
+    public static ConfigResolver getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Reads the file, resolving its includes and placeholders.
+     *
+     * @return a parser over the resolved content of the file
+     * @throws IOException
+     *             if the file or one of its includes can not be read
+     * @throws ConfigException
+     *             if a file is malformed, an include or placeholder can not be resolved, or includes or placeholders
+     *             form a cycle
+     */
+    public JsonParser resolve(File file) throws IOException, ConfigException {
+        final Path root = file.toPath().toAbsolutePath().normalize();
+        // includes found while parsing are loaded ahead for this resolution only, the cached documents keep their paths
+        final Map<Path, CompletableFuture<Document>> prefetched = new ConcurrentHashMap<>();
+        final Document document = await(load(root, 0, false, prefetched), root, null);
+
+        final Map<Include, Document> includes = new IdentityHashMap<>();
+        final Set<Document> all = new LinkedHashSet<>();
+        final List<Path> chain = new ArrayList<>();
+        chain.add(root);
+        collect(document, chain, includes, all, prefetched);
+
+        final Set<Path> dependencies = new LinkedHashSet<>();
+        for (Document included : all) {
+            if (included != document) {
+                dependencies.add(included.path);
+            }
+        }
+        includedFiles.put(root, Collections.unmodifiableList(new ArrayList<>(dependencies)));
+
+        final Set<String> names = new HashSet<>();
+        for (Document included : all) {
+            for (Placeholder placeholder : included.placeholders) {
+                names.add(placeholder.name);
+            }
+        }
+        if (names.isEmpty()) {
+            environmentVariables.put(root, Collections.<String> emptyList());
+        }
+        if (names.isEmpty() && includes.isEmpty()) {
+            return document.tokens.asParser();
+        }
+
+        final TokenBuffer out = new TokenBuffer(null, false);
+        final Map<String, String> values = new HashMap<>();
+        splice(document, out, includes, names.isEmpty() ? null : new PathTracker(names, values));
+        if (names.isEmpty()) {
+            return out.asParser();
+        }
+
+        final Map<String, String> resolved = new HashMap<>();
+        for (Document included : all) {
+            for (Placeholder placeholder : included.placeholders) {
+                final String value = resolveName(placeholder.name, included, placeholder, values, resolved, new ArrayList<>());
+                if (value == null && placeholder.defaultValue == null) {
+                    throw new ConfigException(included.path.toString(),
+                            error("Unresolved placeholder", placeholder.location, "${" + placeholder.name + "} is neither a config path nor an environment variable"));
+                }
+            }
+        }
+        final List<String> variables = new ArrayList<>();
+        for (String name : resolved.keySet()) {
+            if (values.get(name) == null) {
+                variables.add(name);
+            }
+        }
+        Collections.sort(variables);
+        environmentVariables.put(root, Collections.unmodifiableList(variables));
+        return new InterpolatingParser(out.asParser(), resolved);
+    }
+
+    /**
+     * @return the files included, directly or indirectly, when the given file was last resolved
+     */
+    public List<Path> getIncludedFiles(Path file) {
+        final List<Path> included = includedFiles.get(file.toAbsolutePath().normalize());
+        return included == null ? Collections.<Path> emptyList() : included;
+    }
+
+    /**
+     * @return the environment variables placeholders of the given file, or of the files it includes, were resolved from
+     *         when it was last resolved
+     */
+    public List<String> getEnvironmentVariables(Path file) {
+        final List<String> variables = environmentVariables.get(file.toAbsolutePath().normalize());
+        return variables == null ? Collections.<String> emptyList() : variables;
+    }
+
+    /**
+     * Records the files and environment variables a file was resolved from without resolving it, for configurations
+     * loaded from a snapshot of the file instead.
+     */
+    void record(Path file, List<Path> included, List<String> variables) {
+        final Path path = file.toAbsolutePath().normalize();
+        includedFiles.put(path, Collections.unmodifiableList(new ArrayList<>(included)));
+        environmentVariables.put(path, Collections.unmodifiableList(new ArrayList<>(variables)));
+    }
+
+    public void invalidate(Path file) {
+        final Path path = file.toAbsolutePath().normalize();
+        documents.removeIf(key -> key.equals(path));
+        includedFiles.removeIf(key -> key.equals(path));
+        environmentVariables.removeIf(key -> key.equals(path));
+    }
+
+    public void clear() {
+        documents.clear();
+        includedFiles.clear();
+        environmentVariables.clear();
+    }
+
+    /**
+     * Wraps a parser so reading a string value that has to be resolved fails with an exception recognized by
+     * {@link #isResolutionRequired(Throwable)}, allowing files without placeholders and includes to be bound directly.
+     */
+    static JsonParser detecting(JsonParser parser) {
+        return new DetectingParser(parser);
+    }
+
+    static boolean isResolutionRequired(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResolutionRequiredException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CompletableFuture<Document> load(Path path, int depth, boolean async, Map<Path, CompletableFuture<Document>> prefetched) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            final CompletableFuture<Document> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        final long size = attributes.size();
+        final long modified = attributes.lastModifiedTime().toMillis();
+
+        final Loaded cached = documents.get(path);
+        if (cached != null && cached.size == size && cached.modifiedMillis == modified && !cached.document.isCompletedExceptionally()) {
+            return cached.document;
+        }
+
+        final CompletableFuture<Document> document;
+        if (async) {
+            document = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return parse(path, depth, prefetched);
+                } catch (IOException | ConfigException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } else {
+            document = new CompletableFuture<>();
+            try {
+                document.complete(parse(path, depth, prefetched));
+            } catch (IOException | ConfigException | RuntimeException e) {
+                document.completeExceptionally(e);
+            }
+        }
+        // a file modified within the granularity of its modification time could change unnoticed
+        if (System.currentTimeMillis() - modified >= MODIFICATION_TIME_GRANULARITY_MILLIS) {
+            documents.put(path, new Loaded(size, modified, document));
+        }
+        return document;
+    }
+
+    private Document parse(Path path, int depth, Map<Path, CompletableFuture<Document>> prefetched) throws IOException, ConfigException {
+        final ConfigFormat format = ConfigFormatResolver.getShared().resolve(path.toString());
+        // YAML being a superset of JSON, it is the better guess for files of unknown format
+        final ObjectMapper mapper = ObjectReaderRegistry.getShared().getMapper(format == null ? ConfigFormat.YAML : format, true);
+        try (JsonParser parser = mapper.getFactory().createParser(path.toFile())) {
+            final TokenBuffer tokens = new TokenBuffer(parser);
+            final List<Placeholder> placeholders = new ArrayList<>();
+            final List<Include> includes = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.VALUE_STRING) {
+                    final String text = parser.getText();
+                    final boolean tagged = isIncludeTag(parser);
+                    if (tagged || text.startsWith(INCLUDE_PREFIX)) {
+                        final Path target = path.resolveSibling((tagged ? text : text.substring(INCLUDE_PREFIX.length())).trim()).normalize();
+                        final Include include = new Include(target, parser.getTokenLocation());
+                        if (depth < MAX_INCLUDE_DEPTH && !prefetched.containsKey(target)) {
+                            prefetched.putIfAbsent(target, load(target, depth + 1, true, prefetched));
+                        }
+                        includes.add(include);
+                        tokens.writeEmbeddedObject(include);
+                        continue;
+                    }
+                    if (text.indexOf("${") >= 0) {
+                        parsePlaceholders(path, text, parser.getTokenLocation(), placeholders);
+                    }
+                }
+                tokens.copyCurrentEvent(parser);
+            }
+            log.debug("Read '{}' with {} placeholders and {} includes", path, placeholders.size(), includes.size());
+            return new Document(path, tokens, placeholders, includes);
+        } catch (JsonProcessingException e) {
+            throw new ConfigException(path.toString(), error("Malformed configuration", e.getLocation(), e.getOriginalMessage()), e);
+        }
+    }
+
+    private static void parsePlaceholders(Path path, String text, JsonLocation location, List<Placeholder> placeholders) throws ConfigException {
+        int start = text.indexOf("${");
+        while (start >= 0) {
+            final int end = text.indexOf('}', start + 2);
+            if (end < 0) {
+                throw new ConfigException(path.toString(), error("Unterminated placeholder", location, text));
+            }
+            final int colon = text.indexOf(':', start + 2);
+            final String name = (colon < 0 || colon > end ? text.substring(start + 2, end) : text.substring(start + 2, colon)).trim();
+            if (name.isEmpty()) {
+                throw new ConfigException(path.toString(), error("Empty placeholder", location, text));
+            }
+            placeholders.add(new Placeholder(name, colon < 0 || colon > end ? null : text.substring(colon + 1, end), location));
+            start = text.indexOf("${", end + 1);
+        }
+    }
+
+    /**
+     * Replaces the placeholders in the text with the values looked up by name, or their defaults.
+     */
+    private static String interpolate(String text, Lookup lookup) throws ConfigException {
+        final StringBuilder sb = new StringBuilder(text.length() + 16);
+        int last = 0;
+        int start = text.indexOf("${");
+        while (start >= 0) {
+            final int end = text.indexOf('}', start + 2);
+            if (end < 0) {
+                break;
+            }
+            final int colon = text.indexOf(':', start + 2);
+            final boolean hasDefault = colon >= 0 && colon < end;
+            final String name = (hasDefault ? text.substring(start + 2, colon) : text.substring(start + 2, end)).trim();
+            final String value = lookup.get(name);
+            sb.append(text, last, start);
+            if (value != null) {
+                sb.append(value);
+            } else if (hasDefault) {
+                sb.append(text, colon + 1, end);
+            }
+            last = end + 1;
+            start = text.indexOf("${", last);
+        }
+        return sb.append(text, last, text.length()).toString();
+    }
+
+    private String resolveName(String name, Document document, Placeholder origin, Map<String, String> values, Map<String, String> resolved,
+            List<String> chain) throws ConfigException {
+        if (resolved.containsKey(name)) {
+            return resolved.get(name);
+        }
+        final String raw = values.get(name);
+        if (raw == NON_SCALAR) {
+            throw new ConfigException(document.path.toString(), error("Invalid placeholder", origin.location, "${" + name + "} refers to an object or list"));
+        }
+        if (raw == null || raw.indexOf("${") < 0) {
+            final String value = raw != null ? raw : env.get(name);
+            resolved.put(name, value);
+            return value;
+        }
+        if (chain.contains(name)) {
+            chain.add(name);
+            throw new ConfigException(document.path.toString(), error("Placeholder cycle", origin.location, String.join(" -> ", chain)));
+        }
+
+        chain.add(name);
+        final String value = interpolate(raw, inner -> resolveName(inner, document, origin, values, resolved, chain));
+        chain.remove(chain.size() - 1);
+        resolved.put(name, value);
+        return value;
+    }
+
+    private void collect(Document document, List<Path> chain, Map<Include, Document> includes, Set<Document> all,
+            Map<Path, CompletableFuture<Document>> prefetched) throws IOException, ConfigException {
+        all.add(document);
+        for (Include include : document.includes) {
+            if (chain.contains(include.path)) {
+                final List<String> cycle = new ArrayList<>();
+                for (Path path : chain.subList(chain.indexOf(include.path), chain.size())) {
+                    cycle.add(path.getFileName().toString());
+                }
+                cycle.add(include.path.getFileName().toString());
+                throw new ConfigException(document.path.toString(), error("Include cycle", include.location, String.join(" -> ", cycle)));
+            }
+            if (chain.size() > MAX_INCLUDE_DEPTH) {
+                throw new ConfigException(document.path.toString(), error("Includes nested too deep", include.location, "more than " + MAX_INCLUDE_DEPTH + " levels"));
+            }
+
+            final CompletableFuture<Document> future = prefetched.get(include.path);
+            final Document included = await(future != null ? future : load(include.path, chain.size(), false, prefetched), document.path, include);
+            includes.put(include, included);
+            chain.add(include.path);
+            collect(included, chain, includes, all, prefetched);
+            chain.remove(chain.size() - 1);
+        }
+    }
+
+    private static Document await(CompletableFuture<Document> future, Path path, Include include) throws IOException, ConfigException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading configuration file " + path, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+            if (include != null && cause instanceof NoSuchFileException) {
+                throw new ConfigException(path.toString(), error("Missing include", include.location, include.path.toString()), cause);
+            }
+            if (cause instanceof ConfigException) {
+                throw (ConfigException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void splice(Document document, TokenBuffer out, Map<Include, Document> includes, PathTracker tracker) throws IOException {
+        try (JsonParser parser = document.tokens.asParser()) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.VALUE_EMBEDDED_OBJECT && parser.getEmbeddedObject() instanceof Include) {
+                    final Document included = includes.get(parser.getEmbeddedObject());
+                    if (included.tokens.firstToken() == null) {
+                        if (tracker != null) {
+                            tracker.onToken(JsonToken.VALUE_NULL, parser);
+                        }
+                        out.writeNull();
+                    } else {
+                        splice(included, out, includes, tracker);
+                    }
+                    continue;
+                }
+                if (tracker != null) {
+                    tracker.onToken(token, parser);
+                }
+                out.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    private static boolean isIncludeTag(JsonParser parser) throws IOException {
+        return parser.canReadTypeId() && INCLUDE_TAG.equals(parser.getTypeId());
+    }
+
+    private static List<String> error(String summary, JsonLocation location, String detail) {
+        final StringBuilder sb = new StringBuilder(summary);
+        if (location != null && location != JsonLocation.NA) {
+            sb.append(" at line: ").append(location.getLineNr()).append(", column: ").append(location.getColumnNr());
+        }
+        if (detail != null) {
+            sb.append("; ").append(detail);
+        }
+        return Arrays.asList(sb.toString());
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        String get(String name) throws ConfigException;
+    }
+
+    /**
+     * Records the values found at the config paths placeholders refer to, while the spliced document is written.
+     */
+    private static final class PathTracker {
+        private final Set<String> names;
+        private final Map<String, String> values;
+        private final StringBuilder path = new StringBuilder();
+        private final Deque<int[]> frames = new ArrayDeque<>();
+
+        private PathTracker(Set<String> names, Map<String, String> values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        private void onToken(JsonToken token, JsonParser parser) throws IOException {
+            // a frame holds the length of the path of its container and, for lists, the index of the current element
+            final int[] frame = frames.peek();
+            switch (token) {
+            case FIELD_NAME:
+                path.setLength(frame[0]);
+                path.append(frame[0] == 0 ? "" : ".").append(parser.getCurrentName());
+                return;
+            case END_OBJECT:
+            case END_ARRAY:
+                frames.pop();
+                if (!frames.isEmpty()) {
+                    path.setLength(frames.peek()[0]);
+                }
+                return;
+            default:
+                break;
+            }
+
+            if (frame != null && frame[1] >= -1) {
+                path.setLength(frame[0]);
+                path.append('[').append(++frame[1]).append(']');
+            }
+            final String current = frame == null ? null : path.toString();
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                if (current != null && names.contains(current)) {
+                    values.put(current, NON_SCALAR);
+                }
+                frames.push(new int[] { path.length(), token == JsonToken.START_ARRAY ? -1 : -2 });
+            } else if (current != null && token != JsonToken.VALUE_NULL && names.contains(current)) {
+                values.put(current, parser.getText());
+            }
+        }
+    }
+
+    /**
+     * Replaces the placeholders of string values with their resolved values.
+     */
+    private static final class InterpolatingParser extends JsonParserDelegate {
+        private final Map<String, String> resolved;
+        private String text;
+
+        private InterpolatingParser(JsonParser parser, Map<String, String> resolved) {
+            super(parser);
+            this.resolved = resolved;
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            final JsonToken token = delegate.nextToken();
+            text = null;
+            if (token == JsonToken.VALUE_STRING) {
+                final String raw = delegate.getText();
+                if (raw.indexOf("${") >= 0) {
+                    try {
+                        text = interpolate(raw, resolved::get);
+                    } catch (ConfigException e) {
+                        // not thrown by lookups in the resolved values
+                        throw new IOException(e);
+                    }
+                }
+            }
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            final JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+
+        @Override
+        public JsonParser skipChildren() throws IOException {
+            text = null;
+            delegate.skipChildren();
+            return this;
+        }
+
+        @Override
+        public String getText() throws IOException {
+            return text != null ? text : delegate.getText();
+        }
+
+        @Override
+        public int getText(Writer writer) throws IOException {
+            if (text == null) {
+                return delegate.getText(writer);
+            }
+            writer.write(text);
+            return text.length();
+        }
+
+        @Override
+        public char[] getTextCharacters() throws IOException {
+            return text != null ? text.toCharArray() : delegate.getTextCharacters();
+        }
+
+        @Override
+        public int getTextLength() throws IOException {
+            return text != null ? text.length() : delegate.getTextLength();
+        }
+
+        @Override
+        public int getTextOffset() throws IOException {
+            return text != null ? 0 : delegate.getTextOffset();
+        }
+
+        @Override
+        public boolean hasTextCharacters() {
+            return text == null && delegate.hasTextCharacters();
+        }
+
+        @Override
+        public String getValueAsString() throws IOException {
+            return text != null ? text : delegate.getValueAsString();
+        }
+
+        @Override
+        public String getValueAsString(String defaultValue) throws IOException {
+            return text != null ? text : delegate.getValueAsString(defaultValue);
+        }
+    }
+
+    /**
+     * Fails as soon as a string value needs resolving.
+     */
+    private static final class DetectingParser extends JsonParserDelegate {
+
+        private DetectingParser(JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            final JsonToken token = delegate.nextToken();
+            if (token == JsonToken.VALUE_STRING) {
+                final String text = delegate.getText();
+                if (text.indexOf("${") >= 0 || text.startsWith(INCLUDE_PREFIX) || isIncludeTag(delegate)) {
+                    throw new ResolutionRequiredException();
+                }
+            }
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            final JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+    }
+
+    private static final class ResolutionRequiredException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private ResolutionRequiredException() {
+            super("Configuration has placeholders or includes to resolve");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class Document {
+        private final Path path;
+        private final TokenBuffer tokens;
+        private final List<Placeholder> placeholders;
+        private final List<Include> includes;
+
+        private Document(Path path, TokenBuffer tokens, List<Placeholder> placeholders, List<Include> includes) {
+            this.path = path;
+            this.tokens = tokens;
+            this.placeholders = placeholders;
+            this.includes = includes;
+        }
+    }
+
+    private static final class Placeholder {
+        private final String name;
+        private final String defaultValue;
+        private final JsonLocation location;
+
+        private Placeholder(String name, String defaultValue, JsonLocation location) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.location = location;
+        }
+    }
+
+    private static final class Include {
+        private final Path path;
+        private final JsonLocation location;
+
+        private Include(Path path, JsonLocation location) {
+            this.path = path;
+            this.location = location;
+        }
+    }
+
+    private static final class Loaded {
+        private final long size;
+        private final long modifiedMillis;
+        private final CompletableFuture<Document> document;
+
+        private Loaded(long size, long modifiedMillis, CompletableFuture<Document> document) {
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+            this.document = document;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sniffs the format from the first bytes of a file with a single small read. JSON is only reported for documents
+ * starting like JSON, so that YAML flow collections such as {@code {a: 1}} are not mistaken for it.
+ */
+final class ContentFormatDetector implements FormatDetector {
+
+    static final ContentFormatDetector INSTANCE = new ContentFormatDetector();
+
+    static final int SNIFF_LENGTH = 64;
+
+    private ContentFormatDetector() {
+    }
+
+    @Override
+    public ConfigFormat detect(Path file) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SNIFF_LENGTH);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(buffer);
+        }
+        buffer.flip();
+        return detect(buffer.array(), buffer.limit());
+    }
+
+    static ConfigFormat detect(byte[] bytes, int length) {
+        int i = 0;
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            i = 3;
+        } else if (length >= 2 && ((bytes[0] & 0xFF) == 0xFE || (bytes[0] & 0xFF) == 0xFF || bytes[0] == 0)) {
+            // UTF-16 or UTF-32, left to the parsers' own encoding detection
+            return null;
+        }
+
+        i = skipWhitespace(bytes, i, length);
+        if (i >= length) {
+            return null;
+        }
+
+        final byte first = bytes[i];
+        if (first == '{' || first == '[') {
+            final int next = skipWhitespace(bytes, i + 1, length);
+            if (next >= length) {
+                return null;
+            }
+            return startsJsonValue(first, bytes[next]) ? ConfigFormat.JSON : ConfigFormat.YAML;
+        }
+        if (first == '#' || first == '%' || startsWith(bytes, i, length, "---")) {
+            return ConfigFormat.YAML;
+        }
+        return startsMappingKey(bytes, i, length) ? ConfigFormat.YAML : null;
+    }
+
+    private static boolean startsJsonValue(byte container, byte next) {
+        if (container == '{') {
+            return next == '"' || next == '}';
+        }
+        return next == '"' || next == '{' || next == '[' || next == ']' || next == '-' || (next >= '0' && next <= '9') || next == 't'
+                || next == 'f' || next == 'n';
+    }
+
+    /**
+     * Checks for a plain YAML key such as {@code server:} or {@code - name:}.
+     */
+    private static boolean startsMappingKey(byte[] bytes, int i, int length) {
+        if (bytes[i] == '-') {
+            i = skipWhitespace(bytes, i + 1, length);
+        }
+        final int start = i;
+        while (i < length && (Character.isLetterOrDigit(bytes[i]) || bytes[i] == '_' || bytes[i] == '-' || bytes[i] == '.' || bytes[i] == '"'
+                || bytes[i] == '\'')) {
+            i++;
+        }
+        return i > start && i < length && bytes[i] == ':';
+    }
+
+    private static boolean startsWith(byte[] bytes, int i, int length, String prefix) {
+        if (i + prefix.length() > length) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length(); j++) {
+            if (bytes[i + j] != prefix.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(byte[] bytes, int i, int length) {
+        while (i < length && (bytes[i] == ' ' || bytes[i] == '\t' || bytes[i] == '\r' || bytes[i] == '\n')) {
+            i++;
+        }
+        return i;
+    }
+}
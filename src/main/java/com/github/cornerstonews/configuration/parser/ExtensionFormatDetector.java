@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.nio.file.Path;
+
+final class ExtensionFormatDetector implements FormatDetector {
+
+    static final ExtensionFormatDetector INSTANCE = new ExtensionFormatDetector();
+
+    private ExtensionFormatDetector() {
+    }
+
+    @Override
+    public ConfigFormat detect(Path file) {
+        final Path fileName = file.getFileName();
+        if (fileName == null) {
+            return null;
+        }
+        final String name = fileName.toString();
+        final int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        if (name.regionMatches(true, dot + 1, "json", 0, 4) && name.length() == dot + 5) {
+            return ConfigFormat.JSON;
+        }
+        if ((name.regionMatches(true, dot + 1, "yaml", 0, 4) && name.length() == dot + 5)
+                || (name.regionMatches(true, dot + 1, "yml", 0, 3) && name.length() == dot + 4)) {
+            return ConfigFormat.YAML;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Detects the format of a config file, see {@link ConfigFormatResolver}.
+ */
+@FunctionalInterface
+public interface FormatDetector {
+
+    /**
+     * @param file
+     *            the config file, which may not exist
+     * @return the detected format, or {@code null} if this detector can not tell
+     * @throws IOException
+     *             if the file can not be read
+     */
+    ConfigFormat detect(Path file) throws IOException;
+
+    /**
+     * @return a detector mapping the {@code json}, {@code yaml} and {@code yml} file extensions
+     */
+    static FormatDetector byExtension() {
+        return ExtensionFormatDetector.INSTANCE;
+    }
+
+    /**
+     * @return a detector looking at the first bytes of the file
+     */
+    static FormatDetector byContent() {
+        return ContentFormatDetector.INSTANCE;
+    }
+}
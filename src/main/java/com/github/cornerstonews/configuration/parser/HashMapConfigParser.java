@@ -1,52 +1,139 @@
 package com.github.cornerstonews.configuration.parser;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedParameter;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.validation.IncrementalValidator.PendingChanges;
 
 public class HashMapConfigParser<T> extends BaseConfigParser<T> {
 
-    private ObjectMapper objectMapper = new ObjectMapper(new JsonFactory());
-
     public HashMapConfigParser(Class<T> klass, boolean failOnUnknown) {
-        super(klass, new ObjectMapper());
-        this.mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
-        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
+        super(klass, ConfigFormat.JSON, failOnUnknown);
     }
 
     public T build(Map<String, ?> map) throws ConfigException {
-        try {
-            String jsonConfig = mapper.writeValueAsString(map);
-            final T config = objectMapper.readValue(jsonConfig, this.klass);
+        try (JsonParser parser = asParser(map)) {
+            final T config = bind(parser);
             return config;
-
-        } catch (JsonProcessingException e) {
-            throw new ConfigException(null, formatError("Failed to parse configuration", e.getMessage(), null, e.getLocation(), null), e);
+        } catch (IOException e) {
+            throw parseError(e);
         }
     }
 
     public T build(Map<String, ?> map, T config) throws ConfigException {
         try {
             T parsedConfig = this.build(map);
-            return objectMapper.updateValue(config, parsedConfig);
+            return getMapper().updateValue(config, parsedConfig);
         } catch (JsonProcessingException e) {
             throw new ConfigException(null, formatError("Failed to parse configuration", e.getMessage(), null, e.getLocation(), null), e);
         }
     }
     
     public T merge(Map<String, ?> map, T config) throws ConfigException {
+        try (JsonParser parser = asParser(map)) {
+            ObjectReader objectReader = readerFor(config.getClass()).withValueToUpdate(config);
+            return objectReader.readValue(parser);
+        } catch (IOException e) {
+            throw parseError(e);
+        }
+    }
+
+    /**
+     * Merges the map into a copy of the given config, leaving the given config untouched. Only the beans on the paths
+     * to the merged properties are copied, all other beans are shared between both configs. Unlike
+     * {@link #merge(Map, Object)}, nested maps are merged into the existing nested beans rather than replacing them.
+     */
+    public T mergeCopy(Map<String, ?> map, T config) throws ConfigException {
         try {
-            ObjectReader objectReader = objectMapper.readerForUpdating(config);
-            String jsonConfig = mapper.writeValueAsString(map);
-            return objectReader.readValue(jsonConfig);
-        } catch (JsonProcessingException e) {
-            throw new ConfigException(null, formatError("Failed to parse configuration", e.getMessage(), null, e.getLocation(), null), e);
+            return copyAndMerge(map, config);
+        } catch (IOException e) {
+            throw parseError(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <B> B copyAndMerge(Map<String, ?> map, B bean) throws IOException {
+        B copy = BeanCopier.copy(bean);
+        if (copy == null) {
+            try (JsonParser parser = asParser(bean)) {
+                copy = (B) readerFor(bean.getClass()).readValue(parser);
+            }
+        }
+
+        final Map<String, Object> values = new LinkedHashMap<>(map);
+        final BeanDescription description = getMapper().getDeserializationConfig().introspect(getMapper().constructType(bean.getClass()));
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            final Object override = values.get(property.getName());
+            final AnnotatedMember accessor = property.getAccessor();
+            final AnnotatedMember mutator = property.getMutator();
+            if (!(override instanceof Map) || accessor == null || mutator == null || mutator instanceof AnnotatedParameter) {
+                continue;
+            }
+            accessor.fixAccess(true);
+            final Object nested = accessor.getValue(copy);
+            if (!BeanCopier.isCopyable(nested)) {
+                continue;
+            }
+
+            values.remove(property.getName());
+            try {
+                mutator.fixAccess(true);
+                mutator.setValue(copy, copyAndMerge((Map<String, ?>) override, nested));
+            } catch (JsonMappingException e) {
+                throw JsonMappingException.wrapWithPath(e, bean, property.getName());
+            }
+        }
+
+        if (!values.isEmpty()) {
+            try (JsonParser parser = asParser(values)) {
+                readerFor(copy.getClass()).withValueToUpdate(copy).readValue(parser);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Merges the map into the given config like {@link #merge(Map, Object)} and validates the properties the map
+     * changed, assuming the config was valid before.
+     */
+    public T mergeValid(Map<String, ?> map, T config) throws ConfigException {
+        final PendingChanges changes = incrementalValidator().capture(config, map);
+        final T merged = merge(map, config);
+        final long start = System.nanoTime();
+        checkErrors(changes.validate(), start);
+        return merged;
+    }
+
+    /**
+     * Serializes the map, or bean, into a token buffer, which can be bound without going through JSON text.
+     */
+    private JsonParser asParser(Object value) throws IOException {
+        final TokenBuffer buffer = new TokenBuffer(getMapper(), false);
+        getMapper().writeValue(buffer, value);
+        return buffer.asParser();
+    }
+
+    private ConfigException parseError(IOException e) {
+        if (e instanceof JsonMappingException) {
+            final JsonMappingException mappingException = (JsonMappingException) e;
+            return new ConfigException(null,
+                    formatError("Failed to parse configuration", e.getMessage(), mappingException.getPath(), mappingException.getLocation(), null), e);
+        }
+        if (e instanceof JsonProcessingException) {
+            return new ConfigException(null, formatError("Failed to parse configuration", e.getMessage(), null, ((JsonProcessingException) e).getLocation(), null), e);
         }
+        return new ConfigException(null, formatError("Failed to parse configuration", e.getMessage(), null, null, null), e);
     }
 
 }
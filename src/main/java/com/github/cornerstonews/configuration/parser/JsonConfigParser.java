@@ -17,7 +17,6 @@
 package com.github.cornerstonews.configuration.parser;
 
 import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class JsonConfigParser<T> extends ConfigFileParser<T> {
 
@@ -26,7 +25,7 @@ public class JsonConfigParser<T> extends ConfigFileParser<T> {
     }
 
     public JsonConfigParser(String path, Class<T> klass) {
-        super(path, klass, new ObjectMapper(new JsonFactory()));
+        super(path, klass, ConfigFormat.JSON);
     }
 
     @Override
@@ -36,10 +35,6 @@ public class JsonConfigParser<T> extends ConfigFileParser<T> {
 
     @Override
     public Boolean isValidFileType(String path) {
-        if (path != null && "json".equalsIgnoreCase(getFileExtension(path)) && identifyFileType(path).contains("json")) {
-            return true;
-        }
-
-        return false;
+        return ConfigFormatResolver.getShared().resolve(path) == ConfigFormat.JSON;
     }
 }
@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ElementKind;
+import javax.validation.Path;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.codegen.GeneratedConfig;
+import com.github.cornerstonews.configuration.codegen.GeneratedConfigs;
+import com.github.cornerstonews.configuration.validation.ValidatorProvider;
+
+/**
+ * Loads a configuration composed of several files, e.g. a base file, environment and region overlays and a secrets
+ * file.
+ * <p>
+ * All layers are parsed in parallel into trees, which are then merged in the given order: objects are merged
+ * recursively, any other value of a later layer replaces the value of an earlier one. The merged tree is bound and
+ * validated once. Binding and validation errors name the layer the offending value came from.
+ *
+ * @param <T> the configuration type
+ */
+public class LayeredConfigLoader<T> extends BaseConfigParser<T> {
+
+    private static final Logger log = LogManager.getLogger(LayeredConfigLoader.class);
+
+    private final Executor executor;
+
+    public LayeredConfigLoader(Class<T> klass) {
+        this(klass, ForkJoinPool.commonPool());
+    }
+
+    public LayeredConfigLoader(Class<T> klass, Executor executor) {
+        super(klass, ConfigFormat.JSON, true);
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Loads the given layers, later layers taking precedence over earlier ones.
+     *
+     * @param paths
+     *            the config files in ascending order of precedence
+     * @return the bound and validated configuration
+     * @throws IOException
+     *             if a layer can not be read
+     * @throws ConfigException
+     *             if a layer is malformed or the merged configuration is invalid
+     */
+    public T load(List<String> paths) throws IOException, ConfigException {
+        log.info("Loading layered application configuration from paths {}", paths);
+        return mergeAll(paths, layersOf(parseAll(paths)));
+    }
+
+    /**
+     * Loads the given layers like {@link #load(List)} without blocking a thread of the executor while the layers are
+     * parsed. The layers are merged, bound and validated on the thread parsing the last one.
+     *
+     * @return a future completed with the configuration, or exceptionally with the {@link ConfigException} or
+     *         {@link IOException} {@link #load(List)} fails with
+     */
+    public CompletableFuture<T> loadAsync(List<String> paths) {
+        log.info("Loading layered application configuration asynchronously from paths {}", paths);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final List<CompletableFuture<JsonNode>> futures;
+        try {
+            futures = parseAll(paths);
+        } catch (RuntimeException e) {
+            // e.g. the executor was shut down
+            result.completeExceptionally(e);
+            return result;
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, failure) -> {
+            try {
+                result.complete(mergeAll(paths, layersOf(futures)));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private T mergeAll(List<String> paths, List<JsonNode> layers) throws IOException, ConfigException {
+        final ObjectNode merged = getMapper().createObjectNode();
+        final NavigableMap<String, Integer> origins = new TreeMap<>();
+        for (int i = 0; i < layers.size(); i++) {
+            final JsonNode layer = layers.get(i);
+            if (!layer.isObject()) {
+                throw new ConfigException(paths.get(i), Arrays.asList("Configuration layer has to be an object, but is of type: " + layer.getNodeType()));
+            }
+            merge(merged, (ObjectNode) layer, "", i, origins);
+        }
+
+        final T config;
+        try {
+            config = bind(getMapper().treeAsTokens(merged));
+        } catch (JsonProcessingException e) {
+            final int origin = e instanceof JsonMappingException ? originOf(toPointer((JsonMappingException) e), origins) : -1;
+            throw toConfigException(origin < 0 ? null : paths.get(origin), e);
+        }
+
+        validate(config, paths, origins);
+        return config;
+    }
+
+    private List<CompletableFuture<JsonNode>> parseAll(List<String> paths) {
+        final List<CompletableFuture<JsonNode>> futures = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ConfigFactory.getParser(path, klass).readTree(path);
+                } catch (IOException | ConfigException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        return futures;
+    }
+
+    private static List<JsonNode> layersOf(List<CompletableFuture<JsonNode>> futures) throws IOException, ConfigException {
+        final List<JsonNode> layers = new ArrayList<>(futures.size());
+        for (CompletableFuture<JsonNode> future : futures) {
+            try {
+                layers.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading configuration layers", e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof ConfigException) {
+                    throw (ConfigException) cause;
+                }
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+        return layers;
+    }
+
+    /**
+     * Merges the layer into the target and records, per JSON pointer, which layer last set the value.
+     */
+    private static void merge(ObjectNode target, ObjectNode layer, String pointer, int layerIndex, NavigableMap<String, Integer> origins) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = layer.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String fieldPointer = pointer + "/" + escape(field.getKey());
+            final JsonNode existing = target.get(field.getKey());
+            if (existing != null && existing.isObject() && field.getValue().isObject()) {
+                merge((ObjectNode) existing, (ObjectNode) field.getValue(), fieldPointer, layerIndex, origins);
+            } else {
+                target.set(field.getKey(), field.getValue());
+                origins.subMap(fieldPointer + "/", true, fieldPointer + "0", false).clear();
+                origins.put(fieldPointer, layerIndex);
+            }
+        }
+    }
+
+    /**
+     * Validates like any other parser, with the generated checker of the config class when it has one, and adds the
+     * layer to each error.
+     */
+    private void validate(T config, List<String> paths, NavigableMap<String, Integer> origins) throws ConfigException {
+        final long start = System.nanoTime();
+        final Set<String> errors = new TreeSet<>();
+        final GeneratedConfig<?> checker = GeneratedConfigs.find(config.getClass());
+        if (checker != null) {
+            final Set<String> generated = new HashSet<>();
+            GeneratedConfigs.check(checker, config, null, generated);
+            for (String error : generated) {
+                final int origin = originOf(toPointer(propertyPathOf(error)), origins);
+                errors.add(origin < 0 ? error : error + " (from '" + paths.get(origin) + "')");
+            }
+        } else {
+            for (ConstraintViolation<T> v : ValidatorProvider.getValidator().validate(config)) {
+                final int origin = originOf(toPointer(v.getPropertyPath()), origins);
+                final String layer = origin < 0 ? "" : " (from '" + paths.get(origin) + "')";
+                errors.add(String.format("%s %s%s", v.getPropertyPath(), v.getMessage(), layer));
+            }
+        }
+        checkErrors(errors, start);
+    }
+
+    /**
+     * @return the property path an error of a generated checker starts with, e.g. {@code replicas[us east].host} of
+     *         {@code "replicas[us east].host must not be blank"}
+     */
+    private static String propertyPathOf(String error) {
+        boolean inBrackets = false;
+        for (int i = 0; i < error.length(); i++) {
+            final char c = error.charAt(i);
+            if (c == '[' || c == ']') {
+                inBrackets = c == '[';
+            } else if (c == ' ' && !inBrackets) {
+                return error.substring(0, i);
+            }
+        }
+        return error;
+    }
+
+    /**
+     * @return index of the layer that set the value at the pointer or its closest ancestor, {@code -1} if unknown
+     */
+    private static int originOf(String pointer, NavigableMap<String, Integer> origins) {
+        String current = pointer;
+        while (!current.isEmpty()) {
+            final Integer origin = origins.get(current);
+            if (origin != null) {
+                return origin;
+            }
+            current = current.substring(0, current.lastIndexOf('/'));
+        }
+        return -1;
+    }
+
+    private static String toPointer(JsonMappingException e) {
+        final StringBuilder pointer = new StringBuilder();
+        for (JsonMappingException.Reference reference : e.getPath()) {
+            pointer.append('/');
+            if (reference.getFieldName() != null) {
+                pointer.append(escape(reference.getFieldName()));
+            } else {
+                pointer.append(reference.getIndex());
+            }
+        }
+        return pointer.toString();
+    }
+
+    /**
+     * Converts a property path like {@code endpoints[0].host} or {@code replicas[east].host} to a JSON pointer.
+     */
+    private String toPointer(String propertyPath) {
+        final PointerBuilder pointer = new PointerBuilder(getMapper(), klass);
+        int start = 0;
+        while (start < propertyPath.length()) {
+            final char c = propertyPath.charAt(start);
+            if (c == '.') {
+                start++;
+            } else if (c == '[') {
+                final int close = propertyPath.indexOf(']', start);
+                final int end = close < 0 ? propertyPath.length() : close;
+                pointer.element(propertyPath.substring(start + 1, end));
+                start = end + 1;
+            } else {
+                final int end = nextSeparator(propertyPath, start);
+                pointer.property(propertyPath.substring(start, end));
+                start = end;
+            }
+        }
+        return pointer.toString();
+    }
+
+    private static int nextSeparator(String propertyPath, int start) {
+        for (int i = start; i < propertyPath.length(); i++) {
+            if (propertyPath.charAt(i) == '.' || propertyPath.charAt(i) == '[') {
+                return i;
+            }
+        }
+        return propertyPath.length();
+    }
+
+    private String toPointer(Path propertyPath) {
+        final PointerBuilder pointer = new PointerBuilder(getMapper(), klass);
+        for (Path.Node node : propertyPath) {
+            if (node.isInIterable()) {
+                pointer.element(node.getIndex() != null ? node.getIndex().toString() : String.valueOf(node.getKey()));
+            }
+            if (node.getName() != null && node.getKind() == ElementKind.PROPERTY) {
+                pointer.property(node.getName());
+            }
+        }
+        return pointer.toString();
+    }
+
+    private static String escape(String name) {
+        return name.indexOf('~') < 0 && name.indexOf('/') < 0 ? name : name.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * Builds the JSON pointer of a property path, which names properties by their Java names, following the
+     * configuration type to use the JSON names of renamed properties.
+     */
+    private static final class PointerBuilder {
+        private final ObjectMapper mapper;
+        private final StringBuilder pointer = new StringBuilder();
+        private JavaType type;
+
+        private PointerBuilder(ObjectMapper mapper, Class<?> klass) {
+            this.mapper = mapper;
+            this.type = mapper.constructType(klass);
+        }
+
+        void element(String indexOrKey) {
+            pointer.append('/').append(escape(indexOrKey));
+            type = type == null ? null : type.getContentType();
+        }
+
+        void property(String javaName) {
+            final BeanPropertyDefinition property = type == null ? null : findProperty(javaName);
+            pointer.append('/').append(escape(property != null ? property.getName() : javaName));
+            type = property != null ? property.getPrimaryType() : null;
+        }
+
+        private BeanPropertyDefinition findProperty(String javaName) {
+            final BeanDescription bean = mapper.getDeserializationConfig().introspect(type);
+            for (BeanPropertyDefinition property : bean.findProperties()) {
+                if (javaName.equals(property.getInternalName())) {
+                    return property;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return pointer.toString();
+        }
+    }
+}
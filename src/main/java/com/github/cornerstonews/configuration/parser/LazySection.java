@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.validation.ValidatorProvider;
+
+/**
+ * A nested config section that is bound and validated only when it is first accessed.
+ * <p>
+ * Declaring a config property as {@code LazySection<DatabaseConfig>} instead of {@code DatabaseConfig} makes the
+ * parser keep the raw tokens of the section instead of binding them. The first call to {@link #get()} binds and
+ * validates the section, exactly once even if called concurrently, and releases the raw tokens. Validating the
+ * enclosing config does not touch sections that were not accessed yet.
+ *
+ * @param <S> the section type
+ */
+@JsonDeserialize(using = LazySection.Deserializer.class)
+@JsonSerialize(using = LazySection.Serializer.class)
+public final class LazySection<S> {
+
+    private final JavaType type;
+    private final String path;
+    private ObjectReader reader;
+    private TokenBuffer tokens;
+    private ConfigException failure;
+    private volatile boolean bound;
+    private S value;
+
+    private LazySection(JavaType type, String path, ObjectReader reader, TokenBuffer tokens) {
+        this.type = type;
+        this.path = path;
+        this.reader = reader;
+        this.tokens = tokens;
+    }
+
+    /**
+     * @return a section holding an already bound value, e.g. to use as a default
+     */
+    public static <S> LazySection<S> of(S value) {
+        final LazySection<S> section = new LazySection<>(null, "", null, null);
+        section.value = Objects.requireNonNull(value, "value");
+        section.bound = true;
+        return section;
+    }
+
+    /**
+     * @return the property path of the section within the config
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return whether the section was accessed and bound successfully
+     */
+    public boolean isBound() {
+        return bound;
+    }
+
+    /**
+     * Binds and validates the section on first access.
+     *
+     * @return the section
+     * @throws ConfigException
+     *             if the section can not be bound or is not valid, the same exception is thrown on every access
+     */
+    public S get() throws ConfigException {
+        if (bound) {
+            return value;
+        }
+
+        synchronized (this) {
+            if (bound) {
+                return value;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            try {
+                value = bind();
+                validate(value);
+            } catch (ConfigException e) {
+                failure = e;
+                value = null;
+                throw e;
+            } finally {
+                tokens = null;
+                reader = null;
+            }
+            bound = true;
+            return value;
+        }
+    }
+
+    private S bind() throws ConfigException {
+        try (JsonParser parser = tokens.asParser(reader)) {
+            return reader.forType(type).readValue(parser);
+        } catch (JsonMappingException e) {
+            final StringBuilder sb = new StringBuilder();
+            for (JsonMappingException.Reference reference : e.getPath()) {
+                sb.append(reference.getFieldName() != null ? "." + reference.getFieldName() : "[" + reference.getIndex() + "]");
+            }
+            throw new ConfigException(null, formatError("Failed to parse configuration at: " + join(path, sb.toString()), e), e);
+        } catch (IOException e) {
+            throw new ConfigException(null, formatError("Failed to parse configuration at: " + path, e), e);
+        }
+    }
+
+    private void validate(S section) throws ConfigException {
+        final Set<ConstraintViolation<S>> violations = ValidatorProvider.getValidator().validate(section);
+        if (!violations.isEmpty()) {
+            final Set<String> errors = new HashSet<>(violations.size());
+            for (ConstraintViolation<?> v : violations) {
+                errors.add(String.format("%s %s", join(path, v.getPropertyPath().toString()), v.getMessage()));
+            }
+            throw new ConfigException(errors);
+        }
+    }
+
+    private static List<String> formatError(String summary, IOException e) {
+        final List<String> errors = new ArrayList<>(1);
+        errors.add(summary + "; " + (e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage()));
+        return errors;
+    }
+
+    private static String join(String prefix, String path) {
+        if (prefix.isEmpty()) {
+            return path.startsWith(".") ? path.substring(1) : path;
+        }
+        if (path.isEmpty()) {
+            return prefix;
+        }
+        return path.charAt(0) == '[' || path.charAt(0) == '.' ? prefix + path : prefix + "." + path;
+    }
+
+    private synchronized void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (tokens != null) {
+            tokens.serialize(generator);
+        } else {
+            provider.defaultSerializeValue(value, generator);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LazySection[" + path + (bound ? ", bound" : "") + "]";
+    }
+
+    static final class Deserializer extends JsonDeserializer<LazySection<?>> implements ContextualDeserializer {
+        private final JavaType type;
+
+        Deserializer() {
+            this(null);
+        }
+
+        private Deserializer(JavaType type) {
+            this.type = type;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            JavaType sectionType = ctxt.getContextualType();
+            if ((sectionType == null || !sectionType.hasRawClass(LazySection.class)) && property != null) {
+                sectionType = property.getType();
+            }
+            return new Deserializer(sectionType == null ? ctxt.constructType(Object.class) : sectionType.containedTypeOrUnknown(0));
+        }
+
+        @Override
+        public LazySection<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            final String path = pathOf(p);
+            final TokenBuffer tokens = new TokenBuffer(p, ctxt);
+            tokens.copyCurrentStructure(p);
+            return new LazySection<>(type, path, readerFor(p.getCodec(), ctxt), tokens);
+        }
+
+        private static ObjectReader readerFor(ObjectCodec codec, DeserializationContext ctxt) {
+            if (codec instanceof ObjectReader) {
+                return ((ObjectReader) codec).withValueToUpdate(null);
+            }
+            if (codec instanceof ObjectMapper) {
+                return ((ObjectMapper) codec).reader();
+            }
+            return ObjectReaderRegistry.getShared().getMapper(ConfigFormat.JSON, ctxt.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)).reader();
+        }
+
+        private static String pathOf(JsonParser p) {
+            JsonStreamContext context = p.getParsingContext();
+            if (p.isExpectedStartObjectToken() || p.isExpectedStartArrayToken()) {
+                context = context.getParent();
+            }
+
+            final StringBuilder sb = new StringBuilder();
+            for (; context != null && !context.inRoot(); context = context.getParent()) {
+                final String separator = sb.length() > 0 && sb.charAt(0) != '[' ? "." : "";
+                if (context.inArray()) {
+                    sb.insert(0, "[" + context.getCurrentIndex() + "]" + separator);
+                } else if (context.getCurrentName() != null) {
+                    sb.insert(0, context.getCurrentName() + separator);
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    static final class Serializer extends JsonSerializer<LazySection<?>> {
+        @Override
+        public void serialize(LazySection<?> section, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            section.serialize(generator, provider);
+        }
+    }
+}
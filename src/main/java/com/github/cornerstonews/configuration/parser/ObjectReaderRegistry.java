@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.parser;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.cornerstonews.configuration.metrics.InstrumentationRegistry;
+import com.github.cornerstonews.configuration.util.LruCache;
+
+/**
+ * Shared registry of preconfigured Jackson mappers and readers.
+ * <p>
+ * One {@link ObjectMapper} is kept per format and {@code failOnUnknown} setting so the deserializers Jackson builds for
+ * a config class are reused across loads. {@link ObjectReader}s are cached per (format, class, failOnUnknown) in a
+ * bounded LRU cache. Mappers handed out by this registry are shared and must not be reconfigured.
+ */
+public final class ObjectReaderRegistry {
+
+    public static final int DEFAULT_MAX_READERS = 512;
+
+    private static final String CACHE_NAME = "readers";
+
+    private static final ObjectReaderRegistry SHARED = new ObjectReaderRegistry(DEFAULT_MAX_READERS);
+
+    private final Map<ConfigFormat, ObjectMapper> strictMappers = new EnumMap<>(ConfigFormat.class);
+    private final Map<ConfigFormat, ObjectMapper> lenientMappers = new EnumMap<>(ConfigFormat.class);
+    private final LruCache<ReaderKey, ObjectReader> readers;
+
+    public ObjectReaderRegistry(int maxReaders) {
+        this.readers = new LruCache<>(maxReaders);
+        for (ConfigFormat format : ConfigFormat.values()) {
+            strictMappers.put(format, format.createMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true));
+            lenientMappers.put(format, format.createMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+        }
+    }
+
+    public static ObjectReaderRegistry getShared() {
+        return SHARED;
+    }
+
+    public ObjectMapper getMapper(ConfigFormat format, boolean failOnUnknown) {
+        Objects.requireNonNull(format, "format");
+        return failOnUnknown ? strictMappers.get(format) : lenientMappers.get(format);
+    }
+
+    public ObjectReader getReader(ConfigFormat format, Class<?> klass, boolean failOnUnknown) {
+        Objects.requireNonNull(klass, "klass");
+        final ReaderKey key = new ReaderKey(format, klass, failOnUnknown);
+        final ObjectReader reader = readers.get(key);
+        if (InstrumentationRegistry.isEnabled()) {
+            InstrumentationRegistry.get().cacheAccessed(CACHE_NAME, reader != null);
+        }
+        if (reader != null) {
+            return reader;
+        }
+        return readers.computeIfAbsent(key, k -> getMapper(format, failOnUnknown).readerFor(klass));
+    }
+
+    public int size() {
+        return readers.size();
+    }
+
+    /**
+     * Drops all cached readers, e.g. when config classes of an undeployed class loader should no longer be referenced.
+     */
+    public void clear() {
+        readers.clear();
+    }
+
+    private static final class ReaderKey {
+        private final ConfigFormat format;
+        private final Class<?> klass;
+        private final boolean failOnUnknown;
+
+        private ReaderKey(ConfigFormat format, Class<?> klass, boolean failOnUnknown) {
+            this.format = format;
+            this.klass = klass;
+            this.failOnUnknown = failOnUnknown;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ReaderKey)) {
+                return false;
+            }
+            final ReaderKey other = (ReaderKey) obj;
+            return format == other.format && klass == other.klass && failOnUnknown == other.failOnUnknown;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = format.hashCode();
+            result = 31 * result + klass.hashCode();
+            return 31 * result + (failOnUnknown ? 1 : 0);
+        }
+    }
+}
@@ -16,22 +16,16 @@
  */
 package com.github.cornerstonews.configuration.parser;
 
-import java.util.Arrays;
-import java.util.List;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 public class YamlConfigParser<T> extends ConfigFileParser<T> {
 
-    private final List<String> validExtension = Arrays.asList("yml", "yaml");
-
     public YamlConfigParser(Class<T> klass) {
         this(null, klass);
     }
 
     public YamlConfigParser(String path, Class<T> klass) {
-        super(path, klass, new ObjectMapper(new YAMLFactory()));
+        super(path, klass, ConfigFormat.YAML);
     }
 
     @Override
@@ -41,13 +35,7 @@ public class YamlConfigParser<T> extends ConfigFileParser<T> {
 
     @Override
     public Boolean isValidFileType(String path) {
-        Boolean isValid = false;
-        if (path != null && validExtension.contains(getFileExtension(path).toLowerCase())
-//                && identifyFileType(path).contains("yml")
-        ) {
-            isValid = true;
-        }
-        return isValid;
+        return ConfigFormatResolver.getShared().resolve(path) == ConfigFormat.YAML;
     }
 
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.reload;
+
+/**
+ * Callback notified by a {@link ReloadableConfig} after its configuration has been reloaded.
+ *
+ * @param <T> the configuration type
+ */
+@FunctionalInterface
+public interface ConfigChangeListener<T> {
+
+    /**
+     * Called once a changed configuration has been parsed, validated and published.
+     *
+     * @param previous
+     *            the configuration that was replaced
+     * @param current
+     *            the newly published configuration
+     */
+    void onChange(T previous, T current);
+
+    /**
+     * Called when a reload failed. The last good configuration stays published.
+     *
+     * @param cause
+     *            the reason the reload failed
+     */
+    default void onReloadFailure(Exception cause) {
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.reload;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.diff.ConfigChange;
+import com.github.cornerstonews.configuration.diff.ConfigChangeDispatcher;
+import com.github.cornerstonews.configuration.diff.ConfigDiff;
+import com.github.cornerstonews.configuration.diff.HashedTree;
+import com.github.cornerstonews.configuration.diff.PathSubscriber;
+import com.github.cornerstonews.configuration.parser.ConfigResolver;
+
+/**
+ * Configuration loaded from a YAML or JSON file that is reloaded whenever the file changes.
+ * <p>
+ * The parent directory of the file, and of every file it includes, is watched with a {@link WatchService}. Events for
+ * other entries of these directories reload the configuration when the real path or modification time of a watched file
+ * changed, which picks up files replaced by swapping a symbolic link to a directory, like Kubernetes does for mounted
+ * ConfigMaps. Bursts of file system events are debounced, after which the file is parsed and validated on a background
+ * thread and the new instance is published atomically. {@link #get()} never blocks; if a reload fails the last good
+ * configuration stays in place. Components depending on a section only can {@link #subscribe(String, PathSubscriber)}
+ * to the changes of that section.
+ *
+ * @param <T> the configuration type
+ */
+public class ReloadableConfig<T> implements Closeable {
+
+    private static final Logger log = LogManager.getLogger(ReloadableConfig.class);
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+    private final Path path;
+    private final Class<T> klass;
+    private final Duration debounce;
+
+    private final AtomicReference<T> current = new AtomicReference<>();
+    private final List<ConfigChangeListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final ConfigChangeDispatcher dispatcher = new ConfigChangeDispatcher();
+    private HashedTree currentTree;
+    private final ScheduledExecutorService executor;
+
+    private WatchService watchService;
+    private final Set<Path> watchedDirectories = new HashSet<>();
+    private volatile Map<Path, FileVersion> watchedFiles;
+    private ScheduledFuture<?> pendingReload;
+    private volatile boolean closed;
+
+    public ReloadableConfig(String path, Class<T> klass) {
+        this(path, klass, DEFAULT_DEBOUNCE);
+    }
+
+    public ReloadableConfig(String path, Class<T> klass, Duration debounce) {
+        this.path = Paths.get(Objects.requireNonNull(path, "path")).toAbsolutePath().normalize();
+        this.watchedFiles = Collections.emptyMap();
+        this.klass = Objects.requireNonNull(klass, "klass");
+        this.debounce = Objects.requireNonNull(debounce, "debounce");
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "config-reload-" + this.path.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the configuration and starts watching the file for changes.
+     *
+     * @return this instance
+     * @throws ConfigException
+     *             if the initial configuration is invalid
+     * @throws IOException
+     *             if the file can not be read or watched
+     */
+    public synchronized ReloadableConfig<T> start() throws ConfigException, IOException {
+        if (watchService != null) {
+            throw new IllegalStateException("Already watching '" + path + "'");
+        }
+
+        current.set(load(null));
+
+        watchService = path.getFileSystem().newWatchService();
+        watchIncludes();
+
+        final Thread watcher = new Thread(this::watch, "config-watch-" + path.getFileName());
+        watcher.setDaemon(true);
+        watcher.start();
+        return this;
+    }
+
+    /**
+     * @return the last successfully loaded configuration
+     */
+    public T get() {
+        return current.get();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void addListener(ConfigChangeListener<T> listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeListener(ConfigChangeListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers a subscriber for the changes of a section, found by comparing each reloaded configuration with the
+     * previous one, see {@link ConfigDiff}.
+     *
+     * @param pathPrefix
+     *            JSON pointer of the section, e.g. {@code /db/pool}, empty for the whole configuration
+     */
+    public void subscribe(String pathPrefix, PathSubscriber subscriber) {
+        dispatcher.subscribe(pathPrefix, subscriber);
+    }
+
+    public void unsubscribe(String pathPrefix, PathSubscriber subscriber) {
+        dispatcher.unsubscribe(pathPrefix, subscriber);
+    }
+
+    /**
+     * Schedules a reload of the file, subject to the same debouncing as file system events.
+     */
+    public synchronized void scheduleReload() {
+        if (closed) {
+            return;
+        }
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = executor.schedule(this::reload, debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        executor.shutdownNow();
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Watches the directories of the file and of the files it included when it was last loaded.
+     */
+    private synchronized void watchIncludes() throws IOException {
+        if (closed || watchService == null) {
+            return;
+        }
+        final Map<Path, FileVersion> files = new HashMap<>();
+        files.put(path, FileVersion.of(path));
+        for (Path file : ConfigResolver.getShared().getIncludedFiles(path)) {
+            files.put(file, FileVersion.of(file));
+        }
+        for (Path file : files.keySet()) {
+            final Path directory = file.getParent();
+            if (watchedDirectories.add(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+        watchedFiles = Collections.unmodifiableMap(files);
+    }
+
+    /**
+     * @return whether a watched file in the directory now resolves to another file or was modified since it was loaded
+     */
+    private boolean hasChangedFiles(Path directory) {
+        for (Map.Entry<Path, FileVersion> file : watchedFiles.entrySet()) {
+            if (file.getKey().getParent().equals(directory) && !FileVersion.of(file.getKey()).equals(file.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void watch() {
+        while (!closed) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            final Path directory = (Path) key.watchable();
+            boolean changed = false;
+            boolean otherEntries = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || watchedFiles.containsKey(directory.resolve((Path) event.context()))) {
+                    changed = true;
+                } else {
+                    otherEntries = true;
+                }
+            }
+            if (changed || otherEntries && hasChangedFiles(directory)) {
+                scheduleReload();
+            }
+
+            if (!key.reset()) {
+                log.warn("Directory '{}' can no longer be watched, changes to files in it will not be reloaded", directory);
+                if (directory.equals(path.getParent())) {
+                    return;
+                }
+                synchronized (this) {
+                    watchedDirectories.remove(directory);
+                }
+            }
+        }
+    }
+
+    private void reload() {
+        final T previous = current.get();
+        final T updated;
+        try {
+            updated = load(previous);
+        } catch (ConfigException | IOException | RuntimeException e) {
+            log.warn("Failed to reload configuration from '{}', keeping the last good configuration. {}", path, e.getMessage());
+            for (ConfigChangeListener<T> listener : listeners) {
+                try {
+                    listener.onReloadFailure(e);
+                } catch (RuntimeException listenerException) {
+                    log.error("Configuration change listener failed", listenerException);
+                }
+            }
+            return;
+        }
+
+        current.set(updated);
+        try {
+            watchIncludes();
+        } catch (IOException e) {
+            log.warn("Failed to watch the files included by '{}'. {}", path, e.getMessage());
+        }
+        log.info("Reloaded application configuration from path '{}'", path);
+        for (ConfigChangeListener<T> listener : listeners) {
+            try {
+                listener.onChange(previous, updated);
+            } catch (RuntimeException e) {
+                log.error("Configuration change listener failed", e);
+            }
+        }
+        dispatchChanges(previous, updated);
+    }
+
+    /**
+     * Runs on the reload thread only. The tree of the published configuration is kept to only hash the next one.
+     */
+    private void dispatchChanges(T previous, T updated) {
+        if (!dispatcher.hasSubscribers()) {
+            currentTree = null;
+            return;
+        }
+        final ConfigDiff diff = ConfigDiff.getShared();
+        final HashedTree previousTree = currentTree != null ? currentTree : HashedTree.of(diff.toTree(previous));
+        final HashedTree updatedTree = HashedTree.of(diff.toTree(updated));
+        final List<ConfigChange> changes = diff.diff(previousTree, updatedTree);
+        currentTree = updatedTree;
+        log.debug("Configuration from path '{}' changed at {} paths", path, changes.size());
+        dispatcher.dispatch(changes);
+    }
+
+    private T load(T previous) throws ConfigException, IOException {
+        final String file = path.toString();
+        final T config = ConfigFactory.getParser(file, klass).build(file);
+        ConfigFactory.isValid(previous, config);
+        return config;
+    }
+
+    /**
+     * The file a path resolved to, following symbolic links, and its modification time.
+     */
+    private static final class FileVersion {
+
+        private static final FileVersion MISSING = new FileVersion(null, null);
+
+        private final Path realPath;
+        private final FileTime modified;
+
+        private FileVersion(Path realPath, FileTime modified) {
+            this.realPath = realPath;
+            this.modified = modified;
+        }
+
+        static FileVersion of(Path file) {
+            try {
+                return new FileVersion(file.toRealPath(), Files.getLastModifiedTime(file));
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FileVersion)) {
+                return false;
+            }
+            final FileVersion other = (FileVersion) obj;
+            return Objects.equals(realPath, other.realPath) && Objects.equals(modified, other.modified);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(realPath, modified);
+        }
+    }
+}
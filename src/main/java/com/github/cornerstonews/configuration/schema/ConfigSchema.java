@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Describes what a mapper accepts when binding a config class: the known and required properties of its beans and the
+ * kind of value each property takes. Checking a document against the schema reports all unknown fields, values of the
+ * wrong type and missing required fields in a single pass, where binding stops at the first of them.
+ * <p>
+ * Only what binding or validating the config would reject is reported. Types whose binding can not be judged from
+ * their properties, e.g. polymorphic types or types with custom deserializers, accept any value.
+ */
+public final class ConfigSchema {
+
+    private static final Map<ObjectMapper, Map<Class<?>, ConfigSchema>> SHARED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Class<?> type;
+    private final SchemaNode root;
+
+    private ConfigSchema(Class<?> type, SchemaNode root) {
+        this.type = type;
+        this.root = root;
+    }
+
+    /**
+     * @return the schema of the config class as bound by the given mapper, shared by all callers using the mapper
+     */
+    public static ConfigSchema of(ObjectMapper mapper, Class<?> type) {
+        final Map<Class<?>, ConfigSchema> schemas = SHARED.computeIfAbsent(mapper, m -> new ConcurrentHashMap<>());
+        ConfigSchema schema = schemas.get(type);
+        if (schema == null) {
+            schema = new ConfigSchema(type, new SchemaBuilder(mapper).build(type));
+            schemas.putIfAbsent(type, schema);
+        }
+        return schema;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Checks the next document of the parser, or the one it is positioned at.
+     *
+     * @return the errors found in document order, empty if there are none
+     * @throws IOException
+     *             if the document can not be read or is malformed
+     */
+    public List<String> validate(JsonParser parser) throws IOException {
+        final JsonToken token = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+        final SchemaCheck check = new SchemaCheck();
+        if (token != null) {
+            root.check(parser, token, check);
+        }
+        return check.getErrors();
+    }
+
+    public List<String> validate(JsonNode tree) {
+        try (JsonParser parser = tree.traverse()) {
+            return validate(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
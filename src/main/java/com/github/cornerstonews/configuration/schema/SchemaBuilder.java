@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.schema;
+
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.GroupSequence;
+import javax.validation.Validator;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import org.hibernate.validator.group.GroupSequenceProvider;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.introspect.AnnotatedAndMetadata;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.util.EnumResolver;
+import com.github.cornerstonews.configuration.schema.SchemaNode.ScalarKind;
+import com.github.cornerstonews.configuration.validation.ValidatorProvider;
+
+/**
+ * Derives the {@link SchemaNode}s of a type from the bean introspection of a mapper and the constraint metadata of the
+ * shared validator.
+ * <p>
+ * Properties are required when declared with {@code @JsonProperty(required = true)}, or when they are constrained to
+ * be non-null within the validated part of the config and have no default value. Types the mapper may bind in ways
+ * not visible from their properties, such as polymorphic types, types with custom deserializers or delegating
+ * creators, accept any value.
+ */
+final class SchemaBuilder {
+
+    private static final Map<Class<?>, ScalarKind> SCALARS = new HashMap<>();
+
+    static {
+        SCALARS.put(String.class, ScalarKind.STRING);
+        SCALARS.put(CharSequence.class, ScalarKind.STRING);
+        for (Class<?> type : new Class<?>[] { boolean.class, Boolean.class }) {
+            SCALARS.put(type, ScalarKind.BOOLEAN);
+        }
+        for (Class<?> type : new Class<?>[] { byte.class, Byte.class, short.class, Short.class, int.class, Integer.class, long.class, Long.class,
+                BigInteger.class }) {
+            SCALARS.put(type, ScalarKind.INTEGER);
+        }
+        for (Class<?> type : new Class<?>[] { float.class, Float.class, double.class, Double.class, BigDecimal.class }) {
+            SCALARS.put(type, ScalarKind.NUMBER);
+        }
+    }
+
+    private final ObjectMapper mapper;
+    private final DeserializationConfig config;
+    private final AnnotationIntrospector introspector;
+    private final boolean failOnUnknown;
+    private final Map<JavaType, SchemaNode> nodes = new HashMap<>();
+    private final Map<JavaType, SchemaNode> validatedNodes = new HashMap<>();
+    private Validator validator;
+
+    SchemaBuilder(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.config = mapper.getDeserializationConfig();
+        this.introspector = config.getAnnotationIntrospector();
+        this.failOnUnknown = config.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    SchemaNode build(Class<?> type) {
+        return node(mapper.constructType(type), true);
+    }
+
+    /**
+     * @param validated
+     *            whether values of the type get validated along with the config, so its constraints are known to apply
+     */
+    private SchemaNode node(JavaType type, boolean validated) {
+        final Class<?> raw = type.getRawClass();
+        final ScalarKind kind = SCALARS.get(raw);
+        if (kind != null) {
+            return new SchemaNode.Scalar(kind, raw.getSimpleName());
+        }
+        if (type.isEnumType()) {
+            return enumNode(raw);
+        }
+        if (type.isArrayType()) {
+            final Class<?> element = type.getContentType().getRawClass();
+            // byte and char arrays are also bound from strings
+            return element == byte.class || element == char.class ? SchemaNode.ANY
+                    : new SchemaNode.ArrayNode(raw.getSimpleName(), node(type.getContentType(), validated));
+        }
+        if (type.isCollectionLikeType()) {
+            return new SchemaNode.ArrayNode(raw.getSimpleName(), node(type.getContentType(), validated));
+        }
+        if (type.isMapLikeType()) {
+            return new SchemaNode.MapNode(raw.getSimpleName(), node(type.getContentType(), validated));
+        }
+        if (type.isContainerType() || type.isReferenceType() || raw.isPrimitive() || raw.isInterface() || Modifier.isAbstract(raw.getModifiers())
+                || JsonNode.class.isAssignableFrom(raw) || raw.getName().startsWith("java.") || raw.getName().startsWith("javax.")) {
+            return SchemaNode.ANY;
+        }
+        return beanNode(type, validated);
+    }
+
+    private SchemaNode enumNode(Class<?> raw) {
+        final BeanDescription description = config.introspectForCreation(mapper.constructType(raw));
+        if (introspector.findDeserializer(description.getClassInfo()) != null || config.isEnabled(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL)) {
+            return SchemaNode.ANY;
+        }
+        for (AnnotatedMethod factory : description.getFactoryMethods()) {
+            if (introspector.findCreatorAnnotation(config, factory) != null) {
+                return SchemaNode.ANY;
+            }
+        }
+        for (AnnotatedMethod method : description.getClassInfo().memberMethods()) {
+            if (Boolean.TRUE.equals(introspector.hasAsValue(method))) {
+                return SchemaNode.ANY;
+            }
+        }
+
+        final EnumResolver resolver;
+        if (config.isEnabled(DeserializationFeature.READ_ENUMS_USING_TO_STRING)) {
+            resolver = EnumResolver.constructUsingToString(config, raw);
+        } else {
+            resolver = EnumResolver.constructFor(config, raw);
+        }
+        if (resolver.getDefaultValue() != null && config.isEnabled(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_USING_DEFAULT_VALUE)) {
+            return SchemaNode.ANY;
+        }
+        return new SchemaNode.EnumNode(resolver, !config.isEnabled(DeserializationFeature.FAIL_ON_NUMBERS_FOR_ENUMS));
+    }
+
+    private SchemaNode beanNode(JavaType type, boolean validated) {
+        final Map<JavaType, SchemaNode> built = validated ? validatedNodes : nodes;
+        final SchemaNode existing = built.get(type);
+        if (existing != null) {
+            return existing;
+        }
+
+        final Class<?> raw = type.getRawClass();
+        final BeanDescription description = config.introspect(type);
+        final AnnotatedClass classInfo = description.getClassInfo();
+        if (introspector.findDeserializer(classInfo) != null || description.findPOJOBuilder() != null
+                || introspector.findTypeResolver(config, classInfo, type) != null || hasDelegatingCreator(description)) {
+            return SchemaNode.ANY;
+        }
+
+        final SchemaNode.BeanNode node = new SchemaNode.BeanNode(raw.getSimpleName());
+        built.put(type, node);
+
+        final JsonIgnoreProperties.Value ignorals = config.getDefaultPropertyIgnorals(raw, classInfo);
+        final Set<String> ignored = new HashSet<>(description.getIgnoredPropertyNames());
+        ignored.addAll(ignorals.findIgnoredForDeserialization());
+        boolean ignoreUnknown = !failOnUnknown || ignorals.getIgnoreUnknown() || description.findAnySetterAccessor() != null
+                || config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES);
+
+        final BeanDescriptor constraints = validated && !hasGroupSequence(raw) ? validator().getConstraintsForClass(raw) : null;
+        Object defaults = null;
+        boolean instantiated = false;
+
+        final Map<String, SchemaNode.Property> properties = new HashMap<>();
+        final List<String> names = new ArrayList<>();
+        final List<SchemaNode.Property> required = new ArrayList<>();
+        for (BeanPropertyDefinition definition : description.findProperties()) {
+            final AnnotatedMember member = definition.getPrimaryMember();
+            if (member != null && introspector.findUnwrappingNameTransformer(member) != null) {
+                // the properties of unwrapped beans are mixed into this one
+                ignoreUnknown = true;
+                continue;
+            }
+
+            final PropertyDescriptor propertyConstraints = constraints == null ? null : constraints.getConstraintsForProperty(definition.getInternalName());
+            boolean notNull = false;
+            if (!definition.isRequired() && propertyConstraints != null && isNotNull(propertyConstraints)) {
+                if (!instantiated) {
+                    defaults = instantiate(description);
+                    instantiated = true;
+                }
+                notNull = defaults != null && hasNullDefault(definition, defaults);
+            }
+
+            final SchemaNode value = propertyNode(definition, member, propertyConstraints != null && isCascaded(propertyConstraints));
+            final SchemaNode.Property property = new SchemaNode.Property(definition.getName(), value,
+                    definition.isRequired() || notNull ? required.size() : -1, notNull);
+            if (definition.isRequired() || notNull) {
+                required.add(property);
+            }
+            names.add(definition.getName());
+            properties.put(definition.getName(), property);
+            if (member != null) {
+                final List<PropertyName> aliases = introspector.findPropertyAliases(member);
+                if (aliases != null) {
+                    for (PropertyName alias : aliases) {
+                        properties.putIfAbsent(alias.getSimpleName(), property);
+                    }
+                }
+            }
+        }
+
+        node.init(properties, names, ignored, required, ignoreUnknown, hasSingleArgumentCreator(description));
+        return node;
+    }
+
+    private SchemaNode propertyNode(BeanPropertyDefinition definition, AnnotatedMember member, boolean cascaded) {
+        if (member == null) {
+            return node(definition.getPrimaryType(), cascaded);
+        }
+        if (introspector.findDeserializer(member) != null || introspector.findContentDeserializer(member) != null
+                || member.hasAnnotation(JsonFormat.class)) {
+            return SchemaNode.ANY;
+        }
+        try {
+            return node(introspector.refineDeserializationType(config, member, definition.getPrimaryType()), cascaded);
+        } catch (JsonMappingException e) {
+            return SchemaNode.ANY;
+        }
+    }
+
+    private static boolean hasDelegatingCreator(BeanDescription description) {
+        for (AnnotatedAndMetadata<?, JsonCreator.Mode> creator : description.getConstructorsWithMode()) {
+            if (creator.metadata == JsonCreator.Mode.DELEGATING) {
+                return true;
+            }
+        }
+        for (AnnotatedAndMetadata<?, JsonCreator.Mode> creator : description.getFactoryMethodsWithMode()) {
+            if (creator.metadata == JsonCreator.Mode.DELEGATING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Single argument creators may bind the bean from a scalar value.
+     */
+    private static boolean hasSingleArgumentCreator(BeanDescription description) {
+        return description.getConstructors().stream().anyMatch(c -> c.getParameterCount() == 1)
+                || description.getFactoryMethods().stream().anyMatch(m -> m.getParameterCount() == 1);
+    }
+
+    private static boolean hasGroupSequence(Class<?> type) {
+        return type.isAnnotationPresent(GroupSequence.class) || type.isAnnotationPresent(GroupSequenceProvider.class);
+    }
+
+    private static boolean isNotNull(PropertyDescriptor descriptor) {
+        for (ConstraintDescriptor<?> constraint : descriptor.findConstraints().unorderedAndMatchingGroups(Default.class).getConstraintDescriptors()) {
+            final Class<?> annotation = constraint.getAnnotation().annotationType();
+            if (annotation == NotNull.class || annotation == NotEmpty.class || annotation == NotBlank.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCascaded(PropertyDescriptor descriptor) {
+        if (descriptor.isCascaded()) {
+            return true;
+        }
+        for (ContainerElementTypeDescriptor element : descriptor.getConstrainedContainerElementTypes()) {
+            if (element.isCascaded()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object instantiate(BeanDescription description) {
+        try {
+            return description.instantiateBean(config.canOverrideAccessModifiers());
+        } catch (RuntimeException e) {
+            // no usable default constructor, defaults are unknown
+            return null;
+        }
+    }
+
+    private static boolean hasNullDefault(BeanPropertyDefinition definition, Object defaults) {
+        final AnnotatedMember accessor = definition.getAccessor();
+        if (accessor == null) {
+            return false;
+        }
+        try {
+            accessor.fixAccess(true);
+            return accessor.getValue(defaults) == null;
+        } catch (RuntimeException e) {
+            // unreadable, the default is unknown
+            return false;
+        }
+    }
+
+    private Validator validator() {
+        if (validator == null) {
+            validator = ValidatorProvider.getValidator();
+        }
+        return validator;
+    }
+}
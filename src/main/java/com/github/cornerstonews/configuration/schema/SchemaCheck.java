@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * A single check of a document against a {@link ConfigSchema}, tracking the property path of the current value and
+ * collecting the errors found.
+ */
+final class SchemaCheck {
+
+    private static final String NEWLINE = String.format("%n");
+    private static final int MAX_SUGGESTIONS = 10;
+
+    private final List<String> errors = new ArrayList<>();
+    private Object[] segments = new Object[16];
+    private int depth;
+
+    void push(String name) {
+        if (depth == segments.length) {
+            segments = Arrays.copyOf(segments, depth * 2);
+        }
+        segments[depth++] = name;
+    }
+
+    void push(int index) {
+        if (depth == segments.length) {
+            segments = Arrays.copyOf(segments, depth * 2);
+        }
+        segments[depth++] = index;
+    }
+
+    void pop() {
+        segments[--depth] = null;
+    }
+
+    void unknownField(String name, Collection<String> known) {
+        final StringBuilder sb = new StringBuilder("Unrecognized field at: ");
+        appendPath(sb).append(depth == 0 ? "" : ".").append(name);
+        if (!known.isEmpty()) {
+            sb.append(NEWLINE).append("    Did you mean?:").append(NEWLINE);
+            final Iterator<String> it = known.iterator();
+            int i = 0;
+            while (it.hasNext() && i < MAX_SUGGESTIONS) {
+                sb.append("      - ").append(it.next());
+                i++;
+                if (it.hasNext()) {
+                    sb.append(NEWLINE);
+                }
+            }
+            if (i < known.size()) {
+                sb.append("        [").append(known.size() - i).append(" more]");
+            }
+        }
+        errors.add(sb.toString());
+    }
+
+    void incorrectType(JsonToken token, String expected) {
+        final StringBuilder sb = new StringBuilder("Incorrect type of value");
+        if (depth > 0) {
+            appendPath(sb.append(" at: "));
+        }
+        errors.add(sb.append("; is of type: ").append(typeOf(token)).append(", expected: ").append(expected).toString());
+    }
+
+    void missingField(String name) {
+        final StringBuilder sb = new StringBuilder("Missing required field at: ");
+        errors.add(appendPath(sb).append(depth == 0 ? "" : ".").append(name).toString());
+    }
+
+    List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Appends the path like binding errors report it, e.g. {@code servers.[0].host}.
+     */
+    private StringBuilder appendPath(StringBuilder sb) {
+        for (int i = 0; i < depth; i++) {
+            final Object segment = segments[i];
+            if (i > 0) {
+                sb.append('.');
+            }
+            if (segment instanceof Integer) {
+                sb.append('[').append(segment).append(']');
+            } else {
+                sb.append(segment);
+            }
+        }
+        return sb;
+    }
+
+    private static String typeOf(JsonToken token) {
+        switch (token) {
+        case START_OBJECT:
+            return "Object";
+        case START_ARRAY:
+            return "Array";
+        case VALUE_STRING:
+            return "String";
+        case VALUE_NUMBER_INT:
+            return "Integer";
+        case VALUE_NUMBER_FLOAT:
+            return "Double";
+        case VALUE_TRUE:
+        case VALUE_FALSE:
+            return "Boolean";
+        default:
+            return token.name();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.schema;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.EnumResolver;
+
+/**
+ * The values a type accepts, following the coercions Jackson applies by default when binding it.
+ */
+abstract class SchemaNode {
+
+    /**
+     * Accepts any value, for types whose binding can not be judged up front.
+     */
+    static final SchemaNode ANY = new SchemaNode("Object") {
+        @Override
+        void check(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException {
+            parser.skipChildren();
+        }
+    };
+
+    private final String typeName;
+
+    SchemaNode(String typeName) {
+        this.typeName = typeName;
+    }
+
+    /**
+     * Checks the value starting at the current token of the parser and moves the parser to its last token.
+     */
+    abstract void check(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException;
+
+    void mismatch(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException {
+        check.incorrectType(token, typeName);
+        parser.skipChildren();
+    }
+
+    enum ScalarKind {
+        STRING, INTEGER, NUMBER, BOOLEAN
+    }
+
+    static final class Scalar extends SchemaNode {
+        private static final Pattern INTEGER = Pattern.compile("[+-]?\\d+");
+
+        private final ScalarKind kind;
+
+        Scalar(ScalarKind kind, String typeName) {
+            super(typeName);
+            this.kind = kind;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException {
+            if (token == JsonToken.VALUE_NULL || token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                return;
+            }
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                mismatch(parser, token, check);
+                return;
+            }
+
+            final boolean accepted;
+            switch (kind) {
+            case INTEGER:
+                accepted = token.isNumeric() || (token == JsonToken.VALUE_STRING && isInteger(parser.getText().trim()));
+                break;
+            case NUMBER:
+                accepted = token.isNumeric() || (token == JsonToken.VALUE_STRING && isNumber(parser.getText().trim()));
+                break;
+            case BOOLEAN:
+                accepted = token.isBoolean() || token == JsonToken.VALUE_NUMBER_INT || (token == JsonToken.VALUE_STRING && isBoolean(parser.getText().trim()));
+                break;
+            default:
+                accepted = true;
+            }
+            if (!accepted) {
+                mismatch(parser, token, check);
+            }
+        }
+
+        private static boolean isNull(String text) {
+            return text.isEmpty() || "null".equals(text);
+        }
+
+        private static boolean isInteger(String text) {
+            return isNull(text) || INTEGER.matcher(text).matches();
+        }
+
+        private static boolean isNumber(String text) {
+            if (isNull(text)) {
+                return true;
+            }
+            try {
+                Double.parseDouble(text);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static boolean isBoolean(String text) {
+            return isNull(text) || "true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text);
+        }
+    }
+
+    static final class EnumNode extends SchemaNode {
+        private final EnumResolver resolver;
+        private final boolean acceptIndex;
+
+        EnumNode(EnumResolver resolver, boolean acceptIndex) {
+            super(resolver.getEnumClass().getSimpleName());
+            this.resolver = resolver;
+            this.acceptIndex = acceptIndex;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException {
+            final boolean accepted;
+            if (token == JsonToken.VALUE_NULL) {
+                accepted = true;
+            } else if (token == JsonToken.VALUE_STRING) {
+                final String text = parser.getText();
+                accepted = resolver.findEnum(text) != null || (acceptIndex && isIndex(text));
+            } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                accepted = acceptIndex && parser.getNumberType() == JsonParser.NumberType.INT && isIndex(parser.getIntValue());
+            } else {
+                accepted = false;
+            }
+            if (!accepted) {
+                mismatch(parser, token, check);
+            }
+        }
+
+        private boolean isIndex(String text) {
+            if (text.isEmpty() || text.length() > 9) {
+                return false;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                if (!Character.isDigit(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return isIndex(Integer.parseInt(text));
+        }
+
+        private boolean isIndex(int index) {
+            return index >= 0 && index <= resolver.lastValidIndex();
+        }
+    }
+
+    static final class ArrayNode extends SchemaNode {
+        private final SchemaNode elements;
+
+        ArrayNode(String typeName, SchemaNode elements) {
+            super(typeName);
+            this.elements = elements;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException {
+            if (token == JsonToken.START_ARRAY) {
+                int index = 0;
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                    check.push(index++);
+                    elements.check(parser, element, check);
+                    check.pop();
+                }
+            } else if (token != JsonToken.VALUE_NULL) {
+                mismatch(parser, token, check);
+            }
+        }
+    }
+
+    static final class MapNode extends SchemaNode {
+        private final SchemaNode values;
+
+        MapNode(String typeName, SchemaNode values) {
+            super(typeName);
+            this.values = values;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException {
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    check.push(parser.getCurrentName());
+                    values.check(parser, parser.nextToken(), check);
+                    check.pop();
+                }
+            } else if (token != JsonToken.VALUE_NULL) {
+                mismatch(parser, token, check);
+            }
+        }
+    }
+
+    static final class BeanNode extends SchemaNode {
+        private Map<String, Property> properties;
+        private Collection<String> names;
+        private Set<String> ignored;
+        private List<Property> required;
+        private boolean ignoreUnknown;
+        private boolean acceptScalars;
+
+        BeanNode(String typeName) {
+            super(typeName);
+        }
+
+        /**
+         * Completes the node once the nodes of its properties are built, which may refer back to it.
+         */
+        void init(Map<String, Property> properties, Collection<String> names, Set<String> ignored, List<Property> required, boolean ignoreUnknown,
+                boolean acceptScalars) {
+            this.properties = properties;
+            this.names = names;
+            this.ignored = ignored;
+            this.required = required;
+            this.ignoreUnknown = ignoreUnknown;
+            this.acceptScalars = acceptScalars;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, SchemaCheck check) throws IOException {
+            if (token == JsonToken.START_OBJECT) {
+                checkProperties(parser, check);
+            } else if (token == JsonToken.START_ARRAY || !(acceptScalars || token == JsonToken.VALUE_NULL)) {
+                mismatch(parser, token, check);
+            }
+        }
+
+        private void checkProperties(JsonParser parser, SchemaCheck check) throws IOException {
+            final BitSet present = required.isEmpty() ? null : new BitSet(required.size());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+                final Property property = properties.get(name);
+                if (property == null) {
+                    if (!ignoreUnknown && !ignored.contains(name)) {
+                        check.unknownField(name, names);
+                    }
+                    parser.skipChildren();
+                    continue;
+                }
+
+                if (property.requiredIndex >= 0 && !(property.notNull && token == JsonToken.VALUE_NULL)) {
+                    present.set(property.requiredIndex);
+                }
+                check.push(name);
+                property.node.check(parser, token, check);
+                check.pop();
+            }
+
+            if (present != null && present.cardinality() < required.size()) {
+                for (Property property : required) {
+                    if (!present.get(property.requiredIndex)) {
+                        check.missingField(property.name);
+                    }
+                }
+            }
+        }
+    }
+
+    static final class Property {
+        private final String name;
+        private final SchemaNode node;
+        private final int requiredIndex;
+        private final boolean notNull;
+
+        /**
+         * @param requiredIndex
+         *            the position among the required properties of the bean, {@code -1} if the property is optional
+         * @param notNull
+         *            whether an explicit {@code null} counts as missing
+         */
+        Property(String name, SchemaNode node, int requiredIndex, boolean notNull) {
+            this.name = name;
+            this.node = node;
+            this.requiredIndex = requiredIndex;
+            this.notNull = notNull;
+        }
+    }
+}
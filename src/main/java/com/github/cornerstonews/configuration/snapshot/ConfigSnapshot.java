@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.snapshot;
+
+import java.util.Map;
+import java.util.Objects;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.parser.HashMapConfigParser;
+
+/**
+ * An immutable version of a validated configuration.
+ * <p>
+ * {@link #merge(Map)} never modifies the configuration of a snapshot, it returns a new snapshot holding a copy of the
+ * beans on the paths to the overridden properties, while all other beans are shared with this snapshot. The
+ * configuration returned by {@link #get()} is shared as well and must be treated as read only.
+ *
+ * @param <T> the configuration type
+ */
+public final class ConfigSnapshot<T> {
+
+    private final HashMapConfigParser<T> parser;
+    private final T config;
+    private final long version;
+
+    private ConfigSnapshot(HashMapConfigParser<T> parser, T config, long version) {
+        this.parser = parser;
+        this.config = config;
+        this.version = version;
+    }
+
+    /**
+     * Validates the configuration and wraps it into a first snapshot. The configuration must not be modified afterwards.
+     *
+     * @param klass
+     *            the configuration type
+     * @param config
+     *            the configuration
+     * @param failOnUnknown
+     *            whether overrides with unknown properties are rejected by {@link #merge(Map)}
+     * @return the snapshot
+     * @throws ConfigException
+     *             if the configuration is not valid
+     */
+    public static <T> ConfigSnapshot<T> of(Class<T> klass, T config, boolean failOnUnknown) throws ConfigException {
+        Objects.requireNonNull(config, "config");
+        final HashMapConfigParser<T> parser = new HashMapConfigParser<>(klass, failOnUnknown);
+        parser.isValid(config);
+        return new ConfigSnapshot<>(parser, config, 0);
+    }
+
+    public T get() {
+        return config;
+    }
+
+    /**
+     * @return the number of merges leading to this snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates the next snapshot with the overrides merged in. Nested maps are merged into the existing nested beans
+     * and only the properties that differ from this snapshot are validated.
+     *
+     * @param overrides
+     *            the overrides, keyed like the configuration file
+     * @return the new snapshot, or this one if there is nothing to merge
+     * @throws ConfigException
+     *             if the overrides can not be bound or the merged configuration is not valid
+     */
+    public ConfigSnapshot<T> merge(Map<String, ?> overrides) throws ConfigException {
+        if (overrides.isEmpty()) {
+            return this;
+        }
+
+        final T merged = parser.mergeCopy(overrides, config);
+        parser.isValid(config, merged);
+        return new ConfigSnapshot<>(parser, merged, version + 1);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.snapshot;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.configuration.ConfigException;
+
+/**
+ * Publishes the current {@link ConfigSnapshot} of a configuration to any number of reader threads.
+ * <p>
+ * Readers get the current snapshot without locking. Updates are applied optimistically: the overrides are merged into
+ * the current snapshot and the result is published only if no other update was published in the meantime, otherwise
+ * the merge is repeated on top of the newer snapshot.
+ *
+ * @param <T> the configuration type
+ */
+public class SnapshotHolder<T> {
+
+    private static final Logger log = LogManager.getLogger(SnapshotHolder.class);
+
+    private final AtomicReference<ConfigSnapshot<T>> current;
+
+    public SnapshotHolder(ConfigSnapshot<T> initial) {
+        this.current = new AtomicReference<>(Objects.requireNonNull(initial, "initial"));
+    }
+
+    /**
+     * @return the current snapshot
+     */
+    public ConfigSnapshot<T> getSnapshot() {
+        return current.get();
+    }
+
+    /**
+     * @return the configuration of the current snapshot, which must be treated as read only
+     */
+    public T get() {
+        return current.get().get();
+    }
+
+    /**
+     * Merges the overrides into the current snapshot and publishes the result.
+     *
+     * @param overrides
+     *            the overrides, keyed like the configuration file
+     * @return the published snapshot
+     * @throws ConfigException
+     *             if the overrides can not be bound or the merged configuration is not valid, the current snapshot is
+     *             kept in that case
+     */
+    public ConfigSnapshot<T> update(Map<String, ?> overrides) throws ConfigException {
+        while (true) {
+            final ConfigSnapshot<T> previous = current.get();
+            final ConfigSnapshot<T> next = previous.merge(overrides);
+            if (current.compareAndSet(previous, next)) {
+                return next;
+            }
+            log.debug("Configuration snapshot {} was replaced concurrently, merging again", previous.getVersion());
+        }
+    }
+
+    /**
+     * Publishes the given snapshot, e.g. a freshly loaded configuration, replacing the current one.
+     */
+    public void set(ConfigSnapshot<T> snapshot) {
+        current.set(Objects.requireNonNull(snapshot, "snapshot"));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.tree;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * A precompiled path into a {@link ConfigTree}, such as {@code db.pool.maxSize} or {@code servers[0].host}.
+ * <p>
+ * The path is split into its segments once, when the key is created, and every key gets a unique id that trees use to
+ * cache the node it resolves to. Keys are meant to be created once and kept in constants.
+ *
+ * @param <T> the type of the value
+ */
+public final class ConfigKey<T> {
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    private final int id = IDS.getAndIncrement();
+    private final String path;
+    private final Class<T> type;
+    private final Type genericType;
+    private final T defaultValue;
+    private final String[] names;
+    private final int[] indexes;
+
+    private ConfigKey(String path, Class<T> type, Type genericType, T defaultValue) {
+        this.path = Objects.requireNonNull(path, "path");
+        this.type = type;
+        this.genericType = genericType;
+        this.defaultValue = defaultValue;
+
+        final List<String> segmentNames = new ArrayList<>();
+        final List<Integer> segmentIndexes = new ArrayList<>();
+        int i = 0;
+        while (i < path.length()) {
+            if (path.charAt(i) == '[') {
+                final int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated index in config path: " + path);
+                }
+                try {
+                    segmentIndexes.add(Integer.parseInt(path.substring(i + 1, end)));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid index in config path: " + path, e);
+                }
+                segmentNames.add(null);
+                i = end + 1;
+                if (i < path.length() && path.charAt(i) == '.') {
+                    i++;
+                }
+            } else {
+                int end = i;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == i) {
+                    throw new IllegalArgumentException("Empty property name in config path: " + path);
+                }
+                segmentNames.add(path.substring(i, end));
+                segmentIndexes.add(-1);
+                i = end < path.length() && path.charAt(end) == '.' ? end + 1 : end;
+            }
+        }
+
+        this.names = segmentNames.toArray(new String[0]);
+        this.indexes = segmentIndexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Creates a key for a required value.
+     *
+     * @param path
+     *            dot separated property names with optional list indexes, e.g. {@code servers[0].host}
+     * @param type
+     *            the type of the value
+     */
+    public static <T> ConfigKey<T> of(String path, Class<T> type) {
+        return new ConfigKey<>(path, Objects.requireNonNull(type, "type"), type, null);
+    }
+
+    /**
+     * Creates a key for an optional value, resolving to the given default when the value is missing or null.
+     */
+    public static <T> ConfigKey<T> of(String path, Class<T> type, T defaultValue) {
+        return new ConfigKey<>(path, Objects.requireNonNull(type, "type"), type, Objects.requireNonNull(defaultValue, "defaultValue"));
+    }
+
+    /**
+     * Creates a key for a required value of a generic type, e.g. {@code new TypeReference<List<Server>>() {}}.
+     */
+    public static <T> ConfigKey<T> of(String path, TypeReference<T> type) {
+        return new ConfigKey<>(path, rawClass(type), type.getType(), null);
+    }
+
+    /**
+     * Creates a key for an optional value of a generic type, resolving to the given default when the value is missing
+     * or null.
+     */
+    public static <T> ConfigKey<T> of(String path, TypeReference<T> type, T defaultValue) {
+        return new ConfigKey<>(path, rawClass(type), type.getType(), Objects.requireNonNull(defaultValue, "defaultValue"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> rawClass(TypeReference<T> type) {
+        return (Class<T>) TypeFactory.rawClass(Objects.requireNonNull(type, "type").getType());
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return the type of the value including its type arguments, the same as {@link #getType()} for keys created
+     *         with a class
+     */
+    public Type getGenericType() {
+        return genericType;
+    }
+
+    /**
+     * @return the default value, {@code null} if the value is required
+     */
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    /**
+     * @return the node at this key's path, a missing node if there is none
+     */
+    JsonNode resolve(JsonNode root) {
+        JsonNode node = root;
+        for (int i = 0; i < names.length && node != null; i++) {
+            node = names[i] != null ? node.get(names[i]) : node.get(indexes[i]);
+        }
+        return node == null ? MissingNode.getInstance() : node;
+    }
+
+    @Override
+    public String toString() {
+        return path + " (" + (genericType == type ? type.getSimpleName() : genericType.getTypeName()) + ")";
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.tree;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.parser.ConfigFormat;
+import com.github.cornerstonews.configuration.parser.ObjectReaderRegistry;
+
+/**
+ * Read only view of a parsed configuration, giving access to single values without binding the whole configuration.
+ * <p>
+ * Values are looked up with {@link ConfigKey}s. The node a key resolves to is cached by the key's id, so repeated
+ * lookups are an array access. The primitive getters do not allocate, {@link #get(ConfigKey)} binds a new value on
+ * every call. The underlying tree must not be modified once it is wrapped.
+ */
+public final class ConfigTree {
+
+    /**
+     * Keys with a higher id are resolved on every lookup instead of being cached, keys are expected to be constants.
+     */
+    static final int MAX_CACHED_KEYS = 4096;
+
+    private final String source;
+    private final JsonNode root;
+    private final ObjectMapper mapper;
+    private volatile JsonNode[] nodes = new JsonNode[0];
+
+    /**
+     * @param source
+     *            where the tree was read from, reported in errors
+     * @param root
+     *            the root node
+     */
+    public ConfigTree(String source, JsonNode root) {
+        this(source, root, ObjectReaderRegistry.getShared().getMapper(ConfigFormat.JSON, false));
+    }
+
+    /**
+     * @param mapper
+     *            binds the values returned by {@link #get(ConfigKey)}
+     */
+    public ConfigTree(String source, JsonNode root, ObjectMapper mapper) {
+        this.source = source;
+        this.root = Objects.requireNonNull(root, "root");
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return whether the tree has a non null value for the key
+     */
+    public boolean contains(ConfigKey<?> key) {
+        return !isAbsent(node(key));
+    }
+
+    public int getInt(ConfigKey<Integer> key) throws ConfigException {
+        final JsonNode node = node(key);
+        if (node.isIntegralNumber() && node.canConvertToInt()) {
+            return node.intValue();
+        }
+        return defaultValue(key, node);
+    }
+
+    public long getLong(ConfigKey<Long> key) throws ConfigException {
+        final JsonNode node = node(key);
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            return node.longValue();
+        }
+        return defaultValue(key, node);
+    }
+
+    public double getDouble(ConfigKey<Double> key) throws ConfigException {
+        final JsonNode node = node(key);
+        if (node.isNumber()) {
+            return node.doubleValue();
+        }
+        return defaultValue(key, node);
+    }
+
+    public boolean getBoolean(ConfigKey<Boolean> key) throws ConfigException {
+        final JsonNode node = node(key);
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        return defaultValue(key, node);
+    }
+
+    public String getString(ConfigKey<String> key) throws ConfigException {
+        final JsonNode node = node(key);
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isValueNode() && !node.isNull()) {
+            return node.asText();
+        }
+        return defaultValue(key, node);
+    }
+
+    /**
+     * Binds the value of the key to the key's generic type, e.g. a nested config bean or a list of them.
+     */
+    public <V> V get(ConfigKey<V> key) throws ConfigException {
+        final JsonNode node = node(key);
+        if (isAbsent(node)) {
+            return defaultValue(key, node);
+        }
+        try {
+            return mapper.readerFor(mapper.constructType(key.getGenericType())).readValue(node);
+        } catch (JsonProcessingException e) {
+            throw new ConfigException(source, Arrays.asList("Failed to parse configuration at: " + key.getPath() + "; " + e.getOriginalMessage()), e);
+        } catch (IOException e) {
+            throw new ConfigException(source, Arrays.asList("Failed to parse configuration at: " + key.getPath() + "; " + e.getMessage()), e);
+        }
+    }
+
+    private JsonNode node(ConfigKey<?> key) {
+        final int id = key.getId();
+        final JsonNode[] cached = nodes;
+        if (id < cached.length) {
+            final JsonNode node = cached[id];
+            if (node != null) {
+                return node;
+            }
+        }
+
+        final JsonNode node = key.resolve(root);
+        if (id < MAX_CACHED_KEYS) {
+            cache(id, node);
+        }
+        return node;
+    }
+
+    private synchronized void cache(int id, JsonNode node) {
+        JsonNode[] cached = nodes;
+        if (id >= cached.length) {
+            cached = Arrays.copyOf(cached, Math.min(MAX_CACHED_KEYS, Math.max(id + 1, cached.length * 2)));
+        }
+        cached[id] = node;
+        nodes = cached;
+    }
+
+    private <V> V defaultValue(ConfigKey<V> key, JsonNode node) throws ConfigException {
+        if (!isAbsent(node)) {
+            throw new ConfigException(source, Collections.singletonList(
+                    "Incorrect type of value at: " + key.getPath() + "; is of type: " + node.getNodeType() + ", expected: " + key.getType().getSimpleName()));
+        }
+        if (key.getDefaultValue() == null) {
+            throw new ConfigException(source, Collections.singletonList("Missing value at: " + key.getPath()));
+        }
+        return key.getDefaultValue();
+    }
+
+    private static boolean isAbsent(JsonNode node) {
+        return node.isMissingNode() || node.isNull();
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.validation;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import org.hibernate.validator.group.GroupSequenceProvider;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * Validates only the parts of a configuration that changed since a previous, valid version of it.
+ * <p>
+ * Only constrained and cascaded properties, as described by the validator's bean metadata, are compared and references
+ * that did not change are skipped without looking into them. Changed properties are checked with
+ * {@link Validator#validateProperty(Object, String, Class...)} and changed beans reached through {@code @Valid} are
+ * compared recursively. Beans declaring class level constraints or a group sequence are validated completely once
+ * anything within them changed, as their constraints may depend on any of their properties.
+ * <p>
+ * As long as the previous configuration was valid, the reported errors are the same as the ones of a complete
+ * validation of the new configuration.
+ */
+public class IncrementalValidator {
+
+    private static final Map<ObjectMapper, IncrementalValidator> SHARED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, Map<String, String>> propertyNames = new ConcurrentHashMap<>();
+    private final Map<Class<?>, BeanMetadata> metadata = new ConcurrentHashMap<>();
+
+    /**
+     * @param mapper
+     *            the mapper binding override maps, used to translate their keys into bean property names
+     */
+    public IncrementalValidator(ObjectMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper, "mapper");
+    }
+
+    /**
+     * @return the validator shared by parsers using the given mapper
+     */
+    public static IncrementalValidator forMapper(ObjectMapper mapper) {
+        return SHARED.computeIfAbsent(mapper, IncrementalValidator::new);
+    }
+
+    /**
+     * Validates the parts of {@code current} that differ from {@code previous}.
+     *
+     * @param previous
+     *            the previously validated configuration
+     * @param current
+     *            the configuration to validate
+     * @return the errors found, formatted as {@code "<property path> <message>"}
+     */
+    public Set<String> validateChanges(Object previous, Object current) {
+        final Comparison comparison = new Comparison();
+        comparison.compareBean("", previous, current);
+        return comparison.errors;
+    }
+
+    /**
+     * Remembers the properties of {@code config} that the given overrides are going to replace. The returned changes
+     * have to be validated after the overrides were merged into {@code config}.
+     *
+     * @param config
+     *            the configuration the overrides are merged into in place
+     * @param overrides
+     *            the overrides, keyed like the configuration file
+     * @return the pending changes
+     */
+    public PendingChanges capture(Object config, Map<String, ?> overrides) {
+        return new PendingChanges(config, captureBean(metadata(ValidatorProvider.getValidator(), config.getClass()), config, overrides));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CapturedBean captureBean(BeanMetadata bean, Object value, Map<String, ?> overrides) {
+        final CapturedBean captured = new CapturedBean();
+        if (bean.fullValidation) {
+            return captured;
+        }
+
+        final Map<String, String> names = propertyNames(bean.type);
+        for (Map.Entry<String, ?> override : overrides.entrySet()) {
+            final PropertyMetadata property = bean.properties.get(names.getOrDefault(override.getKey(), override.getKey()));
+            if (property == null) {
+                continue;
+            }
+
+            final Object propertyValue = property.read(value);
+            CapturedBean nested = null;
+            if (propertyValue != null && override.getValue() instanceof Map && property.cascaded && !isContainer(propertyValue)) {
+                nested = captureBean(metadata(bean.validator, propertyValue.getClass()), propertyValue, (Map<String, ?>) override.getValue());
+            }
+            captured.properties.add(new CapturedProperty(property, propertyValue, nested));
+        }
+        return captured;
+    }
+
+    private Map<String, String> propertyNames(Class<?> type) {
+        return propertyNames.computeIfAbsent(type, t -> {
+            final BeanDescription description = mapper.getDeserializationConfig().introspect(mapper.constructType(t));
+            final Map<String, String> names = new HashMap<>();
+            for (BeanPropertyDefinition property : description.findProperties()) {
+                names.put(property.getName(), property.getInternalName());
+            }
+            return names;
+        });
+    }
+
+    private BeanMetadata metadata(Validator validator, Class<?> type) {
+        BeanMetadata bean = metadata.get(type);
+        if (bean == null || bean.validator != validator) {
+            bean = new BeanMetadata(validator, type);
+            metadata.put(type, bean);
+        }
+        return bean;
+    }
+
+    private static boolean isContainer(Object value) {
+        return value instanceof Iterable || value instanceof Map || value instanceof Optional || value.getClass().isArray();
+    }
+
+    private static String join(String prefix, String path) {
+        if (prefix.isEmpty()) {
+            return path;
+        }
+        if (path.isEmpty()) {
+            return prefix;
+        }
+        return path.charAt(0) == '[' ? prefix + path : prefix + "." + path;
+    }
+
+    /**
+     * Properties of a configuration about to be replaced by overrides, see {@link IncrementalValidator#capture}.
+     */
+    public final class PendingChanges {
+        private final Object config;
+        private final CapturedBean captured;
+
+        private PendingChanges(Object config, CapturedBean captured) {
+            this.config = config;
+            this.captured = captured;
+        }
+
+        /**
+         * Validates the captured properties after the overrides were merged.
+         *
+         * @return the errors found, formatted as {@code "<property path> <message>"}
+         */
+        public Set<String> validate() {
+            final Comparison comparison = new Comparison();
+            comparison.validateCaptured("", config, captured);
+            return comparison.errors;
+        }
+    }
+
+    private static final class CapturedBean {
+        private final List<CapturedProperty> properties = new ArrayList<>();
+    }
+
+    private static final class CapturedProperty {
+        private final PropertyMetadata property;
+        private final Object value;
+        private final CapturedBean nested;
+
+        private CapturedProperty(PropertyMetadata property, Object value, CapturedBean nested) {
+            this.property = property;
+            this.value = value;
+            this.nested = nested;
+        }
+    }
+
+    /**
+     * A single validation run, collecting the errors found.
+     */
+    private final class Comparison {
+        private final Validator validator = ValidatorProvider.getValidator();
+        private final Set<String> errors = new HashSet<>();
+
+        private void validateCaptured(String path, Object bean, CapturedBean captured) {
+            if (metadata(validator, bean.getClass()).fullValidation) {
+                validateBean(path, bean);
+                return;
+            }
+
+            for (CapturedProperty change : captured.properties) {
+                final PropertyMetadata property = change.property;
+                final Object value = property.read(bean);
+                if (value != change.value) {
+                    compareProperty(path, bean, property, change.value, value);
+                } else if (change.nested != null) {
+                    validateCaptured(join(path, property.name), value, change.nested);
+                } else if (value != null && isContainer(value)) {
+                    // merged in place, the previous elements are unknown
+                    compareProperty(path, bean, property, null, value);
+                }
+            }
+        }
+
+        private void compareBean(String path, Object previous, Object current) {
+            if (current == null || previous == current) {
+                return;
+            }
+            final Class<?> type = current.getClass();
+            if (previous == null || previous.getClass() != type || isContainer(current)) {
+                validateBean(path, current);
+                return;
+            }
+
+            final BeanMetadata bean = metadata(validator, type);
+            if (bean.fullValidation) {
+                validateBean(path, current);
+                return;
+            }
+            for (PropertyMetadata property : bean.properties.values()) {
+                final Object before = property.read(previous);
+                final Object after = property.read(current);
+                if (before == after || (!property.cascaded && Objects.equals(before, after))) {
+                    continue;
+                }
+                compareProperty(path, current, property, before, after);
+            }
+        }
+
+        private void compareProperty(String path, Object bean, PropertyMetadata property, Object before, Object after) {
+            if (property.constrained) {
+                addErrors(path, validator.validateProperty(bean, property.name));
+            }
+            if (after == null || !property.cascaded) {
+                return;
+            }
+
+            final String propertyPath = join(path, property.name);
+            if (!property.simpleCascade) {
+                validateBean(path, bean);
+            } else if (after instanceof List || after instanceof Object[]) {
+                final List<?> elements = after instanceof List ? (List<?>) after : Arrays.asList((Object[]) after);
+                final List<?> previous = before instanceof List ? (List<?>) before
+                        : before instanceof Object[] ? Arrays.asList((Object[]) before) : Collections.emptyList();
+                if (containsContainer(elements)) {
+                    validateBean(path, bean);
+                    return;
+                }
+                for (int i = 0; i < elements.size(); i++) {
+                    compareBean(propertyPath + "[" + i + "]", i < previous.size() ? previous.get(i) : null, elements.get(i));
+                }
+            } else if (after instanceof Map) {
+                final Map<?, ?> entries = (Map<?, ?>) after;
+                final Map<?, ?> previous = before instanceof Map ? (Map<?, ?>) before : Collections.emptyMap();
+                if (containsContainer(entries.values())) {
+                    validateBean(path, bean);
+                    return;
+                }
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    compareBean(propertyPath + "[" + entry.getKey() + "]", previous.get(entry.getKey()), entry.getValue());
+                }
+            } else if (isContainer(after)) {
+                validateBean(path, bean);
+            } else {
+                compareBean(propertyPath, before, after);
+            }
+        }
+
+        private boolean containsContainer(Iterable<?> elements) {
+            for (Object element : elements) {
+                if (element != null && isContainer(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void validateBean(String path, Object bean) {
+            addErrors(path, validator.validate(bean));
+        }
+
+        private void addErrors(String path, Set<? extends ConstraintViolation<?>> violations) {
+            for (ConstraintViolation<?> violation : violations) {
+                errors.add(String.format("%s %s", join(path, violation.getPropertyPath().toString()), violation.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * The constrained and cascaded properties of a bean class, as described by a validator.
+     */
+    private static final class BeanMetadata {
+        private final Validator validator;
+        private final Class<?> type;
+        private final Map<String, PropertyMetadata> properties = new LinkedHashMap<>();
+        private final boolean fullValidation;
+
+        private BeanMetadata(Validator validator, Class<?> type) {
+            this.validator = validator;
+            this.type = type;
+
+            final BeanDescriptor descriptor = validator.getConstraintsForClass(type);
+            boolean readable = true;
+            for (PropertyDescriptor property : descriptor.getConstrainedProperties()) {
+                final Member accessor = findAccessor(type, property.getPropertyName());
+                readable &= accessor != null;
+                properties.put(property.getPropertyName(), new PropertyMetadata(property, accessor));
+            }
+            this.fullValidation = !readable || !descriptor.getConstraintDescriptors().isEmpty() || type.isAnnotationPresent(GroupSequence.class)
+                    || type.isAnnotationPresent(GroupSequenceProvider.class);
+        }
+
+        /**
+         * Finds the getter or, when there is none, the field the validator reads a property from.
+         */
+        private static Member findAccessor(Class<?> type, String property) {
+            final String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (String getter : new String[] { "get" + suffix, "is" + suffix }) {
+                    try {
+                        return accessible(c.getDeclaredMethod(getter));
+                    } catch (NoSuchMethodException e) {
+                        // try the next candidate
+                    }
+                }
+            }
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                try {
+                    return accessible(c.getDeclaredField(property));
+                } catch (NoSuchFieldException e) {
+                    // try the super class
+                }
+            }
+            return null;
+        }
+
+        private static <M extends AccessibleObject & Member> Member accessible(M member) {
+            try {
+                member.setAccessible(true);
+                return member;
+            } catch (RuntimeException e) {
+                // e.g. not opened by its module, the bean gets validated completely instead
+                return null;
+            }
+        }
+    }
+
+    private static final class PropertyMetadata {
+        private final String name;
+        private final Member accessor;
+        private final boolean constrained;
+        private final boolean cascaded;
+        private final boolean simpleCascade;
+
+        private PropertyMetadata(PropertyDescriptor descriptor, Member accessor) {
+            this.name = descriptor.getPropertyName();
+            this.accessor = accessor;
+
+            boolean elementsConstrained = false;
+            boolean elementsCascaded = false;
+            boolean simple = true;
+            for (ContainerElementTypeDescriptor element : descriptor.getConstrainedContainerElementTypes()) {
+                elementsConstrained |= element.hasConstraints();
+                elementsCascaded |= element.isCascaded();
+                // only list elements and map values can be followed one by one, map keys and nested containers can not
+                if (!element.getConstrainedContainerElementTypes().isEmpty()) {
+                    elementsCascaded = true;
+                    simple = false;
+                }
+                if (element.isCascaded() && Map.class.isAssignableFrom(element.getContainerClass()) && element.getTypeArgumentIndex() == 0) {
+                    simple = false;
+                }
+            }
+            this.constrained = descriptor.hasConstraints() || elementsConstrained;
+            this.cascaded = descriptor.isCascaded() || elementsCascaded;
+            this.simpleCascade = simple;
+        }
+
+        private Object read(Object bean) {
+            try {
+                if (accessor instanceof Method) {
+                    return ((Method) accessor).invoke(bean);
+                }
+                return ((Field) accessor).get(bean);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new ValidationException("Can not read property '" + name + "' of " + bean.getClass(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.configuration.validation;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+
+/**
+ * Holds the {@link Validator} shared by all config parsers.
+ * <p>
+ * The underlying {@link ValidatorFactory} is built lazily on first use and reused afterwards, {@link Validator}
+ * instances are thread-safe. Customizations such as fail fast mode or additional value extractors have to be
+ * registered through {@link #configure(Consumer)} before the validator is first used.
+ */
+public final class ValidatorProvider {
+
+    private static final Logger log = LogManager.getLogger(ValidatorProvider.class);
+
+    private static final Object LOCK = new Object();
+
+    private static Consumer<HibernateValidatorConfiguration> configurer = configuration -> {
+    };
+    private static ValidatorFactory factory;
+    private static volatile Validator validator;
+
+    private ValidatorProvider() {
+    }
+
+    /**
+     * Registers the customizations applied when the validator factory is built.
+     *
+     * @param customizer
+     *            callback customizing the Hibernate Validator configuration, e.g. to enable fail fast mode or to add
+     *            ValueExtractor(s) for variables that can not be directly validated
+     * @throws IllegalStateException
+     *             if the validator has already been built and not closed since
+     */
+    public static void configure(Consumer<HibernateValidatorConfiguration> customizer) {
+        Objects.requireNonNull(customizer, "customizer");
+        synchronized (LOCK) {
+            if (factory != null) {
+                throw new IllegalStateException("Validator is already in use, close it before changing its configuration");
+            }
+            configurer = customizer;
+        }
+    }
+
+    public static Validator getValidator() {
+        Validator current = validator;
+        if (current == null) {
+            synchronized (LOCK) {
+                current = validator;
+                if (current == null) {
+                    log.debug("Building validator factory");
+                    final HibernateValidatorConfiguration configuration = Validation.byProvider(HibernateValidator.class).configure();
+                    configurer.accept(configuration);
+                    factory = configuration.buildValidatorFactory();
+                    current = factory.getValidator();
+                    validator = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Closes the shared validator factory, e.g. on application shutdown. A later call to {@link #getValidator()}
+     * builds a new factory using the current configuration.
+     */
+    public static void close() {
+        synchronized (LOCK) {
+            if (factory != null) {
+                factory.close();
+            }
+            factory = null;
+            validator = null;
+        }
+    }
+}
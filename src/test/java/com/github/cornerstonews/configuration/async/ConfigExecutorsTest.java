@@ -0,0 +1,99 @@
+package com.github.cornerstonews.configuration.async;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.parser.Address;
+
+public class ConfigExecutorsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void loadConfigAsyncTest() throws IOException, InterruptedException, ExecutionException {
+        final Path file = Files.write(dir.resolve("address.yaml"), "city: Chicago\n".getBytes(StandardCharsets.UTF_8));
+        final CompletableFuture<Address> address = ConfigFactory.loadConfigAsync(file.toString(), Address.class);
+        assertTrue(address.get().getCity().equals("Chicago"));
+
+        final Thread loader = ConfigExecutors.supply(Thread::currentThread, ConfigExecutors.getDefault()).get();
+        System.out.println("Loading on " + loader);
+        assertTrue(loader != Thread.currentThread() && loader.isDaemon());
+    }
+
+    @Test
+    public void customExecutorTest() throws IOException, InterruptedException, ExecutionException {
+        final Path file = Files.write(dir.resolve("address.json"), "{\"city\": \"Boston\"}".getBytes(StandardCharsets.UTF_8));
+        final AtomicInteger tasks = new AtomicInteger();
+        final Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+
+        assertTrue(ConfigFactory.loadConfigAsync(file.toString(), Address.class, executor).get().getCity().equals("Boston"));
+        assertTrue(tasks.get() == 1);
+    }
+
+    @Test
+    public void loadLayeredAsyncTest() throws IOException, InterruptedException, ExecutionException {
+        final Path base = Files.write(dir.resolve("base.yaml"), "city: Boston\nstreet: Main St\n".getBytes(StandardCharsets.UTF_8));
+        final Path local = Files.write(dir.resolve("local.json"), "{\"city\": \"Chicago\"}".getBytes(StandardCharsets.UTF_8));
+        final Path broken = Files.write(dir.resolve("broken.json"), "{\"city\": ".getBytes(StandardCharsets.UTF_8));
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        final AtomicInteger tasks = new AtomicInteger();
+        final Executor executor = task -> {
+            tasks.incrementAndGet();
+            single.execute(task);
+        };
+
+        try {
+            final Address address = ConfigFactory.loadLayeredAsync(Arrays.asList(base.toString(), local.toString()), Address.class, executor).get(10,
+                    TimeUnit.SECONDS);
+            assertTrue(address.getCity().equals("Chicago") && address.getStreet().equals("Main St"));
+            assertTrue(tasks.get() == 2);
+
+            final ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> ConfigFactory.loadLayeredAsync(Arrays.asList(base.toString(), broken.toString()), Address.class, executor).get());
+            System.out.println(e.getCause().getMessage());
+            assertTrue(e.getCause() instanceof ConfigException);
+        } catch (TimeoutException e) {
+            throw new AssertionError("Layered load blocked the single thread of the executor", e);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedLoadTest() throws IOException {
+        final Path file = Files.write(dir.resolve("broken.json"), "{\"city\": ".getBytes(StandardCharsets.UTF_8));
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> ConfigFactory.loadConfigAsync(file.toString(), Address.class).get());
+        System.out.println(e.getCause().getMessage());
+        assertTrue(e.getCause() instanceof ConfigException);
+
+        final Executor rejecting = task -> {
+            throw new RejectedExecutionException("shut down");
+        };
+        assertTrue(ConfigExecutors.supply(() -> "never", rejecting).isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.cornerstonews.configuration.batch;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class BatchConfigLoaderTest {
+
+    public static class Tenant {
+        @NotNull
+        public String name;
+        @Min(1)
+        public int maxConnections = 1;
+    }
+
+    @TempDir
+    Path dir;
+
+    private void write(String name, String content) throws IOException {
+        final Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void loadDirectoryTest() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            write("tenant-" + i + ".yaml", "name: tenant-" + i + "\nmaxConnections: " + (i + 1) + "\n");
+        }
+        write("invalid.yaml", "maxConnections: 0\n");
+        write("malformed.json", "{\"name\": ");
+        write("notes.txt", "not a config");
+
+        final List<ConfigResult<Tenant>> results = new BatchConfigLoader<>(Tenant.class, 4).load(dir);
+        results.stream().filter(result -> !result.isSuccess()).forEach(System.out::println);
+
+        assertTrue(results.size() == 52);
+        assertTrue(results.stream().filter(ConfigResult::isSuccess).count() == 50);
+        final ConfigResult<Tenant> invalid = results.stream().filter(result -> result.getPath().endsWith("invalid.yaml")).findFirst().get();
+        assertTrue(invalid.getConfig() == null && invalid.getError() instanceof ConfigException);
+        assertTrue(invalid.getError().getMessage().contains("maxConnections"));
+        assertTrue(results.stream().filter(result -> result.getPath().endsWith("tenant-7.yaml")).findFirst().get().getConfig().maxConnections == 8);
+    }
+
+    @Test
+    public void loadGlobTest() throws IOException {
+        write("a/one.yaml", "name: one\n");
+        write("b/two.yml", "name: two\n");
+        write("b/three.json", "{\"name\": \"three\"}");
+        write("four.yaml", "name: four\n");
+
+        assertTrue(ConfigFactory.loadBatch(dir, "*/*.{yaml,yml}", Tenant.class).size() == 2);
+        assertTrue(ConfigFactory.loadBatch(dir, "**.{yaml,yml,json}", Tenant.class).size() == 4);
+        assertTrue(new BatchConfigLoader<>(Tenant.class, 1).load(dir, "*.yaml").get(0).getConfig().name.equals("four"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.cornerstonews.configuration.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.parser.Address;
+import com.github.cornerstonews.configuration.parser.YamlConfigParser;
+
+public class ConfigCacheTest {
+
+    public static class Credentials {
+        private String user;
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+        private String password;
+        private String token;
+        @JsonIgnore
+        private int loads = 1;
+        private List<String> roles;
+
+        public String getUser() {
+            return user;
+        }
+
+        public void setUser(String user) {
+            this.user = user;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+
+        @Override
+        public String toString() {
+            return "Credentials[user=" + user + ", password=" + password + ", token=" + token + ", loads=" + loads + ", roles=" + roles + "]";
+        }
+    }
+
+    @TempDir
+    Path dir;
+
+    private static Path write(Path file, String city, long modifiedMillis) throws IOException {
+        Files.write(file, ("street: 11 Wall Street\ncity: " + city + "\nzipCode: \"10118\"\n").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+        return file;
+    }
+
+    private static Address load(ConfigCache cache, Path file) throws ConfigException, IOException {
+        return cache.load(file, Address.class, () -> new YamlConfigParser<>(Address.class).build(file.toString()));
+    }
+
+    @Test
+    public void skipParsingUnchangedFileTest() throws ConfigException, IOException {
+        long modified = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5);
+        Path file = write(dir.resolve("address.yaml"), "Chicago", modified);
+        ConfigCache cache = new ConfigCache(4, true, false);
+
+        Address first = load(cache, file);
+        Address second = load(cache, file);
+        assertTrue(second.getCity().equals("Chicago"));
+        assertNotSame(first, second);
+        assertTrue(cache.getHits() == 1 && cache.getMisses() == 1);
+
+        write(file, "Boston", modified + 1000);
+        assertTrue(load(cache, file).getCity().equals("Boston"));
+        assertTrue(cache.getMisses() == 2);
+        System.out.println(cache);
+    }
+
+    @Test
+    public void hitEqualsMissTest() throws ConfigException, IOException {
+        Path file = dir.resolve("credentials.yaml");
+        Files.write(file, "user: admin\npassword: secret\ntoken: abc\nroles: [read, write]\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5)));
+        ConfigCache cache = new ConfigCache(4, true, false);
+
+        Credentials miss = cache.load(file, Credentials.class, () -> new YamlConfigParser<>(Credentials.class).build(file.toString()));
+        miss.loads++;
+        Credentials hit = cache.load(file, Credentials.class, () -> new YamlConfigParser<>(Credentials.class).build(file.toString()));
+        System.out.println(miss + " " + hit);
+        assertTrue(cache.getHits() == 1);
+        assertEquals("secret", hit.getPassword());
+        assertEquals("Credentials[user=admin, password=secret, token=abc, loads=1, roles=[read, write]]", hit.toString());
+
+        hit.getRoles().add("admin");
+        Credentials next = cache.load(file, Credentials.class, () -> new YamlConfigParser<>(Credentials.class).build(file.toString()));
+        assertNotSame(hit.getRoles(), next.getRoles());
+        assertTrue(next.getRoles().size() == 2);
+    }
+
+    @Test
+    public void verifyContentOfRecentlyModifiedFileTest() throws ConfigException, IOException {
+        long modified = System.currentTimeMillis();
+        Path file = write(dir.resolve("address.yaml"), "Denver", modified);
+        ConfigCache cache = new ConfigCache(4, false, false);
+
+        Address first = load(cache, file);
+        assertSame(first, load(cache, file));
+
+        // same size and modification time, only the content differs
+        write(file, "Dallas", modified);
+        assertTrue(load(cache, file).getCity().equals("Dallas"));
+        assertTrue(cache.getHits() == 1 && cache.getMisses() == 2);
+    }
+}
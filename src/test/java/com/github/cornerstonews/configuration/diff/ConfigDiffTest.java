@@ -0,0 +1,91 @@
+package com.github.cornerstonews.configuration.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.parser.Address;
+import com.github.cornerstonews.configuration.parser.Employee;
+
+public class ConfigDiffTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ConfigDiff diff = ConfigDiff.getShared();
+
+    private JsonNode tree(String json) throws IOException {
+        return mapper.readTree(json.replace('\'', '"'));
+    }
+
+    @Test
+    public void diffTreesTest() throws IOException {
+        final JsonNode previous = tree("{'name': 'orders', 'db': {'host': 'a', 'pool': {'min': 1, 'max': 10}}, 'servers': [1, 2, 3], 'a/b': 1,"
+                + " 'cache': {'size': 5}}");
+        final JsonNode current = tree("{'name': 'orders', 'db': {'host': 'b', 'pool': {'min': 1, 'max': 10}}, 'servers': [1, 5], 'a/b': 2,"
+                + " 'cache': 'off', 'tls': {'enabled': true}}");
+
+        final List<ConfigChange> changes = diff.diff(previous, current);
+        changes.forEach(System.out::println);
+        assertTrue(changes.size() == 6);
+        assertTrue(changes.contains(new ConfigChange("/db/host", ConfigChange.Type.MODIFIED, tree("'a'"), tree("'b'"))));
+        assertTrue(changes.contains(new ConfigChange("/servers/1", ConfigChange.Type.MODIFIED, tree("2"), tree("5"))));
+        assertTrue(changes.contains(new ConfigChange("/servers/2", ConfigChange.Type.REMOVED, tree("3"), null)));
+        assertTrue(changes.contains(new ConfigChange("/a~1b", ConfigChange.Type.MODIFIED, tree("1"), tree("2"))));
+        assertTrue(changes.contains(new ConfigChange("/cache", ConfigChange.Type.MODIFIED, tree("{'size': 5}"), tree("'off'"))));
+        assertTrue(changes.contains(new ConfigChange("/tls", ConfigChange.Type.ADDED, null, tree("{'enabled': true}"))));
+
+        assertEquals(changes, diff.diff(HashedTree.of(previous), HashedTree.of(current)));
+        assertTrue(diff.diff(HashedTree.of(current), HashedTree.of(current.deepCopy())).isEmpty());
+        assertTrue(HashedTree.of(current).getHash() == HashedTree.of(current.deepCopy()).getHash());
+    }
+
+    @Test
+    public void diffConfigsTest() {
+        final Employee previous = new Employee("Bob", "Engineering", 50000, "555", new Address("1 Main", "Boston", "02101"));
+        final Employee current = new Employee("Bob", "Engineering", 55000, "555", new Address("1 Main", "Cambridge", "02101"));
+
+        final List<ConfigChange> changes = ConfigFactory.diffConfig(previous, current);
+        changes.forEach(System.out::println);
+        assertTrue(changes.size() == 2);
+        assertTrue(changes.get(0).getPath().equals("/salary"));
+        assertTrue(changes.get(1).getPath().equals("/address/city"));
+        assertTrue(changes.get(1).getOldValue().asText().equals("Boston"));
+    }
+
+    @Test
+    public void dispatchTest() throws IOException {
+        final ConfigChangeDispatcher dispatcher = new ConfigChangeDispatcher();
+        final List<String> calls = new ArrayList<>();
+        dispatcher.subscribe("/db", changes -> calls.add("db " + changes.size()));
+        dispatcher.subscribe("/db/pool/", changes -> calls.add("pool " + changes.size()));
+        dispatcher.subscribe("/dbx", changes -> calls.add("dbx " + changes.size()));
+        dispatcher.subscribe("", changes -> calls.add("root " + changes.size()));
+        dispatcher.subscribe("/cache", changes -> {
+            throw new IllegalStateException("failing subscriber");
+        });
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.subscribe("db", changes -> {
+        }));
+
+        final List<ConfigChange> changes = diff.diff(tree("{'db': {'host': 'a', 'pool': {'max': 1}}, 'cache': 1}"),
+                tree("{'db': {'host': 'b', 'pool': {'max': 2}}, 'cache': 2}"));
+        dispatcher.dispatch(changes);
+        System.out.println(calls);
+        assertTrue(calls.contains("db 2"));
+        assertTrue(calls.contains("pool 1"));
+        assertTrue(calls.contains("root 3"));
+        assertTrue(calls.size() == 3);
+
+        calls.clear();
+        dispatcher.dispatch(diff.diff(tree("{'db': {'host': 'a'}}"), tree("{'db': 'jdbc:a'}")));
+        assertTrue(calls.contains("pool 1"));
+        assertTrue(calls.contains("db 1"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.cornerstonews.configuration.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class ConfigPathResolverTest {
+
+    private static final String PATH_PROPERTY = "config.path.resolver.test";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void firstLocatorWinsTest() throws IOException, ConfigException {
+        final Path yaml = Files.write(directory.resolve("application.yaml"), Collections.singletonList("name: test"));
+        final Path json = Files.write(directory.resolve("override.json"), Collections.singletonList("{}"));
+
+        final ConfigPathResolver resolver = new ConfigPathResolver(Arrays.asList(
+                new EnvironmentLocator("APP_CONFIG", Collections.singletonMap("APP_CONFIG", directory.resolve("missing.json").toString())),
+                new FileSystemLocator(Arrays.asList(directory.resolve("missing"), directory))));
+        final ConfigLocation location = resolver.resolve();
+        System.out.println(location);
+        assertEquals(yaml.toString(), location.getPath());
+        assertTrue(location.getSource().startsWith("file"));
+
+        final ConfigPathResolver envResolver = new ConfigPathResolver(Arrays.asList(
+                new EnvironmentLocator("APP_CONFIG", Collections.singletonMap("APP_CONFIG", json.toString())),
+                new FileSystemLocator(Arrays.asList(directory))));
+        assertEquals(json.toString(), envResolver.getPath());
+        assertEquals("environment variable 'APP_CONFIG'", envResolver.resolve().getSource());
+    }
+
+    @Test
+    public void resolveOnceTest() throws IOException, ConfigException {
+        final AtomicInteger lookups = new AtomicInteger();
+        final List<String> paths = new ArrayList<>();
+        final ConfigPathResolver resolver = new ConfigPathResolver(Collections.singletonList(() -> {
+            lookups.incrementAndGet();
+            return paths.isEmpty() ? null : new ConfigLocation(paths.get(0), "test");
+        }));
+
+        assertTrue(resolver.getPath() == null);
+        paths.add("first.yaml");
+        assertTrue(resolver.getPath() == null);
+        assertEquals(1, lookups.get());
+
+        resolver.invalidate();
+        assertEquals("first.yaml", resolver.getPath());
+        assertEquals("first.yaml", resolver.getPath());
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void failuresAreNotKeptTest() throws ConfigException {
+        final AtomicInteger lookups = new AtomicInteger();
+        final ConfigPathResolver resolver = new ConfigPathResolver(Collections.singletonList(() -> {
+            if (lookups.incrementAndGet() == 1) {
+                throw new ConfigException("test", Collections.singletonList("Lookup failed"));
+            }
+            return new ConfigLocation("second.yaml", "test");
+        }));
+
+        assertThrows(ConfigException.class, () -> resolver.getPath());
+        assertEquals("second.yaml", resolver.getPath());
+    }
+
+    @Test
+    public void configFactoryPathTest() throws IOException, ConfigException {
+        final Path yaml = Files.write(directory.resolve("app.yaml"), Collections.singletonList("name: test"));
+        try {
+            System.setProperty(PATH_PROPERTY, yaml.toString());
+            assertEquals(yaml.toString(), ConfigFactory.getConfigPath(PATH_PROPERTY));
+            assertEquals("system property '" + PATH_PROPERTY + "'", ConfigFactory.getConfigPathResolver(PATH_PROPERTY).resolve().getSource());
+
+            System.setProperty(PATH_PROPERTY, directory.resolve("missing.yaml").toString());
+            assertEquals(yaml.toString(), ConfigFactory.getConfigPath(PATH_PROPERTY));
+
+            ConfigFactory.invalidateConfigPaths();
+            assertEquals(ConfigFactory.getConfigPath(), ConfigFactory.getConfigPath(PATH_PROPERTY));
+        } finally {
+            System.clearProperty(PATH_PROPERTY);
+            ConfigFactory.invalidateConfigPaths();
+        }
+    }
+}
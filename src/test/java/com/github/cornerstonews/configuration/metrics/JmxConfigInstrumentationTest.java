@@ -0,0 +1,52 @@
+package com.github.cornerstonews.configuration.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class JmxConfigInstrumentationTest {
+
+    @AfterEach
+    public void resetInstrumentation() {
+        InstrumentationRegistry.reset();
+    }
+
+    @Test
+    public void recordLoadPhasesTest() throws Exception {
+        JmxConfigInstrumentation instrumentation = new JmxConfigInstrumentation();
+        InstrumentationRegistry.set(instrumentation);
+        instrumentation.register();
+        try {
+            String path = Paths.get(getClass().getClassLoader().getResource("employees.yaml").toURI()).toString();
+            ConfigFactory.getConfigCache().clear();
+            Object config = ConfigFactory.loadConfig(path, Object.class);
+            assertTrue(ConfigFactory.isValid(config));
+
+            System.out.println("read=" + instrumentation.getReadTimeNanos() + "ns parse=" + instrumentation.getParseTimeNanos()
+                    + "ns bind=" + instrumentation.getBindTimeNanos() + "ns");
+            assertTrue(instrumentation.getReadCount() == 1);
+            assertTrue(instrumentation.getBytesRead() > 0);
+            assertTrue(instrumentation.getNodesParsed() > 0);
+            assertTrue(instrumentation.getValidationCount() == 1);
+            System.out.println("cache hits=" + instrumentation.getCacheHits() + " misses=" + instrumentation.getCacheMisses());
+            assertTrue(instrumentation.getCacheMisses().get("configs") == 1);
+            assertTrue(instrumentation.getCacheHits().getOrDefault("configs", 0L) == 0);
+            assertTrue(instrumentation.getCacheHits().getOrDefault("readers", 0L) + instrumentation.getCacheMisses().getOrDefault("readers", 0L) > 0);
+
+            ObjectName name = new ObjectName(JmxConfigInstrumentation.DEFAULT_OBJECT_NAME);
+            assertTrue(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "BytesRead").equals(instrumentation.getBytesRead()));
+            assertTrue(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "CacheMisses") instanceof TabularData);
+        } finally {
+            instrumentation.unregister();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.cornerstonews.configuration.overlay;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class ConfigOverlayTest {
+
+    public static class Pool {
+        public int maxSize = 10;
+        public String name = "pool";
+    }
+
+    public static class Db {
+        public String url;
+        public Pool pool = new Pool();
+    }
+
+    public static class App {
+        @JsonProperty("service-name")
+        public String serviceName;
+        public Db db = new Db();
+        public List<String> hosts;
+        public App parent;
+    }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void mappingTest() {
+        final OverlayMapping mapping = OverlayMapping.build(new ObjectMapper(), App.class, "APP_", "app.");
+        final Map<String, String> names = new HashMap<>();
+        for (OverlayMapping.Entry entry : mapping.getEntries()) {
+            names.put(entry.envName, entry.propertyName);
+        }
+        System.out.println(names);
+
+        assertTrue("app.db.pool.maxSize".equals(names.get("APP_DB_POOL_MAXSIZE")));
+        assertTrue("app.service-name".equals(names.get("APP_SERVICE_NAME")));
+        assertTrue("app.hosts".equals(names.get("APP_HOSTS")));
+        assertTrue("app.parent".equals(names.get("APP_PARENT")));
+    }
+
+    @Test
+    public void overridesTest() throws ConfigException {
+        final Map<String, String> env = new HashMap<>();
+        env.put("APP_DB_POOL_MAXSIZE", "20");
+        env.put("APP_DB_URL", "jdbc:env");
+        env.put("APP_HOSTS", "[\"a\", \"b\"]");
+        env.put("OTHER_DB_URL", "jdbc:other");
+        final Properties properties = new Properties();
+        properties.setProperty("app.db.url", "jdbc:property");
+
+        final JsonNode overrides = new ConfigOverlay("app").overrides(App.class, env, properties);
+        System.out.println(overrides);
+
+        assertTrue(overrides.at("/db/pool/maxSize").asText().equals("20"));
+        assertTrue(overrides.at("/db/url").asText().equals("jdbc:property"));
+        assertTrue(overrides.at("/hosts").size() == 2);
+        assertTrue(overrides.at("/db/pool/name").isMissingNode());
+    }
+
+    @Test
+    public void loadConfigTest() throws IOException, ConfigException {
+        final Path file = Files.write(dir.resolve("app.yaml"), "service-name: orders\ndb:\n  url: jdbc:file\n  pool:\n    name: main\n".getBytes(StandardCharsets.UTF_8));
+        System.setProperty("apptest.db.pool.maxSize", "42");
+        System.setProperty("apptest.hosts", "[\"x\"]");
+        try {
+            final App app = ConfigFactory.loadConfig(file.toString(), App.class, new ConfigOverlay("apptest"));
+
+            assertTrue(app.serviceName.equals("orders"));
+            assertTrue(app.db.url.equals("jdbc:file"));
+            assertTrue(app.db.pool.name.equals("main"));
+            assertTrue(app.db.pool.maxSize == 42);
+            assertTrue(app.hosts.equals(Arrays.asList("x")));
+
+            final App defaults = ConfigFactory.loadConfig(null, App.class, new ConfigOverlay("apptest"));
+            assertTrue(defaults.db.pool.maxSize == 42);
+            assertTrue(defaults.db.pool.name.equals("pool"));
+        } finally {
+            System.clearProperty("apptest.db.pool.maxSize");
+            System.clearProperty("apptest.hosts");
+        }
+    }
+
+    @Test
+    public void streamingOverlayTest() throws IOException, ConfigException {
+        final Properties properties = new Properties();
+        properties.setProperty("app.db.pool.maxSize", "30");
+        properties.setProperty("app.db.url", "jdbc:property");
+        properties.setProperty("app.hosts", "[\"a\"]");
+        properties.setProperty("app.parent", "{\"service-name\": \"parent\"}");
+        final String json = "{\"service-name\": \"orders\", \"hosts\": [\"x\", \"y\"], \"db\": {\"pool\": {\"name\": \"main\"}, \"url\": \"jdbc:file\"}, \"parent\": 1}";
+
+        final ObjectMapper mapper = new ObjectMapper();
+        final ConfigOverlay overlay = new ConfigOverlay("app");
+        final App app = mapper.readValue(overlay.apply(mapper.getFactory().createParser(json), App.class, new HashMap<>(), properties), App.class);
+        final JsonNode merged = overlay.apply(mapper.readTree(json), App.class, new HashMap<>(), properties);
+        System.out.println(merged);
+
+        assertTrue(mapper.valueToTree(app).equals(mapper.valueToTree(mapper.treeToValue(merged, App.class))));
+        assertTrue(app.serviceName.equals("orders"));
+        assertTrue(app.db.pool.name.equals("main"));
+        assertTrue(app.db.pool.maxSize == 30);
+        assertTrue(app.db.url.equals("jdbc:property"));
+        assertTrue(app.hosts.equals(Arrays.asList("a")));
+        assertTrue(app.parent.serviceName.equals("parent"));
+    }
+
+    @Test
+    public void invalidOverrideTest() throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty("app.hosts", "[\"a\"");
+        assertThrows(ConfigException.class, () -> new ConfigOverlay("app").overrides(App.class, new HashMap<>(), properties));
+
+        final Path file = Files.write(dir.resolve("app.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        System.setProperty("apptest.db.pool.maxSize", "many");
+        try {
+            final ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.loadConfig(file.toString(), App.class, new ConfigOverlay("apptest")));
+            System.out.println(e.getMessage());
+        } finally {
+            System.clearProperty("apptest.db.pool.maxSize");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.cornerstonews.configuration.parser;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class CompiledConfigTest {
+
+    @TempDir
+    Path dir;
+
+    private File write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+    @Test
+    public void outdatedSnapshotTest() throws IOException, ConfigException {
+        final File file = write("address.yaml", "street: 11 Wall Street\ncity: Chicago\nzipCode: \"10118\"\n");
+        CompiledConfig.compile(file.getPath(), Address.class);
+        assertTrue(CompiledConfig.load(file.getPath(), Address.class).getCity().equals("Chicago"));
+
+        write("address.yaml", "street: 11 Wall Street\ncity: Boston\nzipCode: \"10118\"\n");
+        assertTrue(CompiledConfig.load(file.getPath(), Address.class) == null);
+    }
+
+    @Test
+    public void outdatedIncludeTest() throws IOException, ConfigException {
+        write("city.yaml", "Chicago\n");
+        final File file = write("address.yaml", "street: 11 Wall Street\ncity: !include city.yaml\nzipCode: ${ZIP_CODE_OF_TEST_ADDRESS:10118}\n");
+        CompiledConfig.compile(file.getPath(), Address.class);
+        final Address compiled = CompiledConfig.load(file.getPath(), Address.class);
+        assertTrue(compiled.getCity().equals("Chicago"));
+        assertTrue(compiled.getZipCode().equals("10118"));
+
+        write("city.yaml", "Denver\n");
+        assertTrue(CompiledConfig.load(file.getPath(), Address.class) == null);
+
+        CompiledConfig.compile(file.getPath(), Address.class);
+        assertTrue(CompiledConfig.load(file.getPath(), Address.class).getCity().equals("Denver"));
+        Files.delete(dir.resolve("city.yaml"));
+        assertTrue(CompiledConfig.load(file.getPath(), Address.class) == null);
+    }
+
+    @Test
+    public void changedIncludeOfCachedSnapshotTest() throws IOException, ConfigException {
+        final File city = write("city.yaml", "Chicago\n");
+        final File file = write("address.yaml", "street: 11 Wall Street\ncity: !include city.yaml\n");
+        // old enough for the cache to rely on the modification times
+        final FileTime modified = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+        Files.setLastModifiedTime(city.toPath(), modified);
+        Files.setLastModifiedTime(file.toPath(), modified);
+        CompiledConfig.compile(file.getPath(), Address.class);
+
+        // as in a new JVM, which loads the snapshot without resolving the source
+        ConfigResolver.getShared().clear();
+        ConfigFactory.getConfigCache().clear();
+        assertTrue(ConfigFactory.loadConfig(file.getPath(), Address.class).getCity().equals("Chicago"));
+        assertTrue(ConfigResolver.getShared().getIncludedFiles(file.toPath()).equals(Arrays.asList(city.toPath().toAbsolutePath().normalize())));
+
+        write("city.yaml", "Denver\n");
+        assertTrue(ConfigFactory.loadConfig(file.getPath(), Address.class).getCity().equals("Denver"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.cornerstonews.configuration.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class ConfigFileParserTest {
+
+    private static String resource(String name) throws URISyntaxException {
+        return Paths.get(ConfigFileParserTest.class.getClassLoader().getResource(name).toURI()).toString();
+    }
+
+    @Test
+    public void streamListElementsTest() throws IOException, ConfigException, URISyntaxException {
+        String path = resource("employees.yaml");
+
+        try (ConfigIterator<Employee> employees = new YamlConfigParser<>(Employee.class).stream(path, "/employees", Employee.class)) {
+            assertTrue(employees.hasNext());
+            assertTrue(employees.next().getName().equals("Bob"));
+            assertTrue(employees.next().getAddress().getCity().equals("Chicago"));
+
+            ConfigException e = assertThrows(ConfigException.class, () -> employees.next());
+            System.out.println(e.getMessage());
+            assertTrue(e.getMessage().contains("employees.[2].salary"));
+
+            assertFalse(employees.hasNext());
+        }
+    }
+
+    @Test
+    public void streamMissingListTest() throws URISyntaxException {
+        String path = resource("employees.yaml");
+
+        assertThrows(ConfigException.class, () -> new YamlConfigParser<>(Employee.class).stream(path, "/name", Employee.class));
+    }
+
+    @Test
+    public void mappedReadTest(@TempDir Path directory) throws IOException, ConfigException {
+        ObjectMapper mapper = new ObjectMapper();
+        Path yaml = Files.write(directory.resolve("employee.yaml"),
+                Arrays.asList("name: Bob", "dept: Engineering", "salary: 50000", "address:", "  street: 11 Wall Street", "  city: New York"));
+        Path json = Files.write(directory.resolve("employee.json"), Arrays.asList(
+                "{\"name\": \"Bob\", \"dept\": \"Engineering\", \"salary\": 50000, \"address\": {\"street\": \"11 Wall Street\", \"city\": \"New York\"}}"));
+
+        for (ConfigFileParser<Employee> parser : Arrays.asList(new YamlConfigParser<>(Employee.class), new JsonConfigParser<>(Employee.class))) {
+            String path = (parser instanceof JsonConfigParser ? json : yaml).toString();
+            parser.setMappedReadThreshold(Long.MAX_VALUE);
+            Employee buffered = parser.build(path);
+            parser.setMappedReadThreshold(0);
+            Employee mapped = parser.build(path);
+            System.out.println(mapped);
+            assertEquals(mapper.valueToTree(buffered), mapper.valueToTree(mapped));
+            assertTrue(mapped.getAddress().getCity().equals("New York"));
+        }
+    }
+
+    @Test
+    public void mappedReadResolvingTest(@TempDir Path directory) throws IOException, ConfigException {
+        Files.write(directory.resolve("address.yaml"), Arrays.asList("street: 11 Wall Street", "city: New York"));
+        Path file = Files.write(directory.resolve("employee.yaml"),
+                Arrays.asList("name: Bob", "dept: ${DEPT_OF_MAPPED_TEST_EMPLOYEE:Engineering}", "address: !include address.yaml"));
+
+        YamlConfigParser<Employee> parser = new YamlConfigParser<>(Employee.class);
+        parser.setMappedReadThreshold(0);
+        Employee employee = parser.build(file.toString());
+        assertTrue(employee.getDept().equals("Engineering"));
+        assertTrue(employee.getAddress().getCity().equals("New York"));
+    }
+
+    @Test
+    public void streamDocumentsTest() throws IOException, ConfigException, URISyntaxException {
+        String path = resource("employees-documents.yaml");
+
+        for (int parallelism : new int[] { 1, 4 }) {
+            YamlConfigParser<Employee> parser = new YamlConfigParser<>(Employee.class);
+            parser.setValidationParallelism(parallelism);
+            try (ConfigIterator<Employee> employees = parser.documents(path)) {
+                assertTrue(employees.hasNext());
+                assertTrue(employees.next().getName().equals("Bob"));
+                assertTrue(employees.next().getAddress().getCity().equals("Chicago"));
+
+                ConfigException e = assertThrows(ConfigException.class, () -> employees.next());
+                System.out.println(e.getMessage());
+                assertTrue(e.getMessage().contains("[2].salary"));
+
+                assertTrue(employees.hasNext());
+                assertTrue(employees.next().getName().equals("Carol"));
+                assertFalse(employees.hasNext());
+            }
+        }
+    }
+
+    @Test
+    public void loadDocumentsTest(@TempDir Path directory) throws IOException, ConfigException, URISyntaxException {
+        Path tenants = Files.write(directory.resolve("tenants.yaml"),
+                Arrays.asList("name: Bob", "salary: 50000", "---", "name: John", "dept: Sales", "---", "name: Carol"));
+        Map<String, Employee> employees = ConfigFactory.loadDocuments(tenants.toString(), Employee.class, "name");
+        assertEquals(Arrays.asList("Bob", "John", "Carol"), new ArrayList<>(employees.keySet()));
+        assertTrue(employees.get("John").getDept().equals("Sales"));
+
+        Path invalid = Files.write(directory.resolve("invalid.yaml"), Arrays.asList("name: Bob", "---", "name: Bob", "---", "dept: Sales"));
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.loadDocuments(invalid.toString(), Employee.class, "name"));
+        System.out.println(e.getMessage());
+        assertEquals(Arrays.asList("Duplicate key at: [1].name; 'Bob' is already used at: [0]", "Missing key at: [2].name"), new ArrayList<>(e.getErrors()));
+
+        e = assertThrows(ConfigException.class, () -> ConfigFactory.loadDocuments(resource("employees-documents.yaml"), Employee.class, "name"));
+        assertTrue(e.getErrors().size() == 1);
+        assertTrue(e.getMessage().contains("[2].salary"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.cornerstonews.configuration.parser;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class ConfigFormatResolverTest {
+
+    @TempDir
+    Path dir;
+
+    private String write(String name, byte[] content) throws IOException {
+        return Files.write(dir.resolve(name), content).toString();
+    }
+
+    private String write(String name, String content) throws IOException {
+        return write(name, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ConfigFormatResolver resolver() {
+        return new ConfigFormatResolver(Arrays.asList(FormatDetector.byExtension(), FormatDetector.byContent()), 16);
+    }
+
+    @Test
+    public void detectByExtensionTest() throws IOException {
+        ConfigFormatResolver resolver = resolver();
+
+        assertTrue(resolver.resolve(dir.resolve("missing.JSON").toString()) == ConfigFormat.JSON);
+        assertTrue(resolver.resolve(dir.resolve("missing.yml").toString()) == ConfigFormat.YAML);
+        assertTrue(resolver.resolve(write("list.yaml", "[1, 2]")) == ConfigFormat.YAML);
+        assertTrue(resolver.resolve(dir.resolve("missing.conf").toString()) == null);
+    }
+
+    @Test
+    public void detectByContentTest() throws IOException {
+        ConfigFormatResolver resolver = resolver();
+
+        assertTrue(resolver.resolve(write("object", "  {\n  \"name\": 1 }")) == ConfigFormat.JSON);
+        assertTrue(resolver.resolve(write("list", "[{\"name\": 1}]")) == ConfigFormat.JSON);
+        assertTrue(resolver.resolve(write("bom", new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF, '{', '}' })) == ConfigFormat.JSON);
+        assertTrue(resolver.resolve(write("document", "---\nname: 1")) == ConfigFormat.YAML);
+        assertTrue(resolver.resolve(write("mapping", "server_name: 1")) == ConfigFormat.YAML);
+        assertTrue(resolver.resolve(write("flow", "{name: 1}")) == ConfigFormat.YAML);
+        assertTrue(resolver.resolve(write("text", "just some text")) == null);
+    }
+
+    @Test
+    public void retryUnreadableFileTest() throws IOException {
+        ConfigFormatResolver resolver = resolver();
+        String path = dir.resolve("later").toString();
+
+        assertTrue(resolver.resolve(path) == null);
+        write("later", "{}");
+        assertTrue(resolver.resolve(path) == ConfigFormat.JSON);
+
+        resolver.addDetector(file -> ConfigFormat.YAML);
+        assertTrue(resolver.resolve(path) == ConfigFormat.YAML);
+    }
+
+    @Test
+    public void loadJsonWithoutExtensionTest() throws IOException, ConfigException {
+        String path = write("address", "{\"city\": \"Chicago\"}");
+
+        assertTrue(ConfigFactory.getParser(path, Address.class) instanceof JsonConfigParser);
+        assertTrue(ConfigFactory.loadConfig(path, Address.class).getCity().equals("Chicago"));
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.cornerstonews.configuration.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.configuration.overlay.ConfigOverlay;
+import com.github.cornerstonews.configuration.tree.ConfigKey;
+
+public class ConfigResolverTest {
+
+    @TempDir
+    Path dir;
+
+    private final ConfigResolver resolver = new ConfigResolver(ForkJoinPool.commonPool(), Collections.singletonMap("DB_HOST", "db.internal"), 16);
+
+    private File write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+    private JsonNode resolve(File file) throws IOException, ConfigException {
+        try (JsonParser parser = resolver.resolve(file)) {
+            return new ObjectMapper().readTree(parser);
+        }
+    }
+
+    @Test
+    public void placeholdersTest() throws IOException, ConfigException {
+        final File file = write("app.yaml", "name: orders\n"
+                + "db:\n  host: ${DB_HOST}\n  port: ${DB_PORT:5432}\n  url: jdbc:${db.host}:${db.port}/${name}\n"
+                + "servers:\n  - host: ${servers[1].host}\n  - host: backup\n");
+        final JsonNode tree = resolve(file);
+        System.out.println(tree);
+
+        assertTrue(tree.at("/db/host").asText().equals("db.internal"));
+        assertTrue(tree.at("/db/port").asInt() == 5432);
+        assertTrue(tree.at("/db/url").asText().equals("jdbc:db.internal:5432/orders"));
+        assertTrue(tree.at("/servers/0/host").asText().equals("backup"));
+    }
+
+    @Test
+    public void includesTest() throws IOException, ConfigException {
+        write("pool.json", "{\"maxSize\": 20}");
+        write("db.yaml", "host: ${DB_HOST}\npool: !include pool.json\n");
+        write("other.json", "{\"host\": \"${name}\"}");
+        final File file = write("app.yaml", "name: orders\ndb: !include db.yaml\nlist:\n  - !include other.json\n  - \"!include other.json\"\n");
+        final JsonNode tree = resolve(file);
+        System.out.println(tree);
+
+        assertTrue(tree.at("/db/host").asText().equals("db.internal"));
+        assertTrue(tree.at("/db/pool/maxSize").asInt() == 20);
+        assertTrue(tree.at("/list/1/host").asText().equals("orders"));
+        assertTrue(resolver.getIncludedFiles(file.toPath()).size() == 3);
+    }
+
+    @Test
+    public void changedIncludeTest() throws IOException, ConfigException {
+        // old enough for the resolver to cache both files
+        final FileTime past = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        final File included = write("b.json", "{\"v\": 1}");
+        final File file = write("a.json", "{\"x\": \"!include b.json\", \"y\": \"!include c.json\"}");
+        Files.setLastModifiedTime(included.toPath(), past);
+        Files.setLastModifiedTime(file.toPath(), past);
+
+        final ConfigException e = assertThrows(ConfigException.class, () -> resolve(file));
+        assertTrue(e.getMessage().contains("Missing include"));
+        Files.setLastModifiedTime(write("c.json", "{\"w\": 3}").toPath(), past);
+        assertTrue(resolve(file).at("/x/v").asInt() == 1);
+
+        write("b.json", "{\"v\": 22}");
+        Files.setLastModifiedTime(included.toPath(), FileTime.fromMillis(past.toMillis() + 10_000));
+        final JsonNode tree = resolve(file);
+        System.out.println(tree);
+        assertTrue(tree.at("/x/v").asInt() == 22);
+        assertTrue(tree.at("/y/w").asInt() == 3);
+    }
+
+    @Test
+    public void errorsTest() throws IOException {
+        final File unresolved = write("unresolved.yaml", "name: orders\nhost: ${MISSING_HOST}\n");
+        ConfigException e = assertThrows(ConfigException.class, () -> resolve(unresolved));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Unresolved placeholder at line: 2"));
+
+        final File cycle = write("cycle.yaml", "a: ${b}\nb: x${a}\n");
+        e = assertThrows(ConfigException.class, () -> resolve(cycle));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Placeholder cycle"));
+
+        write("first.yaml", "next: !include second.yaml\n");
+        write("second.yaml", "next: !include first.yaml\n");
+        e = assertThrows(ConfigException.class, () -> resolve(dir.resolve("first.yaml").toFile()));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Include cycle at line: 1") && e.getMessage().contains("first.yaml -> second.yaml -> first.yaml"));
+
+        final File missing = write("missing.json", "{\n  \"db\": \"!include nowhere.json\"\n}");
+        e = assertThrows(ConfigException.class, () -> resolve(missing));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Missing include at line: 2"));
+    }
+
+    @Test
+    public void loadConfigTest() throws IOException, ConfigException {
+        final File plain = write("plain.yaml", "city: Chicago\n");
+        final File resolved = write("resolved.yaml", "city: ${CITY_OF_ADDRESS:Boston}\n");
+
+        assertTrue(ConfigFactory.loadConfig(plain.getPath(), Address.class).getCity().equals("Chicago"));
+        assertTrue(ConfigFactory.loadConfig(resolved.getPath(), Address.class).getCity().equals("Boston"));
+        assertTrue(ConfigFactory.loadTree(resolved.getPath()).getString(ConfigKey.of("city", String.class)).equals("Boston"));
+    }
+
+    @Test
+    public void resolveWhileStreamingTest() throws IOException, ConfigException {
+        write("address.yaml", "street: 233 S Wacker Dr\ncity: Chicago\nzipCode: \"60606\"\n");
+
+        final File address = write("overlay.yaml", "city: ${CITY_OF_ADDRESS:Boston}\n");
+        try {
+            System.setProperty("resolvertest.street", "1 Main St");
+            final Address overlaid = new YamlConfigParser<>(Address.class).build(address.getPath(), new ConfigOverlay("resolvertest"));
+            assertTrue(overlaid.getCity().equals("Boston") && overlaid.getStreet().equals("1 Main St"));
+        } finally {
+            System.clearProperty("resolvertest.street");
+        }
+
+        // the first element is read before the file turns out to need resolving
+        final File list = write("list.yaml", "employees:\n  - name: Bob\n  - name: ${LEAD_NAME:John}\n  - name: Carol\n    address: !include address.yaml\n");
+        final List<String> names = new ArrayList<>();
+        try (ConfigIterator<Employee> employees = new YamlConfigParser<>(Employee.class).stream(list.getPath(), "/employees", Employee.class)) {
+            while (employees.hasNext()) {
+                final Employee employee = employees.next();
+                names.add(employee.getName() + (employee.getAddress() == null ? "" : "@" + employee.getAddress().getCity()));
+            }
+        }
+        assertEquals(Arrays.asList("Bob", "John", "Carol@Chicago"), names);
+
+        final File documents = write("documents.yaml", "name: Bob\n---\nname: ${LEAD_NAME:John}\n---\nname: Carol\naddress: !include address.yaml\n");
+        for (int parallelism : new int[] { 1, 2 }) {
+            final YamlConfigParser<Employee> parser = new YamlConfigParser<>(Employee.class);
+            parser.setValidationParallelism(parallelism);
+            names.clear();
+            try (ConfigIterator<Employee> employees = parser.documents(documents.getPath())) {
+                while (employees.hasNext()) {
+                    final Employee employee = employees.next();
+                    names.add(employee.getName() + (employee.getAddress() == null ? "" : "@" + employee.getAddress().getCity()));
+                }
+            }
+            System.out.println(names);
+            assertEquals(Arrays.asList("Bob", "John", "Carol@Chicago"), names);
+        }
+    }
+}
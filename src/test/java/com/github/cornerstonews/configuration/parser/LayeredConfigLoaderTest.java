@@ -0,0 +1,106 @@
+package com.github.cornerstonews.configuration.parser;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class LayeredConfigLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String write(String name, String content) throws IOException {
+        return Files.write(tempDir.resolve(name), content.getBytes()).toString();
+    }
+
+    @Test
+    public void mergeLayersInOrderTest() throws IOException, ConfigException {
+        String base = write("base.yaml", "name: Bob\ndept: Operations\nsalary: 50000\naddress:\n  street: 11 Wall Street\n  city: New York\n");
+        String overlay = write("overlay.json", "{ \"dept\": \"Engineering\", \"address\": { \"city\": \"Chicago\" } }");
+
+        Employee employee = ConfigFactory.loadLayered(Arrays.asList(base, overlay), Employee.class);
+
+        assertTrue(employee.getName().equals("Bob"));
+        assertTrue(employee.getDept().equals("Engineering"));
+        assertTrue(employee.getAddress().getStreet().equals("11 Wall Street"));
+        assertTrue(employee.getAddress().getCity().equals("Chicago"));
+    }
+
+    @Test
+    public void reportLayerOfBadValueTest() throws IOException {
+        String base = write("base.yaml", "name: Bob\nsalary: 50000\n");
+        String overlay = write("overlay.yaml", "salary: lots\n");
+
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.loadLayered(Arrays.asList(base, overlay), Employee.class));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().startsWith(overlay));
+    }
+
+    @Test
+    public void reportLayerOfInvalidValueTest() throws IOException {
+        String base = write("base.yaml", "name: orders\nport: 8080\ntimeout: -1\nendpoints:\n  - host: primary\n");
+        String overlay = write("overlay.yaml", "port: 0\nendpoints:\n  - host: primary\n  - host: ' '\n");
+
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.loadLayered(Arrays.asList(base, overlay), Service.class));
+        System.out.println(e.getErrors());
+        assertTrue(e.getErrors().size() == 3);
+        assertTrue(e.getErrors().contains("endpoints[1].host must not be blank (from '" + overlay + "')"));
+        assertTrue(e.getErrors().contains("port must be greater than or equal to 1 (from '" + overlay + "')"));
+        assertTrue(e.getErrors().contains("timeout must be greater than or equal to 0 (from '" + base + "')"));
+    }
+
+    @Test
+    public void reportLayerOfRenamedAndKeyedValueTest() throws IOException {
+        String base = write("base.yaml", "name: orders\nlisten_port: 8080\nreplicas:\n  us east:\n    host: east\n");
+        String overlay = write("overlay.yaml", "listen_port: 0\nreplicas:\n  us east:\n    host: ' '\n");
+
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.loadLayered(Arrays.asList(base, overlay), RenamedService.class));
+        System.out.println(e.getErrors());
+        assertTrue(e.getErrors().size() == 2);
+        assertTrue(e.getErrors().contains("port must be greater than or equal to 1 (from '" + overlay + "')"));
+        assertTrue(e.getErrors().contains("replicas[us east].host must not be blank (from '" + overlay + "')"));
+    }
+
+    public static class RenamedService {
+        public String name;
+        @Min(1)
+        @JsonProperty("listen_port")
+        public int port;
+        @Valid
+        public Map<String, Endpoint> replicas;
+    }
+
+    public static class Service {
+        @NotNull
+        public String name;
+        @Min(1)
+        public int port;
+        @Min(0)
+        public int timeout;
+        @Valid
+        public List<Endpoint> endpoints;
+    }
+
+    public static class Endpoint {
+        @NotBlank
+        public String host;
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.cornerstonews.configuration.parser;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import javax.validation.constraints.NotBlank;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class LazySectionTest {
+
+    public static class Office {
+        @NotBlank
+        public String street;
+        public String city;
+        public String zipCode;
+    }
+
+    public static class Region {
+        public String name;
+        public LazySection<Office> office;
+    }
+
+    public static class Services {
+        @NotBlank
+        public String name;
+        public LazySection<Office> primary;
+        public List<Region> regions;
+    }
+
+    private static Services load() throws Exception {
+        String path = Paths.get(LazySectionTest.class.getClassLoader().getResource("sections.yaml").toURI()).toString();
+        Services services = ConfigFactory.loadConfig(path, Services.class);
+        assertTrue(ConfigFactory.isValid(services));
+        return services;
+    }
+
+    @Test
+    public void bindSectionOnFirstAccessTest() throws Exception {
+        Services services = load();
+
+        assertFalse(services.primary.isBound());
+        assertTrue(services.primary.getPath().equals("primary"));
+        Office office = services.primary.get();
+        assertTrue(office.city.equals("New York"));
+        assertTrue(services.primary.isBound());
+        assertSame(office, services.primary.get());
+    }
+
+    @Test
+    public void validateSectionOnFirstAccessTest() throws Exception {
+        Services services = load();
+        LazySection<Office> office = services.regions.get(0).office;
+        assertTrue(office.getPath().equals("regions[0].office"));
+
+        ConfigException e = assertThrows(ConfigException.class, () -> office.get());
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("regions[0].office.street"));
+        assertSame(e, assertThrows(ConfigException.class, () -> office.get()));
+        assertFalse(office.isBound());
+    }
+
+    @Test
+    public void serializeUnboundSectionTest() throws Exception {
+        Services services = load();
+
+        String json = new ObjectMapper().writeValueAsString(services);
+        System.out.println(json);
+        assertTrue(json.contains("\"city\":\"New York\""));
+        assertFalse(services.primary.isBound());
+    }
+}
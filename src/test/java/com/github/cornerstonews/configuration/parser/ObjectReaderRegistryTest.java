@@ -0,0 +1,37 @@
+package com.github.cornerstonews.configuration.parser;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+public class ObjectReaderRegistryTest {
+
+    @Test
+    public void reuseReaderForSameKeyTest() {
+        ObjectReaderRegistry registry = new ObjectReaderRegistry(8);
+
+        ObjectReader reader = registry.getReader(ConfigFormat.YAML, Employee.class, true);
+
+        assertSame(reader, registry.getReader(ConfigFormat.YAML, Employee.class, true));
+        assertNotSame(reader, registry.getReader(ConfigFormat.YAML, Employee.class, false));
+        assertNotSame(reader, registry.getReader(ConfigFormat.JSON, Employee.class, true));
+        assertSame(registry.getMapper(ConfigFormat.JSON, false), registry.getMapper(ConfigFormat.JSON, false));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedReaderTest() {
+        ObjectReaderRegistry registry = new ObjectReaderRegistry(2);
+
+        ObjectReader employeeReader = registry.getReader(ConfigFormat.JSON, Employee.class, true);
+        registry.getReader(ConfigFormat.JSON, Address.class, true);
+        registry.getReader(ConfigFormat.JSON, Employee.class, true);
+        registry.getReader(ConfigFormat.YAML, Address.class, true);
+
+        assertTrue(registry.size() == 2);
+        assertSame(employeeReader, registry.getReader(ConfigFormat.JSON, Employee.class, true));
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.cornerstonews.configuration.reload;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cornerstonews.configuration.diff.ConfigChange;
+import com.github.cornerstonews.configuration.parser.Employee;
+
+public class ReloadableConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void reloadChangedFileTest() throws Exception {
+        Path file = tempDir.resolve("employee.yaml");
+        Files.write(file, "name: Bob\nsalary: 50000\n".getBytes());
+
+        try (ReloadableConfig<Employee> config = new ReloadableConfig<>(file.toString(), Employee.class, Duration.ofMillis(50)).start()) {
+            assertTrue(config.get().getName().equals("Bob"));
+
+            CountDownLatch changed = new CountDownLatch(1);
+            config.addListener((previous, current) -> changed.countDown());
+            Files.write(file, "name: John\nsalary: 75000\n".getBytes());
+
+            assertTrue(changed.await(10, TimeUnit.SECONDS));
+            assertTrue(config.get().getName().equals("John"));
+            assertTrue(config.get().getSalary() == 75000);
+        }
+    }
+
+    @Test
+    public void reloadChangedIncludeTest() throws Exception {
+        Path salary = Files.createDirectory(tempDir.resolve("shared")).resolve("salary.yaml");
+        Files.write(salary, "50000\n".getBytes());
+        Path file = tempDir.resolve("employee.yaml");
+        Files.write(file, "name: Bob\nsalary: !include shared/salary.yaml\n".getBytes());
+
+        try (ReloadableConfig<Employee> config = new ReloadableConfig<>(file.toString(), Employee.class, Duration.ofMillis(50)).start()) {
+            assertTrue(config.get().getSalary() == 50000);
+
+            CountDownLatch changed = new CountDownLatch(1);
+            config.addListener((previous, current) -> changed.countDown());
+            Files.write(salary, "75000\n".getBytes());
+
+            assertTrue(changed.await(10, TimeUnit.SECONDS));
+            assertTrue(config.get().getSalary() == 75000);
+        }
+    }
+
+    @Test
+    public void reloadSwappedSymlinkTest() throws Exception {
+        // the layout of a mounted Kubernetes ConfigMap, the file links into the ..data link to a versioned directory
+        Path first = Files.createDirectory(tempDir.resolve("..2024_01_01"));
+        Files.write(first.resolve("employee.yaml"), "name: Bob\nsalary: 50000\n".getBytes());
+        Files.createSymbolicLink(tempDir.resolve("..data"), first.getFileName());
+        Path file = Files.createSymbolicLink(tempDir.resolve("employee.yaml"), Paths.get("..data", "employee.yaml"));
+
+        try (ReloadableConfig<Employee> config = new ReloadableConfig<>(file.toString(), Employee.class, Duration.ofMillis(50)).start()) {
+            assertTrue(config.get().getSalary() == 50000);
+
+            CountDownLatch changed = new CountDownLatch(1);
+            config.addListener((previous, current) -> changed.countDown());
+            Path second = Files.createDirectory(tempDir.resolve("..2024_01_02"));
+            Files.write(second.resolve("employee.yaml"), "name: Bob\nsalary: 75000\n".getBytes());
+            Path swap = Files.createSymbolicLink(tempDir.resolve("..data_tmp"), second.getFileName());
+            Files.move(swap, tempDir.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+
+            assertTrue(changed.await(10, TimeUnit.SECONDS));
+            assertTrue(config.get().getSalary() == 75000);
+        }
+    }
+
+    @Test
+    public void keepLastGoodConfigOnFailureTest() throws Exception {
+        Path file = tempDir.resolve("employee.yaml");
+        Files.write(file, "name: Bob\n".getBytes());
+
+        try (ReloadableConfig<Employee> config = new ReloadableConfig<>(file.toString(), Employee.class, Duration.ofMillis(50)).start()) {
+            CountDownLatch failed = new CountDownLatch(1);
+            config.addListener(new ConfigChangeListener<Employee>() {
+                @Override
+                public void onChange(Employee previous, Employee current) {
+                }
+
+                @Override
+                public void onReloadFailure(Exception cause) {
+                    failed.countDown();
+                }
+            });
+            Files.write(file, "name: [John\n".getBytes());
+
+            assertTrue(failed.await(10, TimeUnit.SECONDS));
+            assertTrue(config.get().getName().equals("Bob"));
+        }
+    }
+
+    @Test
+    public void subscribeToChangedPathTest() throws Exception {
+        Path file = tempDir.resolve("employee.yaml");
+        Files.write(file, "name: Bob\nsalary: 50000\n".getBytes());
+
+        try (ReloadableConfig<Employee> config = new ReloadableConfig<>(file.toString(), Employee.class, Duration.ofMillis(50)).start()) {
+            CountDownLatch changed = new CountDownLatch(1);
+            AtomicReference<List<ConfigChange>> nameChanges = new AtomicReference<>();
+            AtomicReference<List<ConfigChange>> salaryChanges = new AtomicReference<>();
+            config.subscribe("/name", nameChanges::set);
+            config.subscribe("/salary", changes -> {
+                salaryChanges.set(changes);
+                changed.countDown();
+            });
+            Files.write(file, "name: Bob\nsalary: 75000\n".getBytes());
+
+            assertTrue(changed.await(10, TimeUnit.SECONDS));
+            System.out.println(salaryChanges.get());
+            assertTrue(salaryChanges.get().size() == 1);
+            assertTrue(salaryChanges.get().get(0).getNewValue().asInt() == 75000);
+            assertTrue(nameChanges.get() == null);
+        }
+    }
+}
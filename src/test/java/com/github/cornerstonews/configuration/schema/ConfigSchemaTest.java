@@ -0,0 +1,220 @@
+package com.github.cornerstonews.configuration.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class ConfigSchemaTest {
+
+    public enum Level {
+        DEBUG, INFO, WARN
+    }
+
+    public static class Server {
+        @NotBlank
+        private String host;
+        private int port = 8080;
+        private Level level;
+        private boolean secure;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public Level getLevel() {
+            return level;
+        }
+
+        public void setLevel(Level level) {
+            this.level = level;
+        }
+
+        public boolean isSecure() {
+            return secure;
+        }
+
+        public void setSecure(boolean secure) {
+            this.secure = secure;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Metadata {
+        private String owner;
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    public static class ServiceConfig {
+        @JsonProperty(required = true)
+        private String name;
+        @NotNull
+        private String region = "eu";
+        @NotNull
+        @Valid
+        private List<Server> servers;
+        private Map<String, Double> weights;
+        private Metadata metadata;
+        private Server fallback;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public List<Server> getServers() {
+            return servers;
+        }
+
+        public void setServers(List<Server> servers) {
+            this.servers = servers;
+        }
+
+        public Map<String, Double> getWeights() {
+            return weights;
+        }
+
+        public void setWeights(Map<String, Double> weights) {
+            this.weights = weights;
+        }
+
+        public Metadata getMetadata() {
+            return metadata;
+        }
+
+        public void setMetadata(Metadata metadata) {
+            this.metadata = metadata;
+        }
+
+        public Server getFallback() {
+            return fallback;
+        }
+
+        public void setFallback(Server fallback) {
+            this.fallback = fallback;
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    private String write(String name, String... lines) throws IOException {
+        return Files.write(directory.resolve(name), Arrays.asList(lines)).toString();
+    }
+
+    @Test
+    public void reportAllErrorsTest() throws IOException {
+        final String path = write("service.yaml",
+                "servers:",
+                "  - host: a.example.com",
+                "    prot: 8081",
+                "    level: TRACE",
+                "  - port: eighty",
+                "    secure: maybe",
+                "weights: {a: 0.5, b: heavy}",
+                "metadata: {owner: ops, team: core}",
+                "fallback: {host: b.example.com, level: 1}",
+                "retries: 3");
+
+        final ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.loadConfig(path, ServiceConfig.class));
+        System.out.println(e.getMessage());
+        final List<String> errors = new ArrayList<>(e.getErrors());
+        assertEquals(8, errors.size());
+        assertTrue(errors.get(0).startsWith("Unrecognized field at: servers.[0].prot"));
+        assertTrue(errors.get(0).contains("      - port"));
+        assertEquals("Incorrect type of value at: servers.[0].level; is of type: String, expected: Level", errors.get(1));
+        assertEquals("Incorrect type of value at: servers.[1].port; is of type: String, expected: int", errors.get(2));
+        assertEquals("Incorrect type of value at: servers.[1].secure; is of type: String, expected: boolean", errors.get(3));
+        assertEquals("Missing required field at: servers.[1].host", errors.get(4));
+        assertEquals("Incorrect type of value at: weights.b; is of type: String, expected: Double", errors.get(5));
+        assertTrue(errors.get(6).startsWith("Unrecognized field at: retries"));
+        assertEquals("Missing required field at: name", errors.get(7));
+
+        final ConfigException schemaErrors = assertThrows(ConfigException.class, () -> ConfigFactory.validateSchema(path, ServiceConfig.class));
+        assertEquals(errors, new ArrayList<>(schemaErrors.getErrors()));
+    }
+
+    @Test
+    public void validConfigTest() throws IOException, ConfigException {
+        final String path = write("service.json",
+                "{\"name\": \"orders\", \"region\": null, \"servers\": [{\"host\": \"a\", \"port\": \"8081\", \"level\": \"WARN\", \"secure\": \"true\"}],",
+                " \"weights\": {\"a\": \"0.5\", \"b\": 1}, \"metadata\": {\"owner\": \"ops\", \"team\": \"core\"}, \"fallback\": {\"level\": 1}}");
+
+        ConfigFactory.validateSchema(path, ServiceConfig.class);
+        final ServiceConfig config = ConfigFactory.loadConfig(path, ServiceConfig.class);
+        assertEquals(8081, config.getServers().get(0).getPort());
+        assertEquals(Level.INFO, config.getFallback().getLevel());
+    }
+
+    @Test
+    public void matchesBindingTest() throws IOException {
+        final ObjectMapper mapper = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        final ConfigSchema schema = ConfigSchema.of(mapper, Server.class);
+        final String[] values = { "1", "1.5", "true", "\"7\"", "\"1.5\"", "\"\"", "\" 7 \"", "\"abc\"", "\"TRUE\"", "\"null\"", "\"INFO\"", "\"info\"",
+                "\"2\"", "9", "{}", "[]", "null" };
+        for (String field : new String[] { "port", "level", "secure" }) {
+            for (String value : values) {
+                final String json = "{\"host\": \"a\", \"" + field + "\": " + value + "}";
+                boolean bound = true;
+                try {
+                    mapper.readValue(json, Server.class);
+                } catch (JsonMappingException e) {
+                    bound = false;
+                }
+                assertEquals(bound, schema.validate(mapper.readTree(json)).isEmpty(), json);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.cornerstonews.configuration.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.configuration.ConfigException;
+
+public class SnapshotHolderTest {
+
+    public static class Pool {
+        @Min(1)
+        public int maxSize = 10;
+        public int minSize = 1;
+    }
+
+    public static class Database {
+        @NotBlank
+        public String url = "jdbc:h2:mem:test";
+        @Valid
+        public Pool pool = new Pool();
+    }
+
+    public static class AppConfig {
+        public String name = "app";
+        @Valid
+        public Database database = new Database();
+        @Valid
+        public Pool workers = new Pool();
+    }
+
+    private static Map<String, Object> poolOverride(String property, Object value) {
+        Map<String, Object> database = new HashMap<>();
+        database.put("pool", Collections.singletonMap(property, value));
+        return Collections.singletonMap("database", database);
+    }
+
+    @Test
+    public void shareUntouchedSubtreesTest() throws ConfigException {
+        AppConfig config = new AppConfig();
+        SnapshotHolder<AppConfig> holder = new SnapshotHolder<>(ConfigSnapshot.of(AppConfig.class, config, true));
+
+        ConfigSnapshot<AppConfig> next = holder.update(poolOverride("maxSize", 20));
+
+        assertTrue(next.getVersion() == 1);
+        assertSame(next, holder.getSnapshot());
+        assertTrue(config.database.pool.maxSize == 10);
+        assertTrue(holder.get().database.pool.maxSize == 20);
+        assertTrue(holder.get().database.pool.minSize == 1);
+        assertNotSame(config.database, holder.get().database);
+        assertSame(config.database.url, holder.get().database.url);
+        assertSame(config.workers, holder.get().workers);
+    }
+
+    @Test
+    public void keepSnapshotOnInvalidUpdateTest() throws ConfigException {
+        SnapshotHolder<AppConfig> holder = new SnapshotHolder<>(ConfigSnapshot.of(AppConfig.class, new AppConfig(), true));
+
+        ConfigException e = assertThrows(ConfigException.class, () -> holder.update(poolOverride("maxSize", 0)));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("database.pool.maxSize"));
+
+        e = assertThrows(ConfigException.class, () -> holder.update(poolOverride("unknown", 1)));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("database.pool.unknown"));
+
+        assertTrue(holder.getSnapshot().getVersion() == 0);
+        assertTrue(holder.get().database.pool.maxSize == 10);
+    }
+
+    @Test
+    public void applyConcurrentUpdatesTest() throws Exception {
+        SnapshotHolder<AppConfig> holder = new SnapshotHolder<>(ConfigSnapshot.of(AppConfig.class, new AppConfig(), true));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] updates = new Future<?>[200];
+            for (int i = 0; i < updates.length; i++) {
+                final int size = i + 1;
+                updates[i] = executor.submit(() -> holder.update(poolOverride("maxSize", size)));
+            }
+            for (Future<?> update : updates) {
+                update.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(holder.getSnapshot().getVersion() == 200);
+    }
+}
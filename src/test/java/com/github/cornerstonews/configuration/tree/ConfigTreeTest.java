@@ -0,0 +1,85 @@
+package com.github.cornerstonews.configuration.tree;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class ConfigTreeTest {
+
+    private static final ConfigKey<String> NAME = ConfigKey.of("name", String.class);
+    private static final ConfigKey<Integer> SALARY = ConfigKey.of("employees[1].salary", Integer.class);
+    private static final ConfigKey<Long> FIRST_SALARY = ConfigKey.of("employees[0].salary", Long.class);
+    private static final ConfigKey<String> CITY = ConfigKey.of("employees[1].address.city", String.class);
+    private static final ConfigKey<Integer> BAD_SALARY = ConfigKey.of("employees[2].salary", Integer.class);
+    private static final ConfigKey<Integer> MAX_SIZE = ConfigKey.of("pool.maxSize", Integer.class, 10);
+    private static final ConfigKey<Boolean> ENABLED = ConfigKey.of("enabled", Boolean.class);
+    private static final ConfigKey<List<Map<String, Object>>> EMPLOYEES = ConfigKey.of("employees", new TypeReference<List<Map<String, Object>>>() {
+    });
+    private static final ConfigKey<List<Server>> SERVERS = ConfigKey.of("servers", new TypeReference<List<Server>>() {
+    });
+
+    public static class Server {
+        public String host;
+        public int port;
+    }
+
+    private static ConfigTree tree() throws Exception {
+        return ConfigFactory.loadTree(Paths.get(ConfigTreeTest.class.getClassLoader().getResource("employees.yaml").toURI()).toString());
+    }
+
+    @Test
+    public void readValuesTest() throws Exception {
+        ConfigTree tree = tree();
+
+        assertTrue(tree.getString(NAME).equals("Engineering"));
+        assertTrue(tree.getInt(SALARY) == 75000);
+        assertTrue(tree.getInt(SALARY) == 75000);
+        assertTrue(tree.getLong(FIRST_SALARY) == 50000L);
+        assertTrue(tree.getString(CITY).equals("Chicago"));
+        assertTrue(tree.getInt(MAX_SIZE) == 10);
+        assertTrue(tree.get(EMPLOYEES).size() == 3);
+        assertFalse(tree.contains(MAX_SIZE));
+    }
+
+    @Test
+    public void bindGenericValuesTest() throws Exception {
+        ConfigTree tree = new ConfigTree("servers.json", new ObjectMapper().readTree("{\"servers\": [{\"host\": \"a\", \"port\": 80}, {\"host\": \"b\"}]}"));
+
+        List<Server> servers = tree.get(SERVERS);
+        assertTrue(servers.size() == 2);
+        assertTrue(servers.get(0) instanceof Server);
+        assertTrue(servers.get(0).port == 80);
+        assertTrue(servers.get(1).host.equals("b"));
+        assertTrue(tree().get(EMPLOYEES).get(1).get("name").equals("John"));
+    }
+
+    @Test
+    public void reportMissingAndMistypedValuesTest() throws Exception {
+        ConfigTree tree = tree();
+
+        ConfigException e = assertThrows(ConfigException.class, () -> tree.getInt(BAD_SALARY));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Incorrect type of value at: employees[2].salary"));
+
+        e = assertThrows(ConfigException.class, () -> tree.getBoolean(ENABLED));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().contains("Missing value at: enabled"));
+    }
+
+    @Test
+    public void rejectInvalidPathTest() {
+        assertThrows(IllegalArgumentException.class, () -> ConfigKey.of("employees[x].name", String.class));
+        assertThrows(IllegalArgumentException.class, () -> ConfigKey.of("employees..name", String.class));
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.cornerstonews.configuration.validation;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.configuration.ConfigException;
+import com.github.cornerstonews.configuration.ConfigFactory;
+
+public class IncrementalValidatorTest {
+
+    public static class Pool {
+        @Min(1)
+        public int maxSize = 10;
+        @Min(0)
+        public int minSize = 1;
+
+        @AssertTrue
+        public boolean isSizeRange() {
+            return minSize <= maxSize;
+        }
+    }
+
+    public static class Server {
+        @NotBlank
+        public String host = "localhost";
+        @Min(1)
+        public int port = 80;
+    }
+
+    public static class AppConfig {
+        @NotBlank
+        public String name = "app";
+        @NotNull
+        @Valid
+        public Pool pool = new Pool();
+        @Valid
+        public List<Server> servers = new ArrayList<>(Collections.singletonList(new Server()));
+    }
+
+    private static AppConfig copy(AppConfig config) {
+        AppConfig copy = new AppConfig();
+        copy.name = config.name;
+        copy.pool = config.pool;
+        copy.servers = config.servers;
+        return copy;
+    }
+
+    private static String errors(Object config) {
+        try {
+            ConfigFactory.isValid(config);
+            return "";
+        } catch (ConfigException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    public void reportSameErrorsAsFullValidationTest() throws ConfigException {
+        AppConfig previous = new AppConfig();
+        assertTrue(ConfigFactory.isValid(previous, copy(previous)));
+
+        AppConfig current = copy(previous);
+        current.servers = new ArrayList<>(previous.servers);
+        Server server = new Server();
+        server.port = 0;
+        current.servers.add(server);
+        current.name = "";
+
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.isValid(previous, current));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().equals(errors(current)));
+        assertTrue(e.getMessage().contains("servers[1].port"));
+    }
+
+    @Test
+    public void validateBeanWithGetterConstraintCompletelyTest() {
+        AppConfig previous = new AppConfig();
+        AppConfig current = copy(previous);
+        current.pool = new Pool();
+        current.pool.minSize = 20;
+
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.isValid(previous, current));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().equals(errors(current)));
+        assertTrue(e.getMessage().contains("pool.sizeRange"));
+    }
+
+    @Test
+    public void validateMergedPropertiesTest() throws ConfigException {
+        AppConfig config = new AppConfig();
+        Map<String, Object> pool = new HashMap<>();
+        pool.put("maxSize", 5);
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("pool", pool);
+
+        assertTrue(ConfigFactory.mergeValidConfig(overrides, AppConfig.class, config).pool.maxSize == 5);
+
+        pool.put("maxSize", 0);
+        ConfigException e = assertThrows(ConfigException.class, () -> ConfigFactory.mergeValidConfig(overrides, AppConfig.class, config));
+        System.out.println(e.getMessage());
+        assertTrue(e.getMessage().equals(errors(config)));
+        assertTrue(e.getMessage().contains("pool.maxSize"));
+    }
+}
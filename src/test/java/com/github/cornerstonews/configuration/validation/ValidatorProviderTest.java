@@ -0,0 +1,48 @@
+package com.github.cornerstonews.configuration.validation;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.validation.Validator;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ValidatorProviderTest {
+
+    public static class Server {
+        @NotNull
+        public String host;
+        @Min(1)
+        public int port;
+    }
+
+    @AfterEach
+    public void restoreValidator() {
+        ValidatorProvider.close();
+        ValidatorProvider.configure(configuration -> {
+        });
+    }
+
+    @Test
+    public void configureAndRebuildTest() {
+        ValidatorProvider.close();
+        ValidatorProvider.configure(configuration -> configuration.failFast(true));
+
+        Validator failFast = ValidatorProvider.getValidator();
+        assertTrue(ValidatorProvider.getValidator() == failFast);
+        assertTrue(failFast.validate(new Server()).size() == 1);
+        assertThrows(IllegalStateException.class, () -> ValidatorProvider.configure(configuration -> {
+        }));
+
+        ValidatorProvider.close();
+        ValidatorProvider.configure(configuration -> {
+        });
+        Validator rebuilt = ValidatorProvider.getValidator();
+        assertTrue(rebuilt != failFast);
+        assertTrue(ValidatorProvider.getValidator() == rebuilt);
+        assertTrue(rebuilt.validate(new Server()).size() == 2);
+    }
+}